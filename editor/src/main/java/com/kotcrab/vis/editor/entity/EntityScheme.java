@@ -41,6 +41,10 @@ public class EntityScheme {
 		return new EntityScheme(entity, null, CloningPolicy.DEFAULT);
 	}
 
+	public static EntityScheme of (Entity entity, CloningPolicy cloningPolicy) {
+		return new EntityScheme(entity, null, cloningPolicy);
+	}
+
 	public static EntityScheme clonedOf (Entity entity, Cloner cloner, CloningPolicy cloningPolicy) {
 		return new EntityScheme(entity, cloner, cloningPolicy);
 	}
@@ -75,6 +79,36 @@ public class EntityScheme {
 		}
 	}
 
+	private EntityScheme (Array<Component> components, UUID schemeUUID) {
+		this.components = components;
+		this.schemeUUID = schemeUUID;
+	}
+
+	/**
+	 * Creates new scheme with same components as this scheme, except that components which classes are present in
+	 * {@code removed} are dropped and components from {@code added} are included instead. Components are not cloned.
+	 */
+	public EntityScheme withChangedComponents (Array<Component> removed, Array<Component> added) {
+		Array<Component> newComponents = new Array<>(components.size);
+
+		for (Component component : components) {
+			if (containsComponentOfClass(removed, component.getClass()) || containsComponentOfClass(added, component.getClass()))
+				continue;
+			newComponents.add(component);
+		}
+
+		newComponents.addAll(added);
+		return new EntityScheme(newComponents, schemeUUID);
+	}
+
+	private static boolean containsComponentOfClass (Array<Component> components, Class<?> clazz) {
+		for (int i = 0; i < components.size; i++) {
+			if (components.get(i).getClass() == clazz) return true;
+		}
+
+		return false;
+	}
+
 	public Entity build (EntityEngine engine, Cloner cloner, UUIDPolicy uuidPolicy) {
 		EntityBuilder builder = new EntityBuilder(engine);
 
@@ -19,5 +19,6 @@ package com.kotcrab.vis.editor.event;
 /** @author Kotcrab */
 public enum ProjectMenuBarEventType {
 	EXPORT,
+	QUICK_EXPORT,
 	SHOW_NEW_SCENE_DIALOG
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.editor.extension;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores state of last {@link DefaultExporter} export. Maps hashes of source files to files that were exported from them,
+ * used by quick export to only process assets, scenes and atlases that were changed since last export.
+ * @author Kotcrab
+ */
+class DefaultExportManifest {
+	static final int VERSION = 2;
+
+	int version = VERSION;
+	/** Exporter settings and output directory used during export, when they are changed full export must be done */
+	String exportConfig;
+
+	/** Maps asset path relative to assets folder to its entry */
+	ConcurrentHashMap<String, AssetEntry> assets = new ConcurrentHashMap<>();
+	/** Maps scene path relative to assets folder to its entry */
+	ConcurrentHashMap<String, SceneEntry> scenes = new ConcurrentHashMap<>();
+	/** Maps atlas path relative to output folder (without extension) to its entry */
+	ConcurrentHashMap<String, AtlasEntry> atlases = new ConcurrentHashMap<>();
+
+	static class AssetEntry {
+		/** Hash of source file, null if it couldn't be read, such asset is always exported again */
+		String hash;
+		/** Size and modification date of exported file, used to detect when it was modified after export */
+		long size;
+		long lastModified;
+	}
+
+	static class SceneEntry {
+		String hash;
+		/** Size and modification date of exported scene file, used to detect when it was modified after export */
+		long size;
+		long lastModified;
+		/** Paths of textures used by scene, only stored when separate atlas is packed for each scene */
+		ArrayList<String> textures;
+	}
+
+	static class AtlasEntry {
+		/** Hash of paths and hashes of all images packed into atlas */
+		String inputHash;
+		/** Atlas file and its pages, relative to output folder */
+		ArrayList<String> outputFiles;
+	}
+}
@@ -18,14 +18,25 @@ package com.kotcrab.vis.editor.extension;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.tools.texturepacker.TexturePacker.Settings;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.IntMap;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.JsonWriter.OutputType;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.kotcrab.vis.editor.Log;
+import com.kotcrab.vis.editor.extension.DefaultExportManifest.AssetEntry;
+import com.kotcrab.vis.editor.extension.DefaultExportManifest.AtlasEntry;
+import com.kotcrab.vis.editor.extension.DefaultExportManifest.SceneEntry;
 import com.kotcrab.vis.editor.module.editor.EditorSettingsIOModule;
 import com.kotcrab.vis.editor.module.editor.ExtensionStorageModule;
+import com.kotcrab.vis.editor.module.editor.GsonModule;
 import com.kotcrab.vis.editor.module.editor.StatusBarModule;
 import com.kotcrab.vis.editor.module.editor.TabsModule;
 import com.kotcrab.vis.editor.module.project.*;
@@ -45,14 +56,38 @@ import com.kotcrab.vis.runtime.assets.TextureRegionAsset;
 import com.kotcrab.vis.runtime.assets.VisAssetDescriptor;
 import com.kotcrab.vis.runtime.data.LayerData;
 import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.data.binary.BinarySceneWriter;
 import com.kotcrab.vis.runtime.properties.StoresAssetDescriptor;
 import com.kotcrab.vis.runtime.scene.SceneLoader;
 import com.kotcrab.vis.ui.util.async.SteppedAsyncTask;
-
+import org.apache.commons.io.FilenameUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Default VisEditor exporter, exports scenes to JSON format.
+ * Default VisEditor exporter, exports scenes to JSON or binary format.
  * @author Kotcrab
  */
 public class DefaultExporter implements ExporterPlugin {
@@ -63,10 +98,12 @@ public class DefaultExporter implements ExporterPlugin {
 	private EditorSettingsIOModule settingsIO;
 	private ExtensionStorageModule extensionStorage;
 	private StatusBarModule statusBar;
+	private GsonModule gsonModule;
 	private TabsModule tabsModule;
 
 	private FileAccessModule fileAccess;
 	private AssetsMetadataModule assetsMetadata;
+	private AssetsIndexModule assetsIndex;
 	private SceneCacheModule sceneCache;
 
 	private Stage stage;
@@ -77,11 +114,9 @@ public class DefaultExporter implements ExporterPlugin {
 
 	private FileHandle visAssetsDir;
 	private FileHandle tmpDir;
+	private FileHandle manifestFile;
 
 	private Settings texturePackerSettings;
-	private boolean firstExportDone;
-
-	private Json json;
 
 	@Override
 	public void init (Project project) {
@@ -89,12 +124,12 @@ public class DefaultExporter implements ExporterPlugin {
 		reloadSettings();
 
 		visAssetsDir = fileAccess.getAssetsFolder();
-		tmpDir = fileAccess.getModuleFolder(".defaultExporter").child("tmp");
+		FileHandle exporterFolder = fileAccess.getModuleFolder(".defaultExporter");
+		tmpDir = exporterFolder.child("tmp");
+		manifestFile = exporterFolder.child("exportManifest.json");
 		tmpDir.mkdirs();
 
-		json = SceneLoader.getJson();
-
-		textureCacheFilter = new TextureCacheFilter(assetsMetadata, MAX_TEXTURE_SIZE);
+		textureCacheFilter = new TextureCacheFilter(assetsIndex, MAX_TEXTURE_SIZE);
 	}
 
 	private void reloadSettings () {
@@ -121,7 +156,7 @@ public class DefaultExporter implements ExporterPlugin {
 
 	@Override
 	public boolean isQuickExportSupported () {
-		return false;
+		return true;
 	}
 
 	@Override
@@ -129,9 +164,9 @@ public class DefaultExporter implements ExporterPlugin {
 		reloadSettings();
 
 		if (tabsModule.getDirtyTabCount() > 0)
-			stage.addActor(new UnsavedResourcesDialog(tabsModule, () -> beforeExport(quick)).fadeIn());
+			stage.addActor(new UnsavedResourcesDialog(tabsModule, () -> doExport(quick)).fadeIn());
 		else
-			beforeExport(quick);
+			doExport(quick);
 	}
 
 	@Override
@@ -144,202 +179,501 @@ public class DefaultExporter implements ExporterPlugin {
 		stage.addActor(new DefaultExporterSettingsDialog(settingsIO, settings).fadeIn());
 	}
 
-	private void beforeExport (boolean quick) {
+	/** @return new Json instance configured using current settings, Json is not thread safe so each worker needs its own */
+	private Json createSceneJson () {
+		Json json = SceneLoader.getJson();
 		json.setUsePrototypes(settings.skipDefaultValues);
 		if (settings.useMinimalOutputType)
 			json.setOutputType(OutputType.minimal);
 		else
 			json.setOutputType(OutputType.json);
-
-		if (firstExportDone == false && quick)
-			Log.info("Requested quick export but normal export hasn't been done since editor launch, performing normal export.");
-
-		if (firstExportDone == false || quick == false)
-			doExport();
-		else
-			doExport(); //TODO do quick export
-
-		firstExportDone = true;
+		return json;
 	}
 
-	private void doExport () {
+	private void doExport (boolean quick) {
 		if (project instanceof ProjectLibGDX || project instanceof ProjectGeneric) {
-			exportProject();
+			exportProject(quick);
 			return;
 		}
 
 		throw new UnsupportedOperationException("Not supported project type: " + project.getClass());
 	}
 
-	private void exportProject () {
-		ExportAsyncTask exportTask = new ExportAsyncTask();
+	private void exportProject (boolean quick) {
+		ExportAsyncTask exportTask = new ExportAsyncTask(quick);
 		Async.startTask(stage, "Exporting", exportTask);
 	}
 
+	private DefaultExportManifest loadManifest () {
+		if (manifestFile.exists() == false) return null;
+
+		try {
+			DefaultExportManifest manifest = gsonModule.getCommonGson().fromJson(manifestFile.readString("UTF-8"), DefaultExportManifest.class);
+			if (manifest == null || manifest.version != DefaultExportManifest.VERSION) return null;
+			return manifest;
+		} catch (Exception e) {
+			Log.error("Error while loading export manifest");
+			Log.exception(e);
+			return null;
+		}
+	}
+
+	private void saveManifest (DefaultExportManifest manifest) {
+		try {
+			manifestFile.writeString(gsonModule.getCommonGson().toJson(manifest), false, "UTF-8");
+		} catch (Exception e) {
+			Log.error("Error while saving export manifest");
+			Log.exception(e);
+		}
+	}
+
+	/**
+	 * Exports project using pool of workers. Scenes are loaded one by one on main thread, and while next scene is loaded
+	 * already loaded scenes are serialized and their atlases are packed by workers. Assets directories are copied and
+	 * global atlas is packed concurrently with that. Each task writes only its own output files so output is the same
+	 * as when tasks are executed sequentially. Progress is only updated from task thread when worker finishes its task.
+	 * <p>
+	 * During quick export output directory is not cleaned, instead {@link DefaultExportManifest} from previous export is
+	 * used to copy only changed assets, export only changed scenes and repack only atlases which input images were changed.
+	 * Files that were exported previously but no longer exist in project are removed from output directory.
+	 */
 	private class ExportAsyncTask extends SteppedAsyncTask {
-		FileHandle outAssetsDir;
+		private final boolean quick;
 
-		EditorScene scene;
+		private FileHandle outAssetsDir;
 
-		public ExportAsyncTask () {
+		/** Manifest of previous export, empty if output directory was cleaned */
+		private DefaultExportManifest oldManifest;
+		private DefaultExportManifest manifest;
+		/** If true only changed scenes and atlases are exported, otherwise only unchanged assets can be reused */
+		private boolean incremental;
+
+		private final AtomicBoolean hardLinkFailed = new AtomicBoolean();
+
+		private ExecutorService executor;
+		private CompletionService<String> completionService;
+		private int pendingTasks;
+
+		private final ThreadLocal<Json> sceneJson = ThreadLocal.withInitial(DefaultExporter.this::createSceneJson);
+
+		public ExportAsyncTask (boolean quick) {
 			super("ProjectExporter");
+			this.quick = quick;
 		}
 
 		@Override
-		public void doInBackground () {
+		public void doInBackground () throws Exception {
 			setMessage("Preparing for export...");
-			setTotalSteps(calculateSteps());
+			outAssetsDir = project.getAssetOutputDirectory();
+
+			manifest = new DefaultExportManifest();
+			manifest.exportConfig = gsonModule.getCommonGson().toJson(settings) + "|" + outAssetsDir.path();
+
+			oldManifest = loadManifest();
+			if (oldManifest != null && (manifest.exportConfig.equals(oldManifest.exportConfig) == false || outAssetsDir.exists() == false))
+				oldManifest = null;
+			if (quick && oldManifest == null)
+				Log.info("Requested quick export but previous export manifest is missing or outdated, performing normal export.");
+
+			incremental = quick && oldManifest != null;
+			boolean reuseAssets = oldManifest != null && (quick || settings.skipUnchangedAssets);
+			if (reuseAssets == false) oldManifest = new DefaultExportManifest();
+
+			Array<FileHandle> sceneFiles = new Array<>();
+			collectScenes(visAssetsDir, sceneFiles);
+			Array<FileHandle> assetsDirs = new Array<>();
+			FileUtils.streamDirectoriesRecursively(visAssetsDir, assetsDirs::add);
+
+			int steps = 1; //clean old assets, new dirs
+			steps += sceneFiles.size;
+			steps += settings.packageSeparateAtlasForEachScene ? sceneFiles.size : 1; //each scene needs to have it's own texture atlas
+			steps += assetsDirs.size;
+			steps++; //finish
+			setTotalSteps(steps);
+
+			if (reuseAssets) {
+				setMessage("Checking changed assets");
+				nextStep();
+			} else {
+				cleanOldAssets();
+			}
+
+			int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+			executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("ProjectExporter-%d").setDaemon(true).build());
+			completionService = new ExecutorCompletionService<>(executor);
+			pendingTasks = 0;
+
+			try {
+				if (settings.packageSeparateAtlasForEachScene == false) submit(this::packageTextures);
+
+				for (FileHandle folder : assetsDirs) {
+					submit(() -> copyAssets(folder));
+				}
+
+				for (FileHandle file : sceneFiles) {
+					submitScene(file);
+					collectFinishedTasks(false);
+				}
+
+				collectFinishedTasks(true);
+			} finally {
+				executor.shutdownNow();
+			}
 
-			cleanOldAssets();
-			packageTextures();
-			copyAssets();
-			exportScenes(visAssetsDir, outAssetsDir);
+			removeStaleOutputs();
+			//normal export must leave only exported files in output directory, same as if it was cleaned
+			if (reuseAssets && incremental == false) removeUnknownOutputs();
+			saveManifest(manifest);
 
 			nextStep();
 			statusBar.setText("Export finished");
 		}
 
-		private int calculateSteps () {
-			Holder<Integer> steps = Holder.of(0);
-			steps.value++; //clean old assets, new dirs
+		private void submitScene (FileHandle file) {
+			String scenePath = fileAccess.relativizeToAssetsFolder(file);
+			String sceneHash = assetsIndex.getHash(file);
+			boolean separateAtlas = settings.packageSeparateAtlasForEachScene;
+
+			SceneEntry oldEntry = oldManifest.scenes.get(scenePath);
+			SceneEntry entry = new SceneEntry();
+			entry.hash = sceneHash;
+			manifest.scenes.put(scenePath, entry);
+
+			if (incremental && oldEntry != null && sceneHash != null && sceneHash.equals(oldEntry.hash)
+					&& isExportedSceneUnchanged(outAssetsDir.child(scenePath), oldEntry) && (separateAtlas == false || oldEntry.textures != null)) {
+				//scene wasn't changed, only textures that it uses could have been modified
+				entry.textures = oldEntry.textures;
+				entry.size = oldEntry.size;
+				entry.lastModified = oldEntry.lastModified;
+				submit(() -> "Scene is up to date: " + file.name());
+				if (separateAtlas) submit(() -> exportSceneTextures(file, entry.textures));
+				return;
+			}
 
-			int sceneCounter = FileUtils.ApacheFileUtils.listFiles(visAssetsDir.file(), new String[]{"scene"}, true).size();
-			steps.value += sceneCounter;
+			setMessage("Loading scene: " + file.name());
+			EditorScene scene = loadScene(file);
+			if (separateAtlas) entry.textures = collectSceneTextures(scene);
 
-			if (settings.packageSeparateAtlasForEachScene) {
-				steps.value++; //package textures
-			} else {
-				steps.value += sceneCounter; //each scene needs to have it's own texture atlas
+			submit(() -> exportScene(scene, file, entry));
+			if (separateAtlas) submit(() -> exportSceneTextures(file, entry.textures));
+		}
+
+		private boolean isExportedSceneUnchanged (FileHandle target, SceneEntry oldEntry) {
+			return target.exists() && target.length() == oldEntry.size && target.lastModified() == oldEntry.lastModified;
+		}
+
+		private void collectScenes (FileHandle dir, Array<FileHandle> sceneFiles) {
+			for (FileHandle file : dir.list()) {
+				if (file.isDirectory()) collectScenes(file, sceneFiles);
+				if (ProjectPathUtils.isScene(file)) sceneFiles.add(file);
 			}
+		}
+
+		private void submit (Callable<String> task) {
+			completionService.submit(task);
+			pendingTasks++;
+		}
+
+		/** @param waitForAll if true waits until all submitted tasks are finished, otherwise only collect already finished ones */
+		private void collectFinishedTasks (boolean waitForAll) throws Exception {
+			while (pendingTasks > 0) {
+				Future<String> future = waitForAll ? completionService.take() : completionService.poll();
+				if (future == null) return;
+				pendingTasks--;
+
+				try {
+					setMessage(future.get());
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof Exception) throw (Exception) e.getCause();
+					throw e;
+				}
 
-			FileUtils.streamDirectoriesRecursively(visAssetsDir, file -> steps.value++);
+				nextStep();
+			}
+		}
 
-			return steps.value;
+		private EditorScene loadScene (FileHandle file) {
+			Holder<EditorScene> scene = Holder.empty();
+			executeOnGdx(() -> scene.value = sceneCache.get(file));
+			if (scene.value == null) throw new IllegalStateException("Failed to load scene: " + file.path());
+			return scene.value;
 		}
 
 		private void cleanOldAssets () {
 			setMessage("Cleaning old assets");
-			outAssetsDir = project.getAssetOutputDirectory();
 
 			outAssetsDir.deleteDirectory();
 			outAssetsDir.mkdirs();
 
+			FileHandle sceneTexturesTmpDir = tmpDir.child("scene-textures");
+			sceneTexturesTmpDir.deleteDirectory();
+
 			nextStep();
 		}
 
-		private void packageTextures () {
-			if (settings.packageSeparateAtlasForEachScene) {
-				FileHandle sceneTextureDir = outAssetsDir.child("scene-textures");
-				sceneTextureDir.mkdirs();
-				exportSceneTextures(visAssetsDir, sceneTextureDir);
-			} else {
-				setMessage("Packaging textures");
-				VisTexturePacker.process(texturePackerSettings, visAssetsDir.path(), outAssetsDir.path(), "textures", textureCacheFilter);
-				nextStep();
+		/** Removes files that were exported previously but their source files were removed from project */
+		private void removeStaleOutputs () {
+			for (String path : oldManifest.assets.keySet()) {
+				if (manifest.assets.containsKey(path) == false) outAssetsDir.child(path).delete();
 			}
-		}
 
-		private void copyAssets () {
-			FileUtils.streamDirectoriesRecursively(visAssetsDir, folder -> {
-				setMessage("Processing assets directory: " + folder.name());
-				AssetsFileSorter fileSorter = null;
-				String relativeFolderPath = fileAccess.relativizeToAssetsFolder(folder);
-				for (AssetsFileSorter sorter : extensionStorage.getAssetsFileSorters()) {
-					if (sorter.isSupported(assetsMetadata, folder, relativeFolderPath)) {
-						fileSorter = sorter;
-						break;
-					}
-				}
+			for (String path : oldManifest.scenes.keySet()) {
+				if (manifest.scenes.containsKey(path) == false) outAssetsDir.child(path).delete();
+			}
 
-				for (FileHandle file : folder.list()) {
-					if (file.isDirectory()) continue;
-					if (ProjectPathUtils.isScene(file)) continue;
+			for (String path : oldManifest.atlases.keySet()) {
+				if (manifest.atlases.containsKey(path) == false) deleteAtlasOutputs(path);
+			}
+		}
 
-					String relativeFilePath = fileAccess.relativizeToAssetsFolder(file);
+		/** Removes all files from output directory that weren't exported during this export */
+		private void removeUnknownOutputs () throws IOException {
+			HashSet<String> exportedFiles = new HashSet<>();
+			exportedFiles.addAll(manifest.assets.keySet());
+			exportedFiles.addAll(manifest.scenes.keySet());
+			for (AtlasEntry entry : manifest.atlases.values()) {
+				exportedFiles.addAll(entry.outputFiles);
+			}
 
-					if (fileSorter != null) {
-						if (fileSorter.isExportedFile(file)) file.copyTo(outAssetsDir.child(relativeFilePath));
-					} else {
-						file.copyTo(outAssetsDir.child(relativeFilePath));
-					}
+			Path outPath = outAssetsDir.file().toPath();
+			Files.walkFileTree(outPath, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult visitFile (Path file, BasicFileAttributes attrs) throws IOException {
+					String relativePath = outPath.relativize(file).toString().replace("\\", "/");
+					if (exportedFiles.contains(relativePath) == false) Files.delete(file);
+					return FileVisitResult.CONTINUE;
 				}
 
-				nextStep();
+				@Override
+				public FileVisitResult postVisitDirectory (Path dir, IOException exc) throws IOException {
+					if (dir.equals(outPath) == false && dir.toFile().list().length == 0) Files.delete(dir);
+					return FileVisitResult.CONTINUE;
+				}
 			});
 		}
 
-		private void exportScenes (FileHandle sceneDir, FileHandle outDir) {
-			scene = null;
+		private String packageTextures () {
+			ArrayList<String> images = new ArrayList<>();
+			collectPackedImages(visAssetsDir.file(), images);
+			Collections.sort(images);
+
+			String inputHash = hashImages(images);
+			if (isAtlasUpToDate("textures", inputHash)) return "Textures are up to date";
+
+			deleteAtlasOutputs("textures");
+			VisTexturePacker.process(new Settings(texturePackerSettings), visAssetsDir.path(), outAssetsDir.path(), "textures", textureCacheFilter);
+			recordAtlas("textures", inputHash);
+			return "Packaged textures";
+		}
+
+		private void collectPackedImages (File dir, ArrayList<String> images) {
+			File[] children = dir.listFiles();
+			if (children == null) return;
 
-			for (final FileHandle file : sceneDir.list()) {
-				if (file.isDirectory()) exportScenes(file, outDir.child(file.name()));
+			for (File child : children) {
+				if (textureCacheFilter.accept(dir, child.getName()) == false) continue;
 
-				if (ProjectPathUtils.isScene(file)) {
-					setMessage("Exporting scene: " + file.name());
-					outDir.mkdirs();
+				if (child.isDirectory())
+					collectPackedImages(child, images);
+				else
+					images.add(fileAccess.relativizeToAssetsFolder(FileUtils.toFileHandle(child)));
+			}
+		}
 
-					executeOnGdx(() -> scene = sceneCache.get(file));
+		/** @return hash of given images paths and their content */
+		private String hashImages (List<String> paths) {
+			Hasher hasher = Hashing.murmur3_128().newHasher();
+			for (String path : paths) {
+				String hash = assetsIndex.getHash(visAssetsDir.child(path));
+				hasher.putString(path, StandardCharsets.UTF_8);
+				hasher.putString(hash == null ? "" : hash, StandardCharsets.UTF_8);
+			}
+			return hasher.hash().toString();
+		}
 
-					SceneData sceneData = new SceneData();
+		/** @return true if atlas was packed in previous export from the same images and its output files still exists */
+		private boolean isAtlasUpToDate (String atlasPath, String inputHash) {
+			if (incremental == false) return false;
 
-					sceneData.viewport = scene.viewport;
-					sceneData.width = scene.width;
-					sceneData.height = scene.height;
-					sceneData.pixelsPerUnit = scene.pixelsPerUnit;
-					sceneData.textureAtlasPath = settings.packageSeparateAtlasForEachScene ?
-							"scene-textures/" + FileUtils.relativize(visAssetsDir, FileUtils.sibling(file, "atlas")) : "textures.atlas";
-					sceneData.physicsSettings = scene.physicsSettings;
-					sceneData.variables = scene.variables;
+			AtlasEntry oldEntry = oldManifest.atlases.get(atlasPath);
+			if (oldEntry == null || inputHash.equals(oldEntry.inputHash) == false) return false;
 
-					sceneData.groupIds = new IntMap<>(scene.getGroups());
+			for (String outputFile : oldEntry.outputFiles) {
+				if (outAssetsDir.child(outputFile).exists() == false) return false;
+			}
 
-					for (EditorLayer layer : scene.getLayers()) {
-						sceneData.layers.add(new LayerData(layer.cordsSystem, layer.name, layer.id));
-					}
+			manifest.atlases.put(atlasPath, oldEntry);
+			return true;
+		}
 
-					scene.getSchemes().forEach(scheme -> sceneData.entities.add(scheme.toData()));
+		private void deleteAtlasOutputs (String atlasPath) {
+			AtlasEntry oldEntry = oldManifest.atlases.get(atlasPath);
+			if (oldEntry == null) return;
 
-					json.toJson(sceneData, outDir.child(file.name()));
-					nextStep();
+			for (String outputFile : oldEntry.outputFiles) {
+				outAssetsDir.child(outputFile).delete();
+			}
+		}
+
+		private void recordAtlas (String atlasPath, String inputHash) {
+			AtlasEntry entry = new AtlasEntry();
+			entry.inputHash = inputHash;
+			entry.outputFiles = new ArrayList<>();
+
+			FileHandle atlasFile = outAssetsDir.child(atlasPath + ".atlas");
+			if (atlasFile.exists()) {
+				entry.outputFiles.add(atlasPath + ".atlas");
+				TextureAtlasData atlasData = new TextureAtlasData(atlasFile, atlasFile.parent(), false);
+				for (Page page : atlasData.getPages()) {
+					entry.outputFiles.add(FileUtils.relativize(outAssetsDir, page.textureFile));
 				}
 			}
+
+			manifest.atlases.put(atlasPath, entry);
 		}
 
-		private void exportSceneTextures (FileHandle sceneDir, FileHandle outDir) {
-			scene = null;
-
-			for (final FileHandle file : sceneDir.list()) {
-				if (file.isDirectory()) exportSceneTextures(file, outDir.child(file.name() + ""));
-
-				if (ProjectPathUtils.isScene(file)) {
-					setMessage("Exporting scene textures: " + file.name());
-					outDir.mkdirs();
-
-					FileHandle sceneTextureDir = tmpDir.child("scene-textures");
-					sceneTextureDir.deleteDirectory();
-					sceneTextureDir.mkdirs();
-
-					executeOnGdx(() -> scene = sceneCache.get(file));
-
-					scene.getSchemes().forEach(scheme -> scheme.getComponents().forEach(component ->
-							{
-								if (component instanceof StoresAssetDescriptor == false) return;
-								VisAssetDescriptor asset = ((StoresAssetDescriptor) component).getAsset();
-								if (asset instanceof TextureRegionAsset == false) return;
-								String path = ((TextureRegionAsset) asset).getPath();
-								FileHandle targetTextureDirectory = sceneTextureDir.child(Gdx.files.absolute(path).path());
-								visAssetsDir.child(path).copyTo(targetTextureDirectory);
-							}
-					));
-
-					String outTexturePath = "scene-textures/" + FileUtils.relativize(visAssetsDir, file);
-					VisTexturePacker.process(texturePackerSettings, sceneTextureDir.path(), outAssetsDir.child(outTexturePath).parent().path(),
-							file.nameWithoutExtension(), textureCacheFilter);
-					sceneTextureDir.deleteDirectory();
-					nextStep();
+		private String copyAssets (FileHandle folder) {
+			AssetsFileSorter fileSorter = null;
+			String relativeFolderPath = fileAccess.relativizeToAssetsFolder(folder);
+			for (AssetsFileSorter sorter : extensionStorage.getAssetsFileSorters()) {
+				if (sorter.isSupported(assetsMetadata, folder, relativeFolderPath)) {
+					fileSorter = sorter;
+					break;
+				}
+			}
+
+			for (FileHandle file : folder.list()) {
+				if (file.isDirectory()) continue;
+				if (ProjectPathUtils.isScene(file)) continue;
+				if (fileSorter != null && fileSorter.isExportedFile(file) == false) continue;
+
+				String relativeFilePath = fileAccess.relativizeToAssetsFolder(file);
+				FileHandle target = outAssetsDir.child(relativeFilePath);
+				String hash = assetsIndex.getHash(file);
+
+				AssetEntry oldEntry = oldManifest.assets.get(relativeFilePath);
+				if (hash == null || oldEntry == null || hash.equals(oldEntry.hash) == false || isExportedFileUnchanged(target, oldEntry) == false) {
+					exportAsset(file, target);
 				}
+
+				//asset is recorded even if its hash is unknown, otherwise it would be removed as unknown output
+				AssetEntry entry = new AssetEntry();
+				entry.hash = hash;
+				entry.size = target.length();
+				entry.lastModified = target.lastModified();
+				manifest.assets.put(relativeFilePath, entry);
 			}
+
+			return "Processed assets directory: " + folder.name();
 		}
 
+		private boolean isExportedFileUnchanged (FileHandle target, AssetEntry oldEntry) {
+			return target.exists() && target.length() == oldEntry.size && target.lastModified() == oldEntry.lastModified;
+		}
+
+		private void exportAsset (FileHandle file, FileHandle target) {
+			if (settings.hardLinkAssets && hardLinkFailed.get() == false) {
+				try {
+					target.parent().mkdirs();
+					Path targetPath = target.file().toPath();
+					Files.deleteIfExists(targetPath);
+					Files.createLink(targetPath, file.file().toPath());
+					return;
+				} catch (IOException | UnsupportedOperationException e) {
+					//most likely output directory is on different drive, don't try again during this export
+					hardLinkFailed.set(true);
+					Log.warn("Can't create hard links in output directory, assets will be copied: " + e.getMessage());
+				}
+			}
+
+			FileUtils.copyFile(file, target);
+		}
+
+		private String exportScene (EditorScene scene, FileHandle file, SceneEntry entry) {
+			FileHandle outFile = outAssetsDir.child(fileAccess.relativizeToAssetsFolder(file));
+			outFile.parent().mkdirs();
+
+			SceneData sceneData = new SceneData();
+
+			sceneData.viewport = scene.viewport;
+			sceneData.width = scene.width;
+			sceneData.height = scene.height;
+			sceneData.pixelsPerUnit = scene.pixelsPerUnit;
+			sceneData.textureAtlasPath = settings.packageSeparateAtlasForEachScene ?
+					"scene-textures/" + FileUtils.relativize(visAssetsDir, FileUtils.sibling(file, "atlas")) : "textures.atlas";
+			sceneData.physicsSettings = scene.physicsSettings;
+			sceneData.variables = scene.variables;
+
+			sceneData.groupIds = new IntMap<>(scene.getGroups());
+
+			for (EditorLayer layer : scene.getLayers()) {
+				sceneData.layers.add(new LayerData(layer.cordsSystem, layer.name, layer.id));
+			}
+
+			scene.getSchemes().forEach(scheme -> sceneData.entities.add(scheme.toData()));
+
+			if (settings.binarySceneFormat)
+				writeBinaryScene(sceneData, outFile);
+			else
+				sceneJson.get().toJson(sceneData, outFile);
+
+			entry.size = outFile.length();
+			entry.lastModified = outFile.lastModified();
+			return "Exported scene: " + file.name();
+		}
+
+		private void writeBinaryScene (SceneData sceneData, FileHandle target) {
+			OutputStream output = target.write(false);
+			try {
+				new BinarySceneWriter(sceneJson.get()).write(sceneData, output);
+			} catch (IOException e) {
+				throw new IllegalStateException("Failed to write binary scene: " + target.path(), e);
+			} finally {
+				StreamUtils.closeQuietly(output);
+			}
+		}
+
+		/** @return sorted paths of all textures used by scene */
+		private ArrayList<String> collectSceneTextures (EditorScene scene) {
+			TreeSet<String> textures = new TreeSet<>();
+			scene.getSchemes().forEach(scheme -> scheme.getComponents().forEach(component ->
+					{
+						if (component instanceof StoresAssetDescriptor == false) return;
+						VisAssetDescriptor asset = ((StoresAssetDescriptor) component).getAsset();
+						if (asset instanceof TextureRegionAsset == false) return;
+						textures.add(((TextureRegionAsset) asset).getPath());
+					}
+			));
+			return new ArrayList<>(textures);
+		}
+
+		private String exportSceneTextures (FileHandle file, List<String> textures) {
+			String relativeScenePath = FileUtils.relativize(visAssetsDir, file);
+			String outTexturePath = "scene-textures/" + relativeScenePath;
+			String atlasPath = FilenameUtils.removeExtension(outTexturePath);
+
+			String inputHash = hashImages(textures);
+			if (isAtlasUpToDate(atlasPath, inputHash)) return "Scene textures are up to date: " + file.name();
+			deleteAtlasOutputs(atlasPath);
+
+			//each scene uses its own temporary directory so scenes can be packed in parallel
+			FileHandle sceneTextureDir = tmpDir.child("scene-textures").child(relativeScenePath);
+			sceneTextureDir.deleteDirectory();
+			sceneTextureDir.mkdirs();
+
+			for (String path : textures) {
+				FileHandle targetTextureDirectory = sceneTextureDir.child(Gdx.files.absolute(path).path());
+				visAssetsDir.child(path).copyTo(targetTextureDirectory);
+			}
+
+			FileHandle outTextureDir = outAssetsDir.child(outTexturePath).parent();
+			outTextureDir.mkdirs();
+			VisTexturePacker.process(new Settings(texturePackerSettings), sceneTextureDir.path(), outTextureDir.path(),
+					file.nameWithoutExtension(), textureCacheFilter);
+			sceneTextureDir.deleteDirectory();
+
+			recordAtlas(atlasPath, inputHash);
+			return "Exported scene textures: " + file.name();
+		}
 	}
 }
@@ -26,4 +26,7 @@ public class DefaultExporterSettings {
 	@Tag(2) public boolean packageSeparateAtlasForEachScene = false;
 	@Tag(3) public Texture.TextureFilter magTextureFilter = Texture.TextureFilter.Nearest;
 	@Tag(4) public Texture.TextureFilter migTextureFilter = Texture.TextureFilter.Nearest;
+	@Tag(5) public boolean binarySceneFormat = false;
+	@Tag(6) public boolean skipUnchangedAssets = true;
+	@Tag(7) public boolean hardLinkAssets = false;
 }
@@ -70,6 +70,7 @@ public class VisContainers {
 		editorMC.add(new ColorSettingsModule());
 		editorMC.add(new ExperimentalSettingsModule());
 		editorMC.add(new GridSettingsModule());
+		editorMC.add(new UndoSettingsModule());
 
 		editorMC.add(new ProjectAutoLoader());
 		editorMC.add(new DevelopmentSpeedupModule());
@@ -79,6 +80,7 @@ public class VisContainers {
 		projectMC.add(new FileAccessModule());
 		projectMC.add(new AssetsWatcherModule());
 		projectMC.add(new AssetsMetadataModule());
+		projectMC.add(new AssetsIndexModule());
 		projectMC.add(new TextureCacheModule());
 		projectMC.add(new FontCacheModule());
 		projectMC.add(new ParticleCacheModule());
@@ -39,6 +39,7 @@ import com.kotcrab.vis.ui.util.dialog.Dialogs;
 import com.kotcrab.vis.ui.widget.*;
 
 import static com.kotcrab.vis.editor.event.ProjectMenuBarEventType.EXPORT;
+import static com.kotcrab.vis.editor.event.ProjectMenuBarEventType.QUICK_EXPORT;
 import static com.kotcrab.vis.editor.event.ProjectMenuBarEventType.SHOW_NEW_SCENE_DIALOG;
 import static com.kotcrab.vis.editor.event.SceneMenuBarEventType.*;
 
@@ -100,7 +101,8 @@ public class MenuBarModule extends EditorModule {
 
 		menu.addItem(createMenuItem(ControllerPolicy.PROJECT, "Export", Icons.EXPORT,
 				() -> App.eventBus.post(new ProjectMenuBarEvent(EXPORT))).setShortcut(Keys.CONTROL_LEFT, Keys.E));
-		//menu.addItem(createMenuItem(ControllerPolicy.PROJECT, "Quick Export", () -> projectContainer.get(ExportModule.class).export(true))); //TODO quick export
+		menu.addItem(createMenuItem(ControllerPolicy.PROJECT, "Quick Export",
+				() -> App.eventBus.post(new ProjectMenuBarEvent(QUICK_EXPORT))).setShortcut(Keys.CONTROL_LEFT, Keys.SHIFT_LEFT, Keys.E));
 		menu.addSeparator();
 
 		menu.addItem(createMenuItem("Settings...", Icons.SETTINGS, editor::showSettingsWindow));
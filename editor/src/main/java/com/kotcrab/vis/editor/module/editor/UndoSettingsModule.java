@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.editor.module.editor;
+
+import com.esotericsoftware.kryo.serializers.TaggedFieldSerializer.Tag;
+import com.kotcrab.vis.editor.module.editor.UndoSettingsModule.UndoConfig;
+import com.kotcrab.vis.editor.util.scene2d.FieldUtils;
+import com.kotcrab.vis.ui.util.IntDigitsOnlyFilter;
+import com.kotcrab.vis.ui.util.Validators;
+import com.kotcrab.vis.ui.widget.VisCheckBox;
+import com.kotcrab.vis.ui.widget.VisLabel;
+import com.kotcrab.vis.ui.widget.VisTable;
+import com.kotcrab.vis.ui.widget.VisValidatableTextField;
+
+/**
+ * VisEditor undo history settings module. Controls how many entries and how much memory undo history of single scene
+ * can use.
+ * @author Kotcrab
+ */
+public class UndoSettingsModule extends EditorSettingsModule<UndoConfig> {
+	private VisValidatableTextField maxEntriesField;
+	private VisValidatableTextField memoryBudgetField;
+	private VisCheckBox spillToDiskCheck;
+
+	public UndoSettingsModule () {
+		super("Undo History", "undoSettings", UndoConfig.class);
+	}
+
+	@Override
+	public boolean settingsChanged () {
+		return maxEntriesField.isInputValid() && memoryBudgetField.isInputValid();
+	}
+
+	@Override
+	public void buildTable () {
+		prepareTable();
+
+		maxEntriesField = createIntField();
+		memoryBudgetField = createIntField();
+
+		VisTable fieldsTable = new VisTable(true);
+		fieldsTable.add(new VisLabel("Max undo entries per scene:"));
+		fieldsTable.add(maxEntriesField).width(60).row();
+		fieldsTable.add(new VisLabel("Memory budget per scene (MB):"));
+		fieldsTable.add(memoryBudgetField).width(60).row();
+
+		settingsTable.add(fieldsTable).row();
+		settingsTable.add(spillToDiskCheck = new VisCheckBox("Move old entries to disk when memory budget is exceeded", config.spillToDisk)).row();
+		settingsTable.add(new VisLabel("When disabled old entries are removed instead.", "small")).row();
+	}
+
+	private VisValidatableTextField createIntField () {
+		VisValidatableTextField field = new VisValidatableTextField(Validators.INTEGERS);
+		field.setTextFieldFilter(new IntDigitsOnlyFilter(false));
+		field.addValidator(new Validators.GreaterThanValidator(0));
+		return field;
+	}
+
+	@Override
+	public void loadConfigToTable () {
+		maxEntriesField.setText(String.valueOf(config.maxEntries));
+		memoryBudgetField.setText(String.valueOf(config.memoryBudget));
+		spillToDiskCheck.setChecked(config.spillToDisk);
+	}
+
+	@Override
+	public void settingsApply () {
+		config.maxEntries = FieldUtils.getInt(maxEntriesField, config.maxEntries);
+		config.memoryBudget = FieldUtils.getInt(memoryBudgetField, config.memoryBudget);
+		config.spillToDisk = spillToDiskCheck.isChecked();
+		settingsSave();
+	}
+
+	public int getMaxEntries () {
+		return config.maxEntries;
+	}
+
+	/** @return memory budget of single scene undo history in bytes */
+	public long getMemoryBudget () {
+		return config.memoryBudget * 1024L * 1024L;
+	}
+
+	public boolean isSpillToDisk () {
+		return config.spillToDisk;
+	}
+
+	public static class UndoConfig {
+		@Tag(0) int maxEntries = 200;
+		/** Memory budget in megabytes */
+		@Tag(1) int memoryBudget = 64;
+		@Tag(2) boolean spillToDisk = true;
+	}
+}
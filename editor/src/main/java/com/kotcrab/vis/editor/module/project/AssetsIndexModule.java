@@ -0,0 +1,375 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.editor.module.project;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Timer;
+import com.badlogic.gdx.utils.Timer.Task;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.kotcrab.vis.editor.Log;
+import com.kotcrab.vis.editor.module.editor.GsonModule;
+import com.kotcrab.vis.editor.module.project.assetsmanager.AssetDirectoryDescriptor;
+import com.kotcrab.vis.editor.util.DirectoryWatcher.WatchListener;
+import com.kotcrab.vis.editor.util.FileUtils;
+import com.kotcrab.vis.editor.util.SimpleImageInfo;
+import com.kotcrab.vis.editor.util.vis.EditorException;
+import com.kotcrab.vis.editor.util.vis.ProjectPathUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Persistent index of files from project assets folder. For every file it stores size, modification date, content hash
+ * (computed lazily), image dimensions and id of {@link AssetDirectoryDescriptor} resolved for its directory. Index is
+ * stored in project modules folder and verified in background when project is opened, only files that were changed
+ * are read again. Later it is updated incrementally from {@link AssetsWatcherModule} events.
+ * <p>
+ * Other modules should query this index instead of reading image headers, hashing files or resolving directory
+ * descriptors themselves. Index can be queried from any thread.
+ * @author Kotcrab
+ */
+public class AssetsIndexModule extends ProjectModule implements WatchListener {
+	private static final String TAG = "AssetsIndexModule";
+
+	private AssetsMetadataModule assetsMetadata;
+	private FileAccessModule fileAccess;
+	private AssetsWatcherModule watcher;
+	private GsonModule gsonModule;
+
+	private FileHandle indexFile;
+	private FileHandle assetsFolder;
+
+	/** Maps file path relative to assets folder to its entry */
+	private ConcurrentHashMap<String, AssetIndexEntry> entries = new ConcurrentHashMap<>();
+	/** Caches descriptors ids resolved for directories, cleared when assets metadata is changed */
+	private ConcurrentHashMap<String, String> directoryDescriptors = new ConcurrentHashMap<>();
+
+	private ExecutorService executor;
+	private AtomicBoolean dirty = new AtomicBoolean();
+	private Timer saveTimer = new Timer();
+
+	@Override
+	public void init () {
+		indexFile = fileAccess.getModuleFolder().child("assetsIndex.json");
+		assetsFolder = fileAccess.getAssetsFolder();
+
+		loadIndex();
+
+		executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("AssetsIndex").setDaemon(true).build());
+		executor.execute(this::verifyIndex);
+
+		watcher.addListener(this);
+	}
+
+	@Override
+	public void dispose () {
+		watcher.removeListener(this);
+		saveTimer.clear();
+
+		executor.shutdownNow();
+		try {
+			executor.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Log.exception(e);
+		}
+
+		if (dirty.get()) saveIndex();
+	}
+
+	private void loadIndex () {
+		if (indexFile.exists() == false) return;
+
+		try {
+			AssetsIndex index = gsonModule.getCommonGson().fromJson(indexFile.readString("UTF-8"), AssetsIndex.class);
+			if (index == null || index.version != AssetsIndex.VERSION || index.entries == null) return;
+			entries.putAll(index.entries);
+		} catch (Exception e) {
+			Log.error(TAG, "Error while loading assets index, index will be rebuilt");
+			Log.exception(e);
+		}
+	}
+
+	private void saveIndex () {
+		dirty.set(false);
+
+		AssetsIndex index = new AssetsIndex();
+		index.entries = new HashMap<>(entries);
+
+		try {
+			indexFile.writeString(gsonModule.getCommonGson().toJson(index), false, "UTF-8");
+		} catch (Exception e) {
+			Log.error(TAG, "Error while saving assets index");
+			Log.exception(e);
+		}
+	}
+
+	private void markDirty () {
+		if (dirty.compareAndSet(false, true) == false) return;
+
+		saveTimer.scheduleTask(new Task() {
+			@Override
+			public void run () {
+				if (executor.isShutdown() == false) executor.execute(AssetsIndexModule.this::saveIndex);
+			}
+		}, 2f);
+	}
+
+	/** Walks whole assets folder and updates entries of files that were modified while project was closed. */
+	private void verifyIndex () {
+		long start = System.currentTimeMillis();
+		HashSet<String> existingPaths = new HashSet<>();
+
+		try {
+			Files.walkFileTree(assetsFolder.file().toPath(), new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult visitFile (Path path, BasicFileAttributes attrs) throws IOException {
+					if (Thread.currentThread().isInterrupted()) return FileVisitResult.TERMINATE;
+					File file = path.toFile();
+					String relativePath = fileAccess.relativizeToAssetsFolder(FileUtils.toFileHandle(file));
+					existingPaths.add(relativePath);
+					refresh(relativePath, file, attrs.size(), attrs.lastModifiedTime().toMillis());
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed (Path file, IOException exc) throws IOException {
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			Log.error(TAG, "Error while verifying assets index");
+			Log.exception(e);
+			return;
+		}
+
+		if (Thread.currentThread().isInterrupted()) return;
+		if (entries.keySet().retainAll(existingPaths)) markDirty();
+
+		Log.debug(TAG, "Verified " + existingPaths.size() + " files in " + (System.currentTimeMillis() - start) + " ms");
+	}
+
+	/** @return entry for given path, existing entry if file size and modification date matches or new one otherwise */
+	private AssetIndexEntry refresh (String relativePath, File file, long size, long lastModified) {
+		AssetIndexEntry entry = entries.get(relativePath);
+		if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+			entry.verified = true;
+			return entry;
+		}
+
+		AssetIndexEntry newEntry = createEntry(file, size, lastModified);
+		entries.put(relativePath, newEntry);
+		markDirty();
+		return newEntry;
+	}
+
+	private AssetIndexEntry createEntry (File file, long size, long lastModified) {
+		AssetIndexEntry entry = new AssetIndexEntry();
+		entry.size = size;
+		entry.lastModified = lastModified;
+		entry.descriptorId = resolveDescriptorId(FileUtils.toFileHandle(file.getParentFile()));
+		entry.verified = true;
+
+		FileHandle fileHandle = FileUtils.toFileHandle(file);
+		if (ProjectPathUtils.isTexture(fileHandle)) {
+			try {
+				SimpleImageInfo imageInfo = new SimpleImageInfo(file);
+				entry.width = imageInfo.getWidth();
+				entry.height = imageInfo.getHeight();
+			} catch (IOException e) {
+				Log.exception(e);
+			} catch (EditorException e) {
+				Log.warn("Unsupported image file type: " + fileHandle);
+			}
+		}
+
+		return entry;
+	}
+
+	/** Files outside of assets folder (eg. temporary files created during export) are never stored in index */
+	private boolean isOutsideAssetsFolder (String relativePath) {
+		return relativePath.startsWith("..");
+	}
+
+	private String resolveDescriptorId (FileHandle dir) {
+		String relativePath = fileAccess.relativizeToAssetsFolder(dir);
+		if (isOutsideAssetsFolder(relativePath)) return assetsMetadata.getRecursively(dir);
+		return directoryDescriptors.computeIfAbsent(relativePath, path -> assetsMetadata.getRecursively(dir));
+	}
+
+	/**
+	 * @return entry of given file, file is only read when index doesn't contain up to date entry for it. Returns null
+	 * if file does not exist or is a directory.
+	 */
+	public AssetIndexEntry get (FileHandle file) {
+		String relativePath = fileAccess.relativizeToAssetsFolder(file);
+		AssetIndexEntry entry = entries.get(relativePath);
+		if (entry != null && entry.verified) return entry;
+
+		File javaFile = file.file();
+		if (javaFile.isFile() == false) {
+			if (entry != null && entries.remove(relativePath) != null) markDirty();
+			return null;
+		}
+
+		if (isOutsideAssetsFolder(relativePath)) return createEntry(javaFile, javaFile.length(), javaFile.lastModified());
+
+		return refresh(relativePath, javaFile, javaFile.length(), javaFile.lastModified());
+	}
+
+	/** @return hash of file content, computed only if file was changed since hash was last calculated or null if file does not exist */
+	public String getHash (FileHandle file) {
+		AssetIndexEntry entry = get(file);
+		if (entry == null) return null;
+
+		String hash = entry.hash;
+		if (hash == null) {
+			try {
+				hash = com.google.common.io.Files.asByteSource(file.file()).hash(Hashing.murmur3_128()).toString();
+			} catch (IOException e) {
+				Log.exception(e);
+				return null;
+			}
+			entry.hash = hash;
+			markDirty();
+		}
+
+		return hash;
+	}
+
+	/**
+	 * @return descriptor of directory that given file or directory belongs to, resolved recursively like
+	 * {@link AssetsMetadataModule#getAsDirectoryDescriptorRecursively(FileHandle)}
+	 */
+	public AssetDirectoryDescriptor getDirectoryDescriptorRecursively (FileHandle file) {
+		if (file.isDirectory()) return assetsMetadata.getDirectoryDescriptorForId(resolveDescriptorId(file));
+
+		AssetIndexEntry entry = get(file);
+		if (entry == null) return assetsMetadata.getDirectoryDescriptorForId(resolveDescriptorId(file.parent()));
+		return assetsMetadata.getDirectoryDescriptorForId(entry.descriptorId);
+	}
+
+	/** Must be called after assets metadata was changed, updates resolved descriptors of all entries. */
+	void assetsMetadataChanged () {
+		directoryDescriptors.clear();
+		for (Map.Entry<String, AssetIndexEntry> entry : entries.entrySet()) {
+			FileHandle file = assetsFolder.child(entry.getKey());
+			entry.getValue().descriptorId = resolveDescriptorId(file.parent());
+		}
+		markDirty();
+	}
+
+	private void invalidate (FileHandle file) {
+		String relativePath = fileAccess.relativizeToAssetsFolder(file);
+		AssetIndexEntry entry = entries.get(relativePath);
+		if (entry != null) {
+			entry.verified = false;
+			return;
+		}
+
+		if (file.isDirectory() == false) return;
+
+		//directory was changed, entries of files inside it must be verified again
+		String dirPrefix = relativePath + "/";
+		for (Map.Entry<String, AssetIndexEntry> dirEntry : entries.entrySet()) {
+			if (dirEntry.getKey().startsWith(dirPrefix)) dirEntry.getValue().verified = false;
+		}
+	}
+
+	@Override
+	public void fileChanged (FileHandle file) {
+		invalidate(file);
+	}
+
+	@Override
+	public void fileCreated (FileHandle file) {
+		invalidate(file);
+	}
+
+	@Override
+	public void fileDeleted (FileHandle file) {
+		String relativePath = fileAccess.relativizeToAssetsFolder(file);
+		boolean removed = entries.remove(relativePath) != null;
+
+		String dirPrefix = relativePath + "/";
+		removed |= entries.keySet().removeIf(path -> path.startsWith(dirPrefix));
+		directoryDescriptors.remove(relativePath);
+
+		if (removed) markDirty();
+	}
+
+	/**
+	 * Index entry of single file. Entry is replaced when file changes, only lazily computed hash and
+	 * resolved descriptor are updated in place.
+	 */
+	public static class AssetIndexEntry {
+		long size;
+		long lastModified;
+		volatile String hash;
+		int width = -1;
+		int height = -1;
+		volatile String descriptorId;
+
+		/** Entries loaded from disk must be checked against file before being used */
+		transient volatile boolean verified;
+
+		public long getSize () {
+			return size;
+		}
+
+		public long getLastModified () {
+			return lastModified;
+		}
+
+		/** @return true if dimensions of image are known, false if file is not an image or it's header couldn't be read */
+		public boolean hasImageSize () {
+			return width != -1 && height != -1;
+		}
+
+		public int getWidth () {
+			return width;
+		}
+
+		public int getHeight () {
+			return height;
+		}
+
+		public String getDescriptorId () {
+			return descriptorId;
+		}
+	}
+
+	private static class AssetsIndex {
+		static final int VERSION = 1;
+
+		int version = VERSION;
+		HashMap<String, AssetIndexEntry> entries;
+	}
+}
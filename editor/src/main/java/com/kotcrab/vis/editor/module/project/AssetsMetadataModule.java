@@ -45,6 +45,7 @@ public class AssetsMetadataModule extends ProjectModule {
 	private ToastModule toastModule;
 
 	private FileAccessModule fileAccess;
+	private AssetsIndexModule assetsIndex;
 
 	private FileHandle metadataFile;
 	private FileHandle metadataBackupFile;
@@ -73,6 +74,7 @@ public class AssetsMetadataModule extends ProjectModule {
 		String path = fileAccess.relativizeToAssetsFolder(file);
 		metadata.put(path, fileType);
 		saveMetadata();
+		assetsIndex.assetsMetadataChanged();
 	}
 
 	public String get (FileHandle file) {
@@ -104,6 +106,7 @@ public class AssetsMetadataModule extends ProjectModule {
 	public void remove (FileHandle file) {
 		metadata.remove(fileAccess.relativizeToAssetsFolder(file));
 		saveMetadata();
+		assetsIndex.assetsMetadataChanged();
 	}
 
 	public AssetDirectoryDescriptor getDirectoryDescriptorForId (String descId) {
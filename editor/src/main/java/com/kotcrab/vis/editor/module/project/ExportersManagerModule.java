@@ -69,6 +69,10 @@ public class ExportersManagerModule extends ProjectModule {
 
 			dialog.ifPresent(optDialog -> optDialog.setYesButtonText("Export"));
 		}
+
+		if (event.type == ProjectMenuBarEventType.QUICK_EXPORT) {
+			quickExport();
+		}
 	}
 
 	@Override
@@ -102,9 +106,20 @@ public class ExportersManagerModule extends ProjectModule {
 		exporters.get(exportSettings.getCurrentExporterUUID()).export(quickExport);
 	}
 
+	/** Performs quick export if current exporter supports it, otherwise performs normal export */
+	public void quickExport () {
+		ExporterPlugin exporter = exporters.get(exportSettings.getCurrentExporterUUID());
+		exporter.export(exporter.isQuickExportSupported());
+	}
+
 	private class ExportInputListener extends ModalInputListener {
 		@Override
 		public boolean keyDown (InputEvent event, int keycode) {
+			if (UIUtils.ctrl() && UIUtils.shift() && keycode == Keys.E) {
+				quickExport();
+				return true;
+			}
+
 			if (UIUtils.ctrl() && keycode == Keys.E) {
 				export(false);
 				return true;
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.editor.module.project;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent state of {@link TextureCacheModule}. Stores hashes of cached textures and atlas pages they were assigned to,
+ * used to repack only pages affected by changed files.
+ * @author Kotcrab
+ */
+class TextureCacheManifest {
+	static final int VERSION = 1;
+
+	int version = VERSION;
+	int nextPageId;
+	/** Maps texture path relative to assets folder to its entry */
+	HashMap<String, CacheEntry> entries = new HashMap<>();
+
+	/** Maps page id to area used by textures assigned to that page, not saved, rebuilt from entries when needed */
+	private transient HashMap<Integer, Integer> pageAreas;
+
+	int assignPage (int width, int height, int pageAreaBudget) {
+		int area = width * height;
+		for (Map.Entry<Integer, Integer> page : getPageAreas().entrySet()) {
+			if (page.getValue() + area <= pageAreaBudget) return page.getKey();
+		}
+
+		return nextPageId++;
+	}
+
+	void putEntry (String path, CacheEntry entry) {
+		CacheEntry oldEntry = entries.put(path, entry);
+		if (oldEntry != null) updatePageArea(oldEntry.page, -oldEntry.width * oldEntry.height);
+		updatePageArea(entry.page, entry.width * entry.height);
+	}
+
+	CacheEntry removeEntry (String path) {
+		CacheEntry entry = entries.remove(path);
+		if (entry != null) updatePageArea(entry.page, -entry.width * entry.height);
+		return entry;
+	}
+
+	void resizeEntry (CacheEntry entry, int width, int height) {
+		updatePageArea(entry.page, width * height - entry.width * entry.height);
+		entry.width = width;
+		entry.height = height;
+	}
+
+	private void updatePageArea (int page, int areaDelta) {
+		getPageAreas().merge(page, areaDelta, Integer::sum);
+	}
+
+	private HashMap<Integer, Integer> getPageAreas () {
+		if (pageAreas == null) {
+			pageAreas = new HashMap<>();
+			for (CacheEntry entry : entries.values()) {
+				pageAreas.merge(entry.page, entry.width * entry.height, Integer::sum);
+			}
+		}
+
+		return pageAreas;
+	}
+
+	HashMap<Integer, List<String>> getPages () {
+		HashMap<Integer, List<String>> pages = new HashMap<>();
+		for (Map.Entry<String, CacheEntry> entry : entries.entrySet()) {
+			pages.computeIfAbsent(entry.getValue().page, page -> new ArrayList<>()).add(entry.getKey());
+		}
+		return pages;
+	}
+
+	static class CacheEntry {
+		long size;
+		long lastModified;
+		String hash;
+		int width;
+		int height;
+		int page;
+	}
+}
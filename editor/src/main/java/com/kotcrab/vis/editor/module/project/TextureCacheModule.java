@@ -20,22 +20,33 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
 import com.badlogic.gdx.tools.texturepacker.TexturePacker.Settings;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
 import com.badlogic.gdx.utils.ObjectMap;
-import com.badlogic.gdx.utils.ObjectMap.Entry;
+import com.badlogic.gdx.utils.ObjectSet;
 import com.badlogic.gdx.utils.Timer;
 import com.badlogic.gdx.utils.Timer.Task;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.kotcrab.vis.editor.App;
 import com.kotcrab.vis.editor.Assets;
 import com.kotcrab.vis.editor.Log;
 import com.kotcrab.vis.editor.event.ResourceReloadedEvent;
 import com.kotcrab.vis.editor.event.ResourceReloadedEvent.ResourceType;
+import com.kotcrab.vis.editor.module.editor.GsonModule;
 import com.kotcrab.vis.editor.module.editor.StatusBarModule;
+import com.kotcrab.vis.editor.module.project.AssetsIndexModule.AssetIndexEntry;
+import com.kotcrab.vis.editor.module.project.TextureCacheManifest.CacheEntry;
+import com.kotcrab.vis.editor.util.DirectoryWatcher.FileEvent;
+import com.kotcrab.vis.editor.util.DirectoryWatcher.FileEventType;
 import com.kotcrab.vis.editor.util.DirectoryWatcher.WatchListener;
 import com.kotcrab.vis.editor.util.FileUtils;
-import com.kotcrab.vis.editor.util.gdx.VisTexturePacker;
 import com.kotcrab.vis.editor.util.vis.ProjectPathUtils;
 import com.kotcrab.vis.editor.util.vis.TextureCacheFilter;
 import com.kotcrab.vis.runtime.assets.AtlasRegionAsset;
@@ -45,26 +56,47 @@ import com.kotcrab.vis.runtime.util.SpriteSheetHelper;
 import com.kotcrab.vis.runtime.util.UnsupportedAssetDescriptorException;
 import org.apache.commons.io.FilenameUtils;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Allows to get loaded textures from project 'gfx' assets directory and allows to get loaded atlases from project 'atlas' asset directory.
  * Live reloading is fully supported, however it requires listening for {@link ResourceReloadedEvent} and manually updating
  * textures.
+ * <p>
+ * Textures are packed into multiple cache pages. Manifest storing hashes of cached files and their page assignments is
+ * kept in cache folder, when files are changed only affected pages are repacked (in parallel) and only regions from those
+ * pages are updated. Regions returned from {@link #getRegion(VisAssetDescriptor)} are updated in place.
  * @author Kotcrab
  */
 public class TextureCacheModule extends ProjectModule implements WatchListener {
 	private static final String TAG = "TextureCacheModule";
 	private static final boolean DEBUG_LOG = false;
 
+	private static final int PAGE_SIZE = 2048;
+	/** Maximum sum of images area assigned to single page, leaves some space for packing overhead */
+	private static final int PAGE_AREA_BUDGET = (int) (PAGE_SIZE * PAGE_SIZE * 0.6f);
+	private static final String PAGE_FILE_NAME = "page";
+
 	private StatusBarModule statusBar;
 
-	private AssetsMetadataModule assetsMetadata;
+	private AssetsIndexModule assetsIndex;
 	private FileAccessModule fileAccess;
 	private AssetsWatcherModule watcher;
-
-	private String assetFolderPath;
-	private String cacheFilePath;
+	private GsonModule gsonModule;
 
 	private Settings settings;
 
@@ -75,48 +107,54 @@ public class TextureCacheModule extends ProjectModule implements WatchListener {
 	private ObjectMap<String, TextureRegion> regions = new ObjectMap<>();
 	private ObjectMap<String, Texture> textures = new ObjectMap<>();
 
-	private FileHandle cacheFile;
+	private FileHandle manifestFile;
+	private FileHandle pagesFolder;
 	private FileHandle atlasesFolder;
 	private FileHandle assetsFolder;
-	private TextureAtlas cache;
+
+	/** Only accessed from cache executor thread after module was initialized */
+	private TextureCacheManifest manifest;
+
+	private IntMap<TextureAtlas> pageAtlases = new IntMap<>();
+	private ObjectMap<String, AtlasRegion> cachedRegions = new ObjectMap<>();
 
 	private ObjectMap<String, TextureAtlas> atlases = new ObjectMap<>();
 	private ObjectMap<TextureAtlas, SpriteSheetHelper> spriteSheetHelpers = new ObjectMap<>();
 
-	private Timer cacheWaitTimer = new Timer();
-	private Timer atlasWaitTimer = new Timer();
+	private ExecutorService cacheExecutor;
+	private ExecutorService packExecutor;
+	private AtomicBoolean updateQueued = new AtomicBoolean();
 
 	private boolean packagingEnabled = true;
 
 	@Override
 	public void init () {
 		settings = new Settings();
-		settings.maxWidth = 4096;
-		settings.maxHeight = 4096;
+		settings.maxWidth = PAGE_SIZE;
+		settings.maxHeight = PAGE_SIZE;
 		settings.combineSubdirectories = true;
 		settings.silent = true;
 		settings.useIndexes = false;
 		settings.fast = true;
 
-		cacheFilter = new TextureCacheFilter(assetsMetadata, 1024);
+		cacheFilter = new TextureCacheFilter(assetsIndex, 1024);
 
 		missingRegion = Assets.getIconRegion("file-question-big");
 
 		FileHandle out = fileAccess.getModuleFolder(".textureCache");
-		cacheFilePath = out.path();
-		cacheFile = out.child("cache.atlas");
+		manifestFile = out.child("manifest.json");
+		pagesFolder = out.child("pages");
 
-		assetFolderPath = fileAccess.getAssetsFolder().path();
 		atlasesFolder = fileAccess.getAssetsFolder().child("atlas");
 		assetsFolder = fileAccess.getAssetsFolder();
 
+		cacheExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("TextureCache").setDaemon(true).build());
+		int packThreads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+		packExecutor = Executors.newFixedThreadPool(packThreads, new ThreadFactoryBuilder().setNameFormat("TextureCachePacker-%d").setDaemon(true).build());
+
 		watcher.addListener(this);
 
-		try {
-			if (cacheFile.exists()) cache = new TextureAtlas(cacheFile);
-		} catch (Exception e) {
-			Log.error(TAG, "Error while loading texture cache, texture cache will be regenerated");
-		}
+		loadManifest(out);
 
 		try {
 			FileUtils.streamFilesRecursively(assetsFolder, file -> {
@@ -132,67 +170,280 @@ public class TextureCacheModule extends ProjectModule implements WatchListener {
 		updateCache();
 	}
 
+	private void loadManifest (FileHandle cacheFolder) {
+		try {
+			if (manifestFile.exists()) {
+				manifest = gsonModule.getCommonGson().fromJson(manifestFile.readString("UTF-8"), TextureCacheManifest.class);
+				if (manifest != null && manifest.version != TextureCacheManifest.VERSION) manifest = null;
+			}
+		} catch (Exception e) {
+			Log.error(TAG, "Error while loading texture cache manifest, texture cache will be regenerated");
+			manifest = null;
+		}
+
+		if (manifest == null) {
+			//cache is invalid or was created by older version, remove everything
+			cacheFolder.emptyDirectory();
+			manifest = new TextureCacheManifest();
+			return;
+		}
+
+		//load pages that are already packed so cache can be used before it is verified
+		IntArray pages = new IntArray();
+		for (Integer page : manifest.getPages().keySet()) {
+			pages.add(page);
+		}
+		reloadPages(pages, new Array<>());
+	}
+
+	private void saveManifest () {
+		try {
+			manifestFile.writeString(gsonModule.getCommonGson().toJson(manifest), false, "UTF-8");
+		} catch (Exception e) {
+			Log.error(TAG, "Error while saving texture cache manifest");
+			Log.exception(e);
+		}
+	}
+
 	private void updateCache () {
-		new Thread(this::packageAndReloadCache, "TextureCache").start();
+		if (updateQueued.compareAndSet(false, true) == false) return;
+
+		cacheExecutor.execute(() -> {
+			updateQueued.set(false);
+			try {
+				updateAndReloadCache();
+			} catch (Exception e) {
+				Log.error(TAG, "Error while updating texture cache");
+				Log.exception(e);
+			}
+		});
+	}
+
+	private void updateAndReloadCache () throws InterruptedException {
+		if (packagingEnabled == false) return;
+
+		HashMap<String, File> files = new HashMap<>();
+		collectTextures(assetsFolder.file(), files);
+
+		IntSet dirtyPages = new IntSet();
+		Array<String> affectedPaths = new Array<>();
+
+		for (String path : new ArrayList<>(manifest.entries.keySet())) {
+			if (files.containsKey(path) == false) {
+				if (DEBUG_LOG) Log.debug(TAG, "Removed from cache " + path);
+				dirtyPages.add(manifest.removeEntry(path).page);
+				affectedPaths.add(path);
+			}
+		}
+
+		for (Map.Entry<String, File> fileEntry : files.entrySet()) {
+			String path = fileEntry.getKey();
+			File file = fileEntry.getValue();
+			CacheEntry entry = manifest.entries.get(path);
+
+			AssetIndexEntry indexEntry = assetsIndex.get(FileUtils.toFileHandle(file));
+			if (indexEntry == null || indexEntry.hasImageSize() == false) continue;
+
+			long size = indexEntry.getSize();
+			long lastModified = indexEntry.getLastModified();
+			if (entry != null && entry.size == size && entry.lastModified == lastModified) continue;
+
+			String hash = assetsIndex.getHash(FileUtils.toFileHandle(file));
+			if (hash == null) continue;
+
+			if (entry != null && hash.equals(entry.hash)) { //only modification date has changed
+				entry.size = size;
+				entry.lastModified = lastModified;
+				continue;
+			}
+
+			if (entry == null) {
+				entry = new CacheEntry();
+				entry.width = indexEntry.getWidth();
+				entry.height = indexEntry.getHeight();
+				entry.page = manifest.assignPage(entry.width, entry.height, PAGE_AREA_BUDGET);
+				manifest.putEntry(path, entry);
+			} else {
+				manifest.resizeEntry(entry, indexEntry.getWidth(), indexEntry.getHeight());
+			}
+
+			if (DEBUG_LOG) Log.debug(TAG, "Changed " + path + ", repacking page " + entry.page);
+			entry.size = size;
+			entry.lastModified = lastModified;
+			entry.hash = hash;
+			dirtyPages.add(entry.page);
+			affectedPaths.add(path);
+		}
+
+		HashMap<Integer, List<String>> pages = manifest.getPages();
+		for (Map.Entry<Integer, List<String>> page : pages.entrySet()) {
+			if (getPageAtlasFile(page.getKey()).exists() == false) {
+				dirtyPages.add(page.getKey());
+				affectedPaths.addAll(page.getValue().toArray(new String[0]));
+			}
+		}
+
+		if (dirtyPages.size == 0) return;
+
+		if (DEBUG_LOG) Log.debug(TAG, "Repacking " + dirtyPages.size + " texture cache pages");
+		List<Callable<Void>> packTasks = new ArrayList<>();
+		IntArray dirtyPagesArray = dirtyPages.iterator().toArray();
+		for (int i = 0; i < dirtyPagesArray.size; i++) {
+			int page = dirtyPagesArray.get(i);
+			List<String> pageFiles = pages.getOrDefault(page, Collections.emptyList());
+			packTasks.add(() -> {
+				packPage(page, pageFiles, files);
+				return null;
+			});
+		}
+
+		for (Future<Void> future : packExecutor.invokeAll(packTasks)) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				Log.error(TAG, "Error while packing texture cache page");
+				Log.exception(e);
+			}
+		}
+
+		saveManifest();
+
+		//wait until pages are reloaded so next update won't modify pages that are being loaded
+		CountDownLatch latch = new CountDownLatch(1);
+		Gdx.app.postRunnable(() -> {
+			try {
+				reloadPages(dirtyPagesArray, affectedPaths);
+			} finally {
+				latch.countDown();
+			}
+		});
+		latch.await();
 	}
 
-	private void packageAndReloadCache () {
-		if (packagingEnabled) {
-			if (DEBUG_LOG) Log.debug(TAG, "Rebuilding texture cache");
-			VisTexturePacker.process(settings, assetFolderPath, cacheFilePath, "cache", cacheFilter);
-			if (DEBUG_LOG) Log.debug(TAG, "Texture cache rebuilt");
+	private void collectTextures (File dir, HashMap<String, File> files) {
+		File[] children = dir.listFiles();
+		if (children == null) return;
+
+		for (File child : children) {
+			if (cacheFilter.accept(dir, child.getName()) == false) continue;
+
+			if (child.isDirectory())
+				collectTextures(child, files);
+			else
+				files.put(fileAccess.relativizeToAssetsFolder(FileUtils.toFileHandle(child)), child);
 		}
+	}
+
+	private void packPage (int page, List<String> pageFiles, HashMap<String, File> files) {
+		FileHandle pageFolder = pagesFolder.child(String.valueOf(page));
+		pageFolder.deleteDirectory();
+		if (pageFiles.isEmpty()) return;
+		pageFolder.mkdirs();
 
-		Gdx.app.postRunnable(this::reloadCache);
+		//sort files by name to avoid atlas output changes
+		List<String> sortedFiles = new ArrayList<>(pageFiles);
+		Collections.sort(sortedFiles);
+
+		TexturePacker packer = new TexturePacker(assetsFolder.file(), settings);
+		for (String path : sortedFiles) {
+			packer.addImage(files.get(path));
+		}
+		packer.pack(pageFolder.file(), PAGE_FILE_NAME);
 	}
 
-	private void reloadCache () {
-		if (cacheFile.exists()) {
-			TextureAtlas oldCache = null;
-
-			if (cache != null) oldCache = cache;
-
-			cache = new TextureAtlas(cacheFile);
-
-			for (Entry<String, TextureRegion> e : regions.entries()) {
-				String path = e.key;
-				String regionName = FilenameUtils.removeExtension(path);
-				TextureRegion region = e.value;
-				TextureRegion newRegion = cache.findRegion(regionName);
-				if (newRegion == null) {
-					Texture texture = textures.get(path);
-					if (texture == null) {
-						Log.warn(TAG, "Missing texture for region: " + path);
-						region.setRegion(missingRegion);
-					} else {
-						if (DEBUG_LOG) Log.debug(TAG, "Update region using texture: " + path);
-						region.setRegion(new TextureRegion(texture));
-					}
-				} else {
-					if (textures.containsKey(path)) {
-						if (DEBUG_LOG) Log.debug(TAG, "Dispose texture " + path);
-						textures.get(path).dispose();
-						textures.remove(path);
-					}
-					if (DEBUG_LOG) Log.debug(TAG, "Update region using cache " + path);
-					region.setRegion(newRegion);
+	private FileHandle getPageAtlasFile (int page) {
+		return pagesFolder.child(String.valueOf(page)).child(PAGE_FILE_NAME + ".atlas");
+	}
+
+	private void reloadPages (IntArray pages, Array<String> affectedPaths) {
+		Array<TextureAtlas> oldAtlases = new Array<>();
+
+		for (int i = 0; i < pages.size; i++) {
+			int page = pages.get(i);
+
+			TextureAtlas oldAtlas = pageAtlases.remove(page);
+			if (oldAtlas != null) {
+				for (AtlasRegion region : oldAtlas.getRegions()) {
+					if (cachedRegions.get(region.name) == region) cachedRegions.remove(region.name);
 				}
+				oldAtlases.add(oldAtlas);
 			}
 
-			if (DEBUG_LOG) Log.debug(TAG, "Post update regions array size " + regions.size);
+			FileHandle atlasFile = getPageAtlasFile(page);
+			if (atlasFile.exists() == false) continue;
 
-			disposeCacheLater(oldCache);
+			try {
+				TextureAtlas atlas = new TextureAtlas(atlasFile);
+				pageAtlases.put(page, atlas);
+				for (AtlasRegion region : atlas.getRegions()) {
+					cachedRegions.put(region.name, region);
+				}
+			} catch (GdxRuntimeException e) {
+				Log.error(TAG, "Error while loading texture cache page " + page);
+				Log.exception(e);
+			}
+		}
 
-			App.eventBus.post(new ResourceReloadedEvent(EnumSet.of(ResourceType.TEXTURES)));
-		} else
-			Log.error(TAG, "Texture cache not ready, probably they aren't any textures in project or packer failed");
+		boolean regionsChanged = false;
+		for (String path : affectedPaths) {
+			TextureRegion region = regions.get(path);
+			if (region == null) continue;
+
+			TextureRegion newRegion = findRegion(path);
+			if (newRegion == null) {
+				Log.warn(TAG, "Missing texture for region: " + path);
+				region.setRegion(missingRegion);
+			} else {
+				if (DEBUG_LOG) Log.debug(TAG, "Update region " + path);
+				region.setRegion(newRegion);
+			}
+			regionsChanged = true;
+		}
+
+		if (DEBUG_LOG) Log.debug(TAG, "Reloaded " + pages.size + " pages, updated " + affectedPaths.size + " regions");
+
+		disposeCacheLater(oldAtlases);
+
+		if (regionsChanged) App.eventBus.post(new ResourceReloadedEvent(EnumSet.of(ResourceType.TEXTURES)));
 	}
 
-	private void disposeCacheLater (final TextureAtlas oldCache) {
+	/** @return region from cache or region of standalone texture if file is not cached, null if texture can't be loaded */
+	private TextureRegion findRegion (String relativePath) {
+		AtlasRegion cachedRegion = cachedRegions.get(FilenameUtils.removeExtension(relativePath));
+		if (cachedRegion != null) {
+			Texture texture = textures.remove(relativePath);
+			if (texture != null) {
+				if (DEBUG_LOG) Log.debug(TAG, "Dispose texture " + relativePath);
+				texture.dispose();
+			}
+			return cachedRegion;
+		}
+
+		try {
+			Texture texture = textures.get(relativePath);
+			if (texture == null) {
+				FileHandle file = Gdx.files.absolute(fileAccess.derelativizeFromAssetsFolder(relativePath));
+				if (file.exists() == false) return null;
+				texture = new Texture(file);
+				if (DEBUG_LOG) Log.debug(TAG, "Load texture " + relativePath);
+				textures.put(relativePath, texture);
+			}
+
+			return new TextureRegion(texture);
+		} catch (GdxRuntimeException e) {
+			Log.exception(e);
+			return null;
+		}
+	}
+
+	private void disposeCacheLater (final Array<TextureAtlas> oldAtlases) {
+		if (oldAtlases.size == 0) return;
 		Timer.instance().scheduleTask(new Task() {
 			@Override
 			public void run () {
-				if (oldCache != null) oldCache.dispose();
+				for (TextureAtlas atlas : oldAtlases) {
+					atlas.dispose();
+				}
 			}
 		}, 0.5f);
 	}
@@ -222,8 +473,11 @@ public class TextureCacheModule extends ProjectModule implements WatchListener {
 	public void dispose () {
 		watcher.removeListener(this);
 
-		if (cache != null) {
-			cache.dispose();
+		cacheExecutor.shutdownNow();
+		packExecutor.shutdownNow();
+
+		for (TextureAtlas atlas : pageAtlases.values()) {
+			atlas.dispose();
 		}
 
 		for (TextureAtlas atlas : atlases.values()) {
@@ -236,36 +490,33 @@ public class TextureCacheModule extends ProjectModule implements WatchListener {
 	}
 
 	@Override
-	public void fileChanged (FileHandle file) {
-		if (ProjectPathUtils.isTexture(file)) {
-			cacheWaitTimer.clear();
-			cacheWaitTimer.scheduleTask(new Task() {
-				@Override
-				public void run () {
-					updateCache();
+	public void fileBatchChanged (Collection<FileEvent> events) {
+		boolean texturesChanged = false;
+		ObjectSet<FileHandle> changedAtlases = new ObjectSet<>();
+
+		for (FileEvent event : events) {
+			FileHandle file = event.getFile();
+
+			if (event.getType() == FileEventType.DELETED) {
+				String path = fileAccess.relativizeToAssetsFolder(file);
+				Texture texture = textures.remove(path);
+				if (texture != null) {
+					if (DEBUG_LOG) Log.debug(TAG, "File deleted, dispose texture " + file.path());
+					texture.dispose();
 				}
-			}, 0.5f);
-		}
+			}
 
-		if (ProjectPathUtils.isTextureAtlas(file) || ProjectPathUtils.isTextureAtlasImage(file)) {
-			atlasWaitTimer.clear();
-			atlasWaitTimer.scheduleTask(new Task() {
-				@Override
-				public void run () {
-					updateAtlas(file);
-				}
-			}, 0.5f);
+			//directories may be moved or deleted together with textures inside them
+			if (ProjectPathUtils.isTexture(file) || file.isDirectory() || file.extension().isEmpty()) texturesChanged = true;
+
+			if (file.extension().equals("atlas")) changedAtlases.add(file);
+			if (ProjectPathUtils.isTextureAtlasImage(file)) changedAtlases.add(FileUtils.sibling(file, "atlas"));
 		}
-	}
 
-	@Override
-	public void fileDeleted (FileHandle file) {
-		String path = fileAccess.relativizeToAssetsFolder(file);
-		Texture texture = textures.get(path);
-		if (texture != null) {
-			if (DEBUG_LOG) Log.debug(TAG, "File deleted, dispose texture " + file.path());
-			texture.dispose();
-			textures.remove(path);
+		if (texturesChanged) updateCache();
+
+		for (FileHandle atlasFile : changedAtlases) {
+			updateAtlas(atlasFile);
 		}
 	}
 
@@ -282,31 +533,15 @@ public class TextureCacheModule extends ProjectModule implements WatchListener {
 
 	private TextureRegion getTextureRegion (TextureRegionAsset asset) {
 		String relativePath = asset.getPath();
-		String regionName = FilenameUtils.removeExtension(relativePath);
 
-		TextureRegion region = regions.get(regionName);
+		TextureRegion region = regions.get(relativePath);
 
 		if (region == null) {
-			if (cache != null) region = cache.findRegion(regionName);
-			if (region == null) {
-				try {
-
-					Texture texture = textures.get(relativePath);
-					if (texture == null) {
-						texture = new Texture(Gdx.files.absolute(fileAccess.derelativizeFromAssetsFolder(relativePath)));
-						if (DEBUG_LOG) Log.debug(TAG, "Load texture " + relativePath);
-						textures.put(relativePath, texture);
-					}
-
-					region = new TextureRegion(texture);
-				} catch (GdxRuntimeException e) {
-					Log.exception(e);
-					return missingRegion;
-				}
-			} else if (DEBUG_LOG) {
-				Log.debug(TAG, "Using cached region " + relativePath);
-			}
+			TextureRegion sourceRegion = findRegion(relativePath);
+			if (sourceRegion == null) return missingRegion;
 
+			//region is copied so it can be updated in place when cache page is repacked
+			region = new TextureRegion(sourceRegion);
 			regions.put(relativePath, region);
 		}
 
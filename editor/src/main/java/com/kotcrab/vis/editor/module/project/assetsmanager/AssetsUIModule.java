@@ -48,6 +48,7 @@ import com.kotcrab.vis.editor.ui.dialog.EnterPathDialog;
 import com.kotcrab.vis.editor.ui.tab.AssetsUsagesTab;
 import com.kotcrab.vis.editor.ui.tab.DeleteMultipleFilesTab;
 import com.kotcrab.vis.editor.ui.tabbedpane.DragAndDropTarget;
+import com.kotcrab.vis.editor.util.DirectoryWatcher.FileEvent;
 import com.kotcrab.vis.editor.util.DirectoryWatcher.WatchListener;
 import com.kotcrab.vis.editor.util.FileUtils;
 import com.kotcrab.vis.editor.util.Holder;
@@ -72,6 +73,7 @@ import com.kotcrab.vis.ui.widget.file.internal.FileHistoryManager.FileHistoryCal
 import com.kotcrab.vis.ui.widget.tabbedpane.Tab;
 import com.kotcrab.vis.ui.widget.tabbedpane.TabbedPaneAdapter;
 
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -94,6 +96,7 @@ public class AssetsUIModule extends ProjectModule implements WatchListener, VisT
 	private SceneTabsModule sceneTabsModule;
 	private SceneCacheModule sceneCache;
 	private AssetsMetadataModule assetsMetadata;
+	private AssetsIndexModule assetsIndex;
 	private AssetsWatcherModule assetsWatcher;
 	private AssetsAnalyzerModule assetsAnalyzer;
 
@@ -406,7 +409,7 @@ public class AssetsUIModule extends ProjectModule implements WatchListener, VisT
 
 		updateContextGeneratorContainer(directory);
 
-		currentDirectoryDescriptor = assetsMetadata.getAsDirectoryDescriptorRecursively(directory);
+		currentDirectoryDescriptor = assetsIndex.getDirectoryDescriptorRecursively(directory);
 
 		if (currentDirectory.equals(assetsFolder))
 			navigateToParentButton.setDisabled(true);
@@ -571,23 +574,21 @@ public class AssetsUIModule extends ProjectModule implements WatchListener, VisT
 		return extension.equals("scene");
 	}
 
-	private void refreshAllIfNeeded (FileHandle file) {
-		if (file.isDirectory()) rebuildFolderTree();
-		if (file.parent().equals(currentDirectory)) refreshFilesList();
+	@Override
+	public void fileBatchChanged (Collection<FileEvent> events) {
+		boolean rebuildTree = false;
+		boolean refreshList = false;
 
-		updateContextGeneratorContainer(currentDirectory);
-	}
+		for (FileEvent event : events) {
+			FileHandle file = event.getFile();
+			if (file.isDirectory()) rebuildTree = true;
+			if (file.parent().equals(currentDirectory)) refreshList = true;
+		}
 
-	@Override
-	public void fileChanged (FileHandle file) {
-		refreshAllIfNeeded(file);
-	}
+		if (rebuildTree) rebuildFolderTree();
+		if (refreshList) refreshFilesList();
 
-	@Override
-	public void fileDeleted (FileHandle file) {
-		//although fileChanged covers 'delete' event, that event is sent before the actual file is deleted from disk,
-		//thus refreshing list at that moment would be pointless (the file is still on the disk)
-		refreshAllIfNeeded(file);
+		updateContextGeneratorContainer(currentDirectory);
 	}
 
 	@Override
@@ -28,6 +28,7 @@ import com.badlogic.gdx.utils.Scaling;
 import com.kotcrab.vis.editor.Icons;
 import com.kotcrab.vis.editor.extension.AssetType;
 import com.kotcrab.vis.editor.module.ModuleInjector;
+import com.kotcrab.vis.editor.module.project.AssetsIndexModule;
 import com.kotcrab.vis.editor.module.project.AssetsMetadataModule;
 import com.kotcrab.vis.editor.module.project.FileAccessModule;
 import com.kotcrab.vis.editor.module.project.ProjectExtensionStorageModule;
@@ -49,6 +50,7 @@ import com.kotcrab.vis.ui.widget.VisLabel;
  */
 public class FileItem extends Table {
 	private AssetsMetadataModule assetsMetadata;
+	private AssetsIndexModule assetsIndex;
 
 	private ProjectExtensionStorageModule projectExtensionStorage;
 	private FileAccessModule fileAccess;
@@ -129,7 +131,7 @@ public class FileItem extends Table {
 			type = texture ? AssetType.TEXTURE : AssetType.TEXTURE_ATLAS;
 
 			//don't create region preview for files excluded from texture cache
-			AssetDirectoryDescriptor desc = assetsMetadata.getAsDirectoryDescriptorRecursively(file);
+			AssetDirectoryDescriptor desc = assetsIndex.getDirectoryDescriptorRecursively(file);
 			if (desc != null && desc.isExcludeFromTextureCache()) {
 				createDefaultView(type, texture ? "Texture" : "Texture Atlas", true);
 				return;
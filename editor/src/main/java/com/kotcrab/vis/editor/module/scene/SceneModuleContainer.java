@@ -76,6 +76,8 @@ import static com.kotcrab.vis.runtime.scene.SceneConfig.Priority.*;
 public class SceneModuleContainer extends ModuleContainer<SceneModule> implements ModuleInput {
 	private static final NoneInvocationStrategy noneInvStrategy = new NoneInvocationStrategy();
 	private static final InvocationStrategy stdInvStrategy = new InvocationStrategy();
+	/** Size of {@link EntityProxySpatialIndex} cell in pixels */
+	private static final float SPATIAL_INDEX_CELL_SIZE = 256;
 
 	private Project project;
 	private EditorModuleContainer editorModuleContainer;
@@ -126,6 +128,7 @@ public class SceneModuleContainer extends ModuleContainer<SceneModule> implement
 		config.setSystem(new GroupIdProviderSystem(), NORMAL);
 		config.setSystem(new VisComponentManipulator(), NORMAL);
 		config.setSystem(new EntityProxyCache(scene.pixelsPerUnit), NORMAL);
+		config.setSystem(new EntityProxySpatialIndex(SPATIAL_INDEX_CELL_SIZE / scene.pixelsPerUnit), NORMAL);
 		createEssentialsSystems(config);
 
 		RenderBatchingSystem batchingSystem = new RenderBatchingSystem(batch, true);
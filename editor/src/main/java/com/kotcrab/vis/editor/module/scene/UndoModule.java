@@ -19,43 +19,54 @@ package com.kotcrab.vis.editor.module.scene;
 import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.utils.UIUtils;
-import com.badlogic.gdx.utils.Array;
 import com.kotcrab.vis.editor.App;
 import com.kotcrab.vis.editor.event.RedoEvent;
 import com.kotcrab.vis.editor.event.UndoEvent;
 import com.kotcrab.vis.editor.module.editor.InputModule;
+import com.kotcrab.vis.editor.module.editor.AppFileAccessModule;
 import com.kotcrab.vis.editor.module.editor.MenuBarModule;
 import com.kotcrab.vis.editor.module.editor.StatusBarModule;
+import com.kotcrab.vis.editor.module.editor.UndoSettingsModule;
+import com.kotcrab.vis.editor.module.scene.system.EntityProxySpatialIndex;
 import com.kotcrab.vis.editor.util.scene2d.ModalInputListener;
+import com.kotcrab.vis.editor.util.undo.UndoHistory;
+import com.kotcrab.vis.editor.util.undo.UndoSpillStorage;
 import com.kotcrab.vis.editor.util.undo.UndoableAction;
 
+import java.util.UUID;
+
 /**
- * Manages undoable actions and provides ctrl+z + ctrl+y key shortcuts.
+ * Manages undoable actions and provides ctrl+z + ctrl+y key shortcuts. Undo history is limited by entries count and
+ * memory budget configured in {@link UndoSettingsModule}, when budget is exceeded old entries are moved to disk or removed.
  * @author Kotcrab
  */
 public class UndoModule extends SceneModule {
+	private AppFileAccessModule appFileAccess;
+	private UndoSettingsModule undoSettings;
 	private MenuBarModule menuBar;
 	private StatusBarModule statusBar;
 
-	private Array<UndoableAction> undoList;
-	private Array<UndoableAction> redoList;
+	private EntityProxySpatialIndex spatialIndex;
+
+	private UndoHistory history;
 
 	private boolean tabActive;
 
 	@Override
 	public void added () {
-		undoList = new Array<>();
-		redoList = new Array<>();
-
 		InputModule input = container.get(InputModule.class);
 		input.addListener(new UndoInputListener());
 	}
 
+	@Override
+	public void init () {
+		history = new UndoHistory(new UndoSpillStorage(appFileAccess.getCacheFolder().child("undo").child(UUID.randomUUID().toString())));
+	}
+
 	public void undo () {
-		if (undoList.size > 0) {
-			UndoableAction action = undoList.pop();
-			action.undo();
-			redoList.add(action);
+		updateHistoryLimits();
+		if (history.undo() != null) {
+			spatialIndex.invalidateAll();
 			App.eventBus.post(new UndoEvent(sceneContainer));
 		} else
 			statusBar.setText("Can't undo more!");
@@ -64,10 +75,9 @@ public class UndoModule extends SceneModule {
 	}
 
 	public void redo () {
-		if (redoList.size > 0) {
-			UndoableAction action = redoList.pop();
-			action.execute();
-			undoList.add(action);
+		updateHistoryLimits();
+		if (history.redo() != null) {
+			spatialIndex.invalidateAll();
 			App.eventBus.post(new RedoEvent(sceneContainer));
 		} else
 			statusBar.setText("Can't redo more!");
@@ -79,21 +89,37 @@ public class UndoModule extends SceneModule {
 	}
 
 	public void add (UndoableAction action) {
-		undoList.add(action);
-		redoList.clear();
+		updateHistoryLimits();
+		history.add(action);
 		sceneTab.dirty();
 		menuBar.updateUndoButtonText();
 	}
 
+	private void updateHistoryLimits () {
+		history.setLimits(undoSettings.getMaxEntries(), undoSettings.getMemoryBudget(), undoSettings.isSpillToDisk());
+	}
+
+	/** @return estimated amount of heap memory in bytes used by undo history of this scene */
+	public long getMemoryUsage () {
+		return history.getMemoryUsage();
+	}
+
+	/** @return amount of disk space in bytes used by undo history entries that were moved to disk */
+	public long getSpilledSize () {
+		return history.getSpilledSize();
+	}
+
 	public int getUndoSize () {
-		return undoList.size;
+		return history.getUndoSize();
 	}
 
 	public String getNextUndoActionName () {
-		if (undoList.size == 0)
-			return null;
+		return history.getNextUndoActionName();
+	}
 
-		return undoList.peek().getActionName();
+	@Override
+	public void dispose () {
+		history.dispose();
 	}
 
 	@Override
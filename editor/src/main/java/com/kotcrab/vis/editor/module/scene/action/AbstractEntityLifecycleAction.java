@@ -17,36 +17,57 @@
 package com.kotcrab.vis.editor.module.scene.action;
 
 import com.artemis.Entity;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ObjectSet;
+import com.google.gson.Gson;
+import com.kotcrab.vis.editor.Log;
 import com.kotcrab.vis.editor.entity.EntityScheme;
 import com.kotcrab.vis.editor.entity.EntityScheme.UUIDPolicy;
 import com.kotcrab.vis.editor.module.editor.ClonerModule;
-import com.kotcrab.vis.editor.module.project.SceneIOModule;
+import com.kotcrab.vis.editor.module.editor.GsonModule;
 import com.kotcrab.vis.editor.module.scene.SceneModuleContainer;
 import com.kotcrab.vis.editor.module.scene.entitymanipulator.EntityManipulatorModule;
 import com.kotcrab.vis.editor.module.scene.system.VisUUIDManager;
+import com.kotcrab.vis.editor.util.undo.UndoSpillStorage;
 import com.kotcrab.vis.editor.util.undo.UndoableAction;
+import com.kotcrab.vis.editor.util.vis.EditorRuntimeException;
 import com.kotcrab.vis.runtime.util.EntityEngine;
 
-/** @author Kotcrab */
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Base class for actions that add or remove entities from engine. Stores deep cloned schemes of entities, when undo
+ * history exceeds its memory budget schemes are serialized to spill file and loaded back when they are needed.
+ * @author Kotcrab
+ */
 public abstract class AbstractEntityLifecycleAction implements UndoableAction {
 	private final SceneModuleContainer sceneMC;
 	private EntityManipulatorModule entityManipulator;
-	private SceneIOModule sceneIO;
 	private ClonerModule cloner;
+	private GsonModule gsonModule;
 
 	private EntityEngine engine;
 	private VisUUIDManager uuidManager;
 
+	/** Schemes of entities, null if they were spilled to disk and weren't loaded back yet */
 	private Array<EntityScheme> schemes = new Array<>();
+	private Array<UUID> schemesUUIDs = new Array<>();
+	private long schemesMemoryUsage;
+
+	private UndoSpillStorage spillStorage;
+	private FileHandle spillFile;
 
 	public AbstractEntityLifecycleAction (SceneModuleContainer sceneMC, EntityEngine engine, Entity entity) {
 		this.sceneMC = sceneMC;
 		this.engine = engine;
 		sceneMC.injectModules(this);
 
-		schemes.add(EntityScheme.clonedOf(entity, cloner.getCloner()));
+		addScheme(EntityScheme.clonedOf(entity, cloner.getCloner()));
 	}
 
 	public AbstractEntityLifecycleAction (SceneModuleContainer sceneMC, EntityEngine engine, ObjectSet<Entity> newEntities) {
@@ -54,11 +75,17 @@ public abstract class AbstractEntityLifecycleAction implements UndoableAction {
 		this.engine = engine;
 		sceneMC.injectModules(this);
 
-		newEntities.forEach(entity -> schemes.add(EntityScheme.clonedOf(entity, cloner.getCloner())));
+		newEntities.forEach(entity -> addScheme(EntityScheme.clonedOf(entity, cloner.getCloner())));
+	}
+
+	private void addScheme (EntityScheme scheme) {
+		schemes.add(scheme);
+		schemesUUIDs.add(scheme.getSchemeUUID());
+		schemesMemoryUsage += BASE_MEMORY_USAGE + scheme.getComponents().size * ESTIMATED_COMPONENT_SIZE;
 	}
 
 	protected void removeEntitiesFromEngine () {
-		schemes.forEach(scheme -> uuidManager.get(scheme.getSchemeUUID()).deleteFromWorld());
+		schemesUUIDs.forEach(uuid -> uuidManager.get(uuid).deleteFromWorld());
 
 		sceneMC.updateEntitiesStates();
 
@@ -69,7 +96,7 @@ public abstract class AbstractEntityLifecycleAction implements UndoableAction {
 	protected void addEntitiesFromStoredSchemes () {
 		Array<Entity> entities = new Array<>();
 
-		schemes.forEach(scheme -> {
+		getSchemes().forEach(scheme -> {
 			entities.add(scheme.build(engine, cloner.getCloner(), UUIDPolicy.PRESERVE)); //build will also add to entity engine
 		});
 
@@ -83,6 +110,57 @@ public abstract class AbstractEntityLifecycleAction implements UndoableAction {
 	}
 
 	protected int getSchemesCount () {
-		return schemes.size;
+		return schemesUUIDs.size;
+	}
+
+	private Array<EntityScheme> getSchemes () {
+		if (schemes == null) {
+			try (Reader reader = new InputStreamReader(new GZIPInputStream(spillFile.read()), StandardCharsets.UTF_8)) {
+				schemes = gsonModule.getCommonGson().fromJson(reader, Array.class);
+			} catch (IOException e) {
+				throw new EditorRuntimeException("Failed to load undo history entry", e);
+			}
+		}
+
+		return schemes;
+	}
+
+	@Override
+	public long getMemoryUsage () {
+		long usage = BASE_MEMORY_USAGE + schemesUUIDs.size * BASE_MEMORY_USAGE;
+		if (schemes != null) usage += schemesMemoryUsage;
+		return usage;
+	}
+
+	@Override
+	public long spill (UndoSpillStorage storage) {
+		if (schemes == null) return 0;
+
+		if (spillFile == null) { //schemes are never modified so file written earlier is still valid
+			FileHandle file = storage.newFile();
+			Gson gson = gsonModule.getCommonGson();
+			try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(file.write(false)), StandardCharsets.UTF_8)) {
+				gson.toJson(schemes, Array.class, writer);
+			} catch (IOException e) {
+				Log.exception(e);
+				file.delete();
+				return 0;
+			}
+
+			spillStorage = storage;
+			spillFile = file;
+			storage.fileWritten(file);
+		}
+
+		schemes = null;
+		return schemesMemoryUsage;
+	}
+
+	@Override
+	public void dispose () {
+		if (spillFile != null) {
+			spillStorage.deleteFile(spillFile);
+			spillFile = null;
+		}
 	}
 }
@@ -44,14 +44,12 @@ public class ChangeEntitiesLayerAction extends UndoableActionGroup {
 	@Override
 	public void execute () {
 		super.execute();
-		renderBatchingSystem.markDirty();
 		entityManipulator.hardSelectionReset();
 	}
 
 	@Override
 	public void undo () {
 		super.undo();
-		renderBatchingSystem.markDirty();
 		entityManipulator.hardSelectionReset();
 	}
 
@@ -68,14 +66,14 @@ public class ChangeEntitiesLayerAction extends UndoableActionGroup {
 		public void execute () {
 			proxy.reload();
 			proxy.setLayerId(targetLayerId);
-
+			renderBatchingSystem.markDirty(proxy.getEntity().getId());
 		}
 
 		@Override
 		public void undo () {
 			proxy.reload();
 			proxy.setLayerId(sourceLayer);
-
+			renderBatchingSystem.markDirty(proxy.getEntity().getId());
 		}
 
 		@Override
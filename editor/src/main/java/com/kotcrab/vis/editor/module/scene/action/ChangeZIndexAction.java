@@ -43,7 +43,7 @@ public class ChangeZIndexAction implements UndoableAction {
 	public void execute () {
 		proxy.reload();
 		proxy.setZIndex(targetZIndex);
-		renderBatchingSystem.markDirty();
+		renderBatchingSystem.markDirty(proxy.getEntity().getId());
 		entityManipulator.selectedEntitiesValuesChanged();
 	}
 
@@ -51,7 +51,7 @@ public class ChangeZIndexAction implements UndoableAction {
 	public void undo () {
 		proxy.reload();
 		proxy.setZIndex(sourceZIndex);
-		renderBatchingSystem.markDirty();
+		renderBatchingSystem.markDirty(proxy.getEntity().getId());
 		entityManipulator.selectedEntitiesValuesChanged();
 	}
 
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.editor.module.scene.action;
+
+import com.kotcrab.vis.editor.module.scene.entitymanipulator.EntityManipulatorModule;
+import com.kotcrab.vis.editor.proxy.EntityProxy;
+import com.kotcrab.vis.editor.util.undo.UndoableAction;
+import com.kotcrab.vis.runtime.util.ImmutableArray;
+
+/**
+ * Allows to undo position, rotation and scale change of many entities at once. Transforms are stored in primitive
+ * arrays, old transform is saved when action is created and new one must be saved by calling {@link #saveNewData()}
+ * after entities were modified.
+ * <p>
+ * Nudge actions (eg. moving entities using arrow keys) are merged with previous nudge action of same entities, so
+ * series of small moves creates single undo history entry.
+ * @author Kotcrab
+ */
+public class TransformEntitiesAction implements UndoableAction {
+	private static final int STRIDE = 5;
+	private static final int X = 0;
+	private static final int Y = 1;
+	private static final int ROTATION = 2;
+	private static final int SCALE_X = 3;
+	private static final int SCALE_Y = 4;
+
+	private final EntityManipulatorModule entityManipulator;
+	private final EntityProxy[] proxies;
+
+	private final float[] oldData;
+	private float[] newData;
+
+	private final String singularActionName;
+	private final String pluralActionName;
+	private boolean nudge;
+
+	public TransformEntitiesAction (EntityManipulatorModule entityManipulator, ImmutableArray<EntityProxy> proxies,
+									String singularActionName, String pluralActionName) {
+		this.entityManipulator = entityManipulator;
+		this.singularActionName = singularActionName;
+		this.pluralActionName = pluralActionName;
+
+		this.proxies = new EntityProxy[proxies.size()];
+		for (int i = 0; i < proxies.size(); i++) {
+			this.proxies[i] = proxies.get(i);
+		}
+
+		oldData = new float[this.proxies.length * STRIDE];
+		newData = new float[this.proxies.length * STRIDE];
+		saveTo(oldData);
+	}
+
+	/** Creates action that will be merged with previous nudge action if it was done on same entities. */
+	public static TransformEntitiesAction nudge (EntityManipulatorModule entityManipulator, ImmutableArray<EntityProxy> proxies) {
+		TransformEntitiesAction action = new TransformEntitiesAction(entityManipulator, proxies, "Move Entity", "Move Entities");
+		action.nudge = true;
+		return action;
+	}
+
+	public void saveNewData () {
+		saveTo(newData);
+	}
+
+	private void saveTo (float[] data) {
+		for (int i = 0; i < proxies.length; i++) {
+			EntityProxy proxy = proxies[i];
+			int index = i * STRIDE;
+			data[index + X] = proxy.getX();
+			data[index + Y] = proxy.getY();
+			data[index + ROTATION] = proxy.getRotation();
+			data[index + SCALE_X] = proxy.getScaleX();
+			data[index + SCALE_Y] = proxy.getScaleY();
+		}
+	}
+
+	private void loadFrom (float[] data) {
+		for (int i = 0; i < proxies.length; i++) {
+			EntityProxy proxy = proxies[i];
+			int index = i * STRIDE;
+			proxy.reload();
+			proxy.setPosition(data[index + X], data[index + Y]);
+			proxy.setRotation(data[index + ROTATION]);
+			proxy.setScale(data[index + SCALE_X], data[index + SCALE_Y]);
+		}
+
+		entityManipulator.markSceneDirty();
+	}
+
+	@Override
+	public void execute () {
+		loadFrom(newData);
+	}
+
+	@Override
+	public void undo () {
+		loadFrom(oldData);
+	}
+
+	@Override
+	public boolean merge (UndoableAction next) {
+		if (nudge == false || next instanceof TransformEntitiesAction == false) return false;
+
+		TransformEntitiesAction other = (TransformEntitiesAction) next;
+		if (other.nudge == false || other.proxies.length != proxies.length) return false;
+
+		for (int i = 0; i < proxies.length; i++) {
+			if (proxies[i] != other.proxies[i]) return false;
+		}
+
+		//next action must start exactly where this one ended, otherwise something else modified entities in between
+		for (int i = 0; i < newData.length; i++) {
+			if (newData[i] != other.oldData[i]) return false;
+		}
+
+		newData = other.newData;
+		return true;
+	}
+
+	@Override
+	public long getMemoryUsage () {
+		return BASE_MEMORY_USAGE + proxies.length * (4 + STRIDE * 4 * 2);
+	}
+
+	@Override
+	public String getActionName () {
+		return proxies.length == 1 ? singularActionName : pluralActionName;
+	}
+}
@@ -21,10 +21,9 @@ import com.badlogic.gdx.utils.Align;
 import com.kotcrab.vis.editor.Icons;
 import com.kotcrab.vis.editor.module.ModuleInjector;
 import com.kotcrab.vis.editor.module.scene.UndoModule;
-import com.kotcrab.vis.editor.module.scene.action.TransformEntityAction;
+import com.kotcrab.vis.editor.module.scene.action.TransformEntitiesAction;
 import com.kotcrab.vis.editor.proxy.EntityProxy;
 import com.kotcrab.vis.editor.util.scene2d.VisChangeListener;
-import com.kotcrab.vis.editor.util.undo.UndoableActionGroup;
 import com.kotcrab.vis.runtime.util.ImmutableArray;
 import com.kotcrab.vis.ui.VisUI;
 import com.kotcrab.vis.ui.util.TableUtils;
@@ -92,7 +91,7 @@ public class AlignmentToolsDialog extends VisTable {
 		ImmutableArray<EntityProxy> selectedEntities = entityManipulator.getSelectedEntities();
 		if (selectedEntities.size() == 0) return;
 
-		UndoableActionGroup undoableGroup = new UndoableActionGroup("Change Alignment");
+		TransformEntitiesAction action = new TransformEntitiesAction(entityManipulator, selectedEntities, "Change Alignment", "Change Alignment");
 
 		if (align == Align.left || align == Align.right) {
 			float targetX = selectedEntities.get(0).getX();
@@ -108,10 +107,7 @@ public class AlignmentToolsDialog extends VisTable {
 			}
 
 			for (EntityProxy proxy : selectedEntities) {
-				TransformEntityAction action = new TransformEntityAction(proxy);
 				proxy.setX(targetX);
-				action.saveNewData(proxy);
-				undoableGroup.add(action);
 			}
 		}
 
@@ -129,22 +125,19 @@ public class AlignmentToolsDialog extends VisTable {
 			}
 
 			for (EntityProxy proxy : selectedEntities) {
-				TransformEntityAction action = new TransformEntityAction(proxy);
 				proxy.setY(targetY);
-				action.saveNewData(proxy);
-				undoableGroup.add(action);
 			}
 		}
 
-		undoableGroup.finalizeGroup();
-		undoModule.add(undoableGroup);
+		action.saveNewData();
+		undoModule.add(action);
 	}
 
 	private void alignSelectedCenter (boolean yAlign) {
 		ImmutableArray<EntityProxy> selectedEntities = entityManipulator.getSelectedEntities();
 		if (selectedEntities.size() == 0) return;
 
-		UndoableActionGroup undoableGroup = new UndoableActionGroup("Change Alignment");
+		TransformEntitiesAction action = new TransformEntitiesAction(entityManipulator, selectedEntities, "Change Alignment", "Change Alignment");
 
 		float targetPos = 0;
 
@@ -158,19 +151,14 @@ public class AlignmentToolsDialog extends VisTable {
 		targetPos /= selectedEntities.size();
 
 		for (EntityProxy proxy : selectedEntities) {
-			TransformEntityAction action = new TransformEntityAction(proxy);
-
 			if (yAlign == true)
 				proxy.setX(targetPos);
 			else
 				proxy.setY(targetPos);
-
-			action.saveNewData(proxy);
-			undoableGroup.add(action);
 		}
 
-		undoableGroup.finalizeGroup();
-		undoModule.add(undoableGroup);
+		action.saveNewData();
+		undoModule.add(action);
 	}
 
 	@Override
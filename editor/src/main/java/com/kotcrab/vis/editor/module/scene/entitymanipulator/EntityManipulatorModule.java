@@ -54,6 +54,7 @@ import com.kotcrab.vis.editor.module.scene.action.*;
 import com.kotcrab.vis.editor.module.scene.entitymanipulator.tool.*;
 import com.kotcrab.vis.editor.module.scene.system.EntitiesCollector;
 import com.kotcrab.vis.editor.module.scene.system.EntityProxyCache;
+import com.kotcrab.vis.editor.module.scene.system.EntityProxySpatialIndex;
 import com.kotcrab.vis.editor.module.scene.system.GroupIdProviderSystem;
 import com.kotcrab.vis.editor.module.scene.system.ZIndexManipulator;
 import com.kotcrab.vis.editor.module.scene.system.render.GridRendererSystem.GridSettingsModule;
@@ -121,6 +122,9 @@ public class EntityManipulatorModule extends SceneModule {
 	private EntityComposer entityComposer;
 
 	private EntityProxyCache entityProxyCache;
+	private EntityProxySpatialIndex spatialIndex;
+	/** Set when selected entities were modified, their bounds are invalidated in {@link #render(Batch)} */
+	private boolean selectionBoundsInvalidated;
 	private ZIndexManipulator zIndexManipulator;
 	private EntitiesCollector entitiesCollector;
 	private GroupIdProviderSystem groupIdProvider;
@@ -150,7 +154,7 @@ public class EntityManipulatorModule extends SceneModule {
 	private PopupMenu entityPopupMenu;
 
 	private RepeatableTimedMove entityMoveTimerTask;
-	private MoveEntitiesAction keyMoveAction;
+	private TransformEntitiesAction keyMoveAction;
 
 	private VisTable toolPropertiesContainer;
 
@@ -181,7 +185,7 @@ public class EntityManipulatorModule extends SceneModule {
 		entityMoveTimerTask = new RepeatableTimedMove(stage, scene.pixelsPerUnit,
 				() -> scene.getActiveLayer().locked,
 				(deltaX, deltaY) -> {
-					if (keyMoveAction == null) keyMoveAction = new MoveEntitiesAction(this);
+					if (keyMoveAction == null) keyMoveAction = TransformEntitiesAction.nudge(this, getSelectedEntities());
 					for (EntityProxy entity : getSelectedEntities()) {
 						entity.setPosition(entity.getX() + deltaX, entity.getY() + deltaY);
 					}
@@ -790,11 +794,21 @@ public class EntityManipulatorModule extends SceneModule {
 	}
 
 	public void markSceneDirty () {
+		//modified entities may have changed their bounds without marking transform dirty (eg. after resize), selection
+		//is invalidated once per frame instead of on every modification, eg. on every drag event
+		selectionBoundsInvalidated = true;
 		sceneTab.dirty();
 	}
 
 	@Override
 	public void render (Batch batch) {
+		if (selectionBoundsInvalidated) {
+			selectionBoundsInvalidated = false;
+			for (EntityProxy proxy : entitiesSelection.getSelection()) {
+				spatialIndex.invalidate(proxy.getEntity().getId());
+			}
+		}
+
 		batch.end();
 		shapeRenderer.setProjectionMatrix(camera.getCombinedMatrix());
 
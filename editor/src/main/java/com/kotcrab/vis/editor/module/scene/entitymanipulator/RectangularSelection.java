@@ -24,7 +24,9 @@ import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.kotcrab.vis.editor.module.scene.system.EntityProxyCache;
+import com.kotcrab.vis.editor.module.scene.system.EntityProxySpatialIndex;
 import com.kotcrab.vis.editor.proxy.EntityProxy;
 import com.kotcrab.vis.editor.scene.EditorScene;
 
@@ -42,15 +44,18 @@ public class RectangularSelection {
 	private EntityManipulatorModule entityManipulatorModule;
 
 	private EntityProxyCache proxyCache;
+	private EntityProxySpatialIndex spatialIndex;
+	private IntArray queryResult = new IntArray();
 	private Rectangle currentRect = null;
 	private Rectangle rectToDraw = null;
 	private float touchDownPositionX;
 	private SelectionMode selectionMode = SelectionMode.Inner;
 
-	public RectangularSelection (EditorScene scene, EntityManipulatorModule entityManipulatorModule, EntityProxyCache proxyCache) {
+	public RectangularSelection (EditorScene scene, EntityManipulatorModule entityManipulatorModule, EntityProxyCache proxyCache, EntityProxySpatialIndex spatialIndex) {
 		this.scene = scene;
 		this.entityManipulatorModule = entityManipulatorModule;
 		this.proxyCache = proxyCache;
+		this.spatialIndex = spatialIndex;
 	}
 
 	public void render (ShapeRenderer shapeRenderer) {
@@ -75,15 +80,16 @@ public class RectangularSelection {
 	public void findContainedComponents () {
 		Array<EntityProxy> matchingEntities = new Array<>();
 
-		if (selectionMode == SelectionMode.Inner) {
-			for (EntityProxy entity : proxyCache.getCache().values()) {
-				if (rectToDraw.contains(entity.getBoundingRectangle()) && entity.getLayerID() == scene.getActiveLayerId())
-					matchingEntities.add(entity);
-			}
-		} else {
-			for (EntityProxy entity : proxyCache.getCache().values()) {
-				if (rectToDraw.overlaps(entity.getBoundingRectangle()) && entity.getLayerID() == scene.getActiveLayerId())
-					matchingEntities.add(entity);
+		//both modes only need entities overlapping selection, index returns candidates which are checked using current bounds
+		spatialIndex.query(rectToDraw, queryResult);
+		for (int i = 0; i < queryResult.size; i++) {
+			EntityProxy entity = proxyCache.get(queryResult.get(i));
+			if (entity.getLayerID() != scene.getActiveLayerId()) continue;
+
+			if (selectionMode == SelectionMode.Inner) {
+				if (rectToDraw.contains(entity.getBoundingRectangle())) matchingEntities.add(entity);
+			} else {
+				if (rectToDraw.overlaps(entity.getBoundingRectangle())) matchingEntities.add(entity);
 			}
 		}
 
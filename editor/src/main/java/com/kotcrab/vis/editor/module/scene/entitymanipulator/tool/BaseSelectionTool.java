@@ -22,7 +22,9 @@ import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.utils.UIUtils;
+import com.badlogic.gdx.utils.IntArray;
 import com.kotcrab.vis.editor.module.scene.entitymanipulator.RectangularSelection;
+import com.kotcrab.vis.editor.module.scene.system.EntityProxySpatialIndex;
 import com.kotcrab.vis.editor.proxy.EntityProxy;
 
 /**
@@ -40,12 +42,15 @@ public abstract class BaseSelectionTool extends Tool {
 	protected boolean dragging;
 	protected boolean dragged;
 
+	private EntityProxySpatialIndex spatialIndex;
+	private IntArray queryResult = new IntArray();
+
 	private RectangularSelection rectangularSelection;
 	protected boolean rectSelectionTouchDraggedResult;
 
 	@Override
 	public void init () {
-		rectangularSelection = new RectangularSelection(scene, entityManipulator, entityProxyCache);
+		rectangularSelection = new RectangularSelection(scene, entityManipulator, entityProxyCache, spatialIndex);
 	}
 
 	@Override
@@ -148,7 +153,9 @@ public abstract class BaseSelectionTool extends Tool {
 		EntityProxy matchingEntity = null;
 		float lastSurfaceArea = Float.MAX_VALUE;
 
-		for (EntityProxy entity : entityProxyCache.getCache().values()) {
+		spatialIndex.queryPoint(x, y, queryResult);
+		for (int i = 0; i < queryResult.size; i++) {
+			EntityProxy entity = entityProxyCache.get(queryResult.get(i));
 			Rectangle entityBoundingRectangle = entity.getBoundingRectangle();
 			if (entityBoundingRectangle.contains(x, y)) {
 
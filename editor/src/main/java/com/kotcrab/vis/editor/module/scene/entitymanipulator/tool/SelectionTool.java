@@ -23,10 +23,9 @@ import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.utils.Array;
 import com.kotcrab.vis.editor.App;
 import com.kotcrab.vis.editor.module.editor.EditingSettingsModule;
-import com.kotcrab.vis.editor.module.scene.action.TransformEntityAction;
+import com.kotcrab.vis.editor.module.scene.action.TransformEntitiesAction;
 import com.kotcrab.vis.editor.module.scene.system.render.GridRendererSystem.GridSettingsModule;
 import com.kotcrab.vis.editor.proxy.EntityProxy;
-import com.kotcrab.vis.editor.util.undo.UndoableActionGroup;
 import com.kotcrab.vis.runtime.util.ImmutableArray;
 
 /** @author Kotcrab */
@@ -37,7 +36,7 @@ public class SelectionTool extends BaseSelectionTool {
 	private GridSettingsModule gridSettings;
 
 	protected Array<EntityTransform> startingEntityProps = new Array<>();
-	protected Array<TransformEntityAction> moveActions = new Array<>();
+	protected TransformEntitiesAction transformAction;
 
 	@Override
 	public boolean touchDown (InputEvent event, float x, float y, int pointer, int button) {
@@ -54,11 +53,8 @@ public class SelectionTool extends BaseSelectionTool {
 			x = camera.getInputX();
 			y = camera.getInputY();
 
-			if (dragged == false) {
-				moveActions.clear();
-				for (EntityProxy proxy : entityManipulator.getSelectedEntities())
-					moveActions.add(new TransformEntityAction(proxy));
-			}
+			if (dragged == false)
+				transformAction = new TransformEntitiesAction(entityManipulator, entityManipulator.getSelectedEntities(), "Move Entity", "Move Entities");
 
 			if (rectSelectionTouchDraggedResult == false) {
 
@@ -114,17 +110,9 @@ public class SelectionTool extends BaseSelectionTool {
 	@Override
 	public void touchUp (InputEvent event, float x, float y, int pointer, int button) {
 		if (dragged) {
-			for (int i = 0; i < entityManipulator.getSelectedEntities().size(); i++)
-				moveActions.get(i).saveNewData(entityManipulator.getSelectedEntities().get(i));
-
-			UndoableActionGroup group = new UndoableActionGroup("Move Entity", "Move Entities");
-
-			for (TransformEntityAction action : moveActions)
-				group.add(action);
-
-			group.finalizeGroup();
-
-			undoModule.add(group);
+			transformAction.saveNewData();
+			undoModule.add(transformAction);
+			transformAction = null;
 		}
 
 		super.touchUp(event, x, y, pointer, button);
@@ -21,7 +21,7 @@ import com.artemis.EntitySubscription.SubscriptionListener;
 import com.artemis.utils.Bag;
 import com.artemis.utils.IntBag;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.IntMap;
 import com.kotcrab.vis.editor.Log;
 import com.kotcrab.vis.editor.entity.EntityScheme;
 import com.kotcrab.vis.editor.module.project.ProjectExtensionStorageModule;
@@ -29,7 +29,13 @@ import com.kotcrab.vis.editor.plugin.api.EditorEntitySupport;
 import com.kotcrab.vis.editor.proxy.*;
 import com.kotcrab.vis.runtime.component.*;
 
-public class EntityProxyCache extends Manager {
+/**
+ * Stores {@link EntityProxy} of every renderable entity indexed by entity id. Proxies are created when entity is inserted
+ * and reused until entity is removed. Listeners are notified about cache changes at most once per frame, no matter
+ * how many entities were inserted or removed.
+ * @author Kotcrab
+ */
+public class EntityProxyCache extends BaseSystem {
 	private static final String TAG = "EntityProxyCache";
 
 	private ProjectExtensionStorageModule projectExtensionStorage;
@@ -37,7 +43,8 @@ public class EntityProxyCache extends Manager {
 	private AspectSubscriptionManager subscriptionManager;
 
 	private Array<EntityProxyCacheListener> listeners = new Array<>();
-	private ObjectMap<Entity, EntityProxy> cache = new ObjectMap<>();
+	private IntMap<EntityProxy> cache = new IntMap<>();
+	private boolean cacheChanged;
 	private float pixelsPerUnit;
 
 	public EntityProxyCache (float pixelsPerUnit) {
@@ -51,30 +58,40 @@ public class EntityProxyCache extends Manager {
 		subscription.addSubscriptionListener(new SubscriptionListener() {
 			@Override
 			public void inserted (IntBag entities) {
-				ObjectMap<Entity, EntityProxy> tmpCache = new ObjectMap<>();
+				cache.ensureCapacity(entities.size());
 
 				int[] data = entities.getData();
 				for (int i = 0; i < entities.size(); i++) {
 					int entityId = data[i];
-					Entity entity = world.getEntity(entityId);
-					tmpCache.put(entity, getProxy(entity));
+					if (cache.containsKey(entityId) == false) //proxy could be already created by #get
+						cache.put(entityId, getProxy(world.getEntity(entityId)));
 				}
 
-				cache.putAll(tmpCache);
-				listeners.forEach(EntityProxyCacheListener::cacheChanged);
+				cacheChanged = true;
 			}
 
 			@Override
 			public void removed (IntBag entities) {
 				int[] data = entities.getData();
 				for (int i = 0; i < entities.size(); i++) {
-					cache.remove(world.getEntity(data[i]));
+					cache.remove(data[i]);
 				}
-				listeners.forEach(EntityProxyCacheListener::cacheChanged);
+
+				cacheChanged = true;
 			}
 		});
 	}
 
+	@Override
+	protected void processSystem () {
+		if (cacheChanged == false) return;
+		cacheChanged = false;
+
+		for (int i = 0; i < listeners.size; i++) {
+			listeners.get(i).cacheChanged();
+		}
+	}
+
 	private EntityProxy getProxy (Entity entity) {
 		EntityProxy proxy = getInternalProxyFor(entity);
 
@@ -118,27 +135,30 @@ public class EntityProxyCache extends Manager {
 	}
 
 	public EntityProxy get (int entityId) {
-		return get(world.getEntity(entityId));
-	}
-
-	public EntityProxy get (Entity entity) {
-		EntityProxy proxy = cache.get(entity);
+		EntityProxy proxy = cache.get(entityId);
 
 		if (proxy == null) {
-			proxy = getProxy(entity);
-			cache.put(entity, proxy);
+			proxy = getProxy(world.getEntity(entityId));
+			cache.put(entityId, proxy);
 		}
 
 		return proxy;
 	}
 
+	public EntityProxy get (Entity entity) {
+		return get(entity.getId());
+	}
+
 	public Array<EntityScheme> getEntitySchemes () {
 		Array<EntityScheme> schemes = new Array<>(cache.size);
-		cache.values().forEach(proxy -> schemes.add(proxy.getScheme()));
+		for (EntityProxy proxy : cache.values()) {
+			schemes.add(proxy.getScheme());
+		}
 		return schemes;
 	}
 
-	public ObjectMap<Entity, EntityProxy> getCache () {
+	/** @return cache of entities proxies indexed by entity id, must not be modified */
+	public IntMap<EntityProxy> getCache () {
 		return cache;
 	}
 
@@ -151,6 +171,7 @@ public class EntityProxyCache extends Manager {
 	}
 
 	public interface EntityProxyCacheListener {
+		/** Called once per frame if any entities were inserted or removed from cache during that frame. */
 		void cacheChanged ();
 	}
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.editor.module.scene.system;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.systems.IteratingSystem;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Bits;
+import com.badlogic.gdx.utils.IntArray;
+import com.kotcrab.vis.runtime.component.*;
+import com.kotcrab.vis.runtime.util.UniformGrid;
+
+/**
+ * {@link UniformGrid} index of {@link EntityProxyCache} proxies bounds, used by selection tools to find entities at given point
+ * or in given region without iterating over all scene entities. Entity is reindexed when it was inserted, when its
+ * {@link Transform} or {@link Origin} is dirty, when text bounds has changed or when it was explicitly invalidated.
+ * <p>
+ * Indexed bounds may be slightly outdated when entity was changed in current frame, returned ids are only candidates
+ * and callers must check them against current proxy bounds.
+ * @author Kotcrab
+ */
+public class EntityProxySpatialIndex extends IteratingSystem {
+	private EntityProxyCache proxyCache;
+
+	private ComponentMapper<Transform> transformCm;
+	private ComponentMapper<Origin> originCm;
+	private ComponentMapper<VisText> textCm;
+
+	private final UniformGrid grid;
+	private final Bits invalidated = new Bits();
+	private boolean allInvalidated;
+
+	/** @param cellSize size of single grid cell in world units */
+	public EntityProxySpatialIndex (float cellSize) {
+		super(Aspect.all(Layer.class, Renderable.class));
+		grid = new UniformGrid(cellSize);
+	}
+
+	@Override
+	protected void inserted (int entityId) {
+		invalidated.set(entityId);
+	}
+
+	@Override
+	protected void removed (int entityId) {
+		invalidated.clear(entityId);
+		grid.remove(entityId);
+	}
+
+	@Override
+	protected void begin () {
+		if (allInvalidated) {
+			allInvalidated = false;
+			for (int i = 0, size = getEntityIds().size(); i < size; i++) {
+				invalidated.set(getEntityIds().get(i));
+			}
+		}
+	}
+
+	@Override
+	protected void process (int entityId) {
+		if (invalidated.getAndClear(entityId) || grid.contains(entityId) == false) {
+			update(entityId);
+			return;
+		}
+
+		Transform transform = transformCm.get(entityId);
+		Origin origin = originCm.get(entityId);
+		if ((transform != null && transform.isDirty()) || (origin != null && origin.isDirty())) {
+			update(entityId);
+			return;
+		}
+
+		// text bounds are updated by render system and may change without transform change, eg. after setting new text
+		VisText text = textCm.get(entityId);
+		if (text != null && grid.hasBounds(entityId, text.getBoundingRectangle()) == false) {
+			update(entityId);
+		}
+	}
+
+	/** Forces entity to be reindexed during next update, must be called when entity bounds changed without marking its components dirty. */
+	public void invalidate (int entityId) {
+		invalidated.set(entityId);
+	}
+
+	/** Forces all entities to be reindexed during next update. */
+	public void invalidateAll () {
+		allInvalidated = true;
+	}
+
+	private void update (int entityId) {
+		grid.update(entityId, proxyCache.get(entityId).getBoundingRectangle());
+	}
+
+	/**
+	 * Finds all entities which indexed bounds overlap given region.
+	 * @param result array that entities ids will be stored in, array is cleared before adding results
+	 * @return result array for chaining
+	 */
+	public IntArray query (Rectangle region, IntArray result) {
+		return grid.query(region.x, region.y, region.width, region.height, result);
+	}
+
+	/**
+	 * Finds all entities which indexed bounds contain given point.
+	 * @param result array that entities ids will be stored in, array is cleared before adding results
+	 * @return result array for chaining
+	 */
+	public IntArray queryPoint (float x, float y, IntArray result) {
+		return grid.queryPoint(x, y, result);
+	}
+}
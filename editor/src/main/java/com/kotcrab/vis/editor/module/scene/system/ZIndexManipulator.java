@@ -18,7 +18,7 @@ package com.kotcrab.vis.editor.module.scene.system;
 
 import com.artemis.Manager;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.ObjectMap.Values;
+import com.badlogic.gdx.utils.IntMap.Values;
 import com.kotcrab.vis.editor.module.scene.UndoModule;
 import com.kotcrab.vis.editor.module.scene.action.ChangeZIndexAction;
 import com.kotcrab.vis.editor.module.scene.entitymanipulator.EntityManipulatorModule;
@@ -37,6 +37,9 @@ public class DefaultExporterSettingsDialog extends VisWindow {
 	private final VisCheckBox skipDefaultCheck;
 	private final VisCheckBox minimalOutputCheck;
 	private final VisCheckBox packageSeparateAtlasForEachSceneCheck;
+	private final VisCheckBox binarySceneFormatCheck;
+	private final VisCheckBox skipUnchangedAssetsCheck;
+	private final VisCheckBox hardLinkAssetsCheck;
 	private final EnumSelectBox<Texture.TextureFilter> migFilterSelectBox;
 	private final EnumSelectBox<Texture.TextureFilter> magFilterSelectBox;
 
@@ -84,6 +87,29 @@ public class DefaultExporterSettingsDialog extends VisWindow {
 		add(packageSeparateAtlasForEachSceneCheck);
 		add(packageSeparateAtlasForEachSceneHelpImage).size(22).row();
 
+		binarySceneFormatCheck = new VisCheckBox("Use binary scene format");
+		VisImage binarySceneFormatHelpImage = new VisImage(Icons.QUESTION_BIG.drawable());
+		new Tooltip.Builder("If checked scenes will be exported using compact binary format instead of JSON.\n" +
+				"Binary scenes are smaller and load faster, they are loaded by SceneLoader the same way as JSON scenes.\n" +
+				"JSON related settings are ignored when this is checked.", Align.left).target(binarySceneFormatHelpImage).build();
+		add(binarySceneFormatCheck);
+		add(binarySceneFormatHelpImage).size(22).row();
+
+		skipUnchangedAssetsCheck = new VisCheckBox("Skip copying unchanged assets");
+		VisImage skipUnchangedAssetsHelpImage = new VisImage(Icons.QUESTION_BIG.drawable());
+		new Tooltip.Builder("If checked assets that weren't changed since previous export won't be copied again,\n" +
+				"instead of cleaning output directory only files that are no longer exported are removed from it.", Align.left).target(skipUnchangedAssetsHelpImage).build();
+		add(skipUnchangedAssetsCheck);
+		add(skipUnchangedAssetsHelpImage).size(22).row();
+
+		hardLinkAssetsCheck = new VisCheckBox("Use hard links for exported assets");
+		VisImage hardLinkAssetsHelpImage = new VisImage(Icons.QUESTION_BIG.drawable());
+		new Tooltip.Builder("If checked exported assets will be hard linked to project assets instead of being copied.\n" +
+				"Output directory must be on the same drive as project, otherwise files will be copied.\n" +
+				"Note that modifying hard linked file in output directory will modify project asset as well.", Align.left).target(hardLinkAssetsHelpImage).build();
+		add(hardLinkAssetsCheck);
+		add(hardLinkAssetsHelpImage).size(22).row();
+
 		migFilterSelectBox = new EnumSelectBox<>(Texture.TextureFilter.class, new DefaultEnumNameProvider<>());
 		magFilterSelectBox = new EnumSelectBox<>(Texture.TextureFilter.class, new DefaultEnumNameProvider<>());
 		add(TableBuilder.build(new VisLabel("Mig Texture Filter"), migFilterSelectBox)).row();
@@ -111,6 +137,9 @@ public class DefaultExporterSettingsDialog extends VisWindow {
 		skipDefaultCheck.setChecked(settings.skipDefaultValues);
 		minimalOutputCheck.setChecked(settings.useMinimalOutputType);
 		packageSeparateAtlasForEachSceneCheck.setChecked(settings.packageSeparateAtlasForEachScene);
+		binarySceneFormatCheck.setChecked(settings.binarySceneFormat);
+		skipUnchangedAssetsCheck.setChecked(settings.skipUnchangedAssets);
+		hardLinkAssetsCheck.setChecked(settings.hardLinkAssets);
 		migFilterSelectBox.setSelectedEnum(settings.migTextureFilter);
 		magFilterSelectBox.setSelectedEnum(settings.magTextureFilter);
 	}
@@ -119,6 +148,9 @@ public class DefaultExporterSettingsDialog extends VisWindow {
 		settings.skipDefaultValues = skipDefaultCheck.isChecked();
 		settings.useMinimalOutputType = minimalOutputCheck.isChecked();
 		settings.packageSeparateAtlasForEachScene = packageSeparateAtlasForEachSceneCheck.isChecked();
+		settings.binarySceneFormat = binarySceneFormatCheck.isChecked();
+		settings.skipUnchangedAssets = skipUnchangedAssetsCheck.isChecked();
+		settings.hardLinkAssets = hardLinkAssetsCheck.isChecked();
 		settings.migTextureFilter = migFilterSelectBox.getSelectedEnum();
 		settings.magTextureFilter = magFilterSelectBox.getSelectedEnum();
 		settingsIO.save(settings, DefaultExporter.SETTINGS_FILE_NAME);
@@ -24,7 +24,8 @@ import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.IntArray;
-import com.badlogic.gdx.utils.ObjectMap.Values;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.IntMap.Values;
 import com.kotcrab.vis.editor.module.scene.SceneModuleContainer;
 import com.kotcrab.vis.editor.module.scene.entitymanipulator.EntityManipulatorModule;
 import com.kotcrab.vis.editor.module.scene.entitymanipulator.GroupSelectionFragment;
@@ -130,17 +131,17 @@ public class SceneOutline extends VisTable implements EntityProxyCacheListener {
 		tree.clearChildren();
 
 		Values<EntityProxy> proxies = proxyCache.getCache().values();
-		Array<EntityProxy> ignoreProxies = new Array<>();
+		IntSet ignoreEntities = new IntSet();
 
 		for (EntityProxy proxy : proxies) {
-			if (ignoreProxies.contains(proxy, true)) {
+			if (ignoreEntities.contains(proxy.getEntity().getId())) {
 				continue;
 			}
 
 			int gid = proxy.getLastGroupId();
 			if (gid != -1) {
 				Array<EntityProxy> result = entitiesCollector.collect(proxy.getLayerID(), gid);
-				ignoreProxies.addAll(result);
+				addIgnoredEntities(ignoreEntities, result);
 				buildTreeRecursively(result, gid, null);
 			} else {
 				tree.add(new ProxyNode(proxy));
@@ -161,17 +162,17 @@ public class SceneOutline extends VisTable implements EntityProxyCacheListener {
 			groupRoot.setExpanded(true);
 		}
 
-		Array<EntityProxy> ignoreProxies = new Array<>();
+		IntSet ignoreEntities = new IntSet();
 
 		for (EntityProxy proxy : groupProxies) {
-			if (ignoreProxies.contains(proxy, true)) {
+			if (ignoreEntities.contains(proxy.getEntity().getId())) {
 				continue;
 			}
 
 			int gidBefore = proxy.getGroupIdBefore(gid);
 			if (gidBefore != -1) {
 				Array<EntityProxy> result = entitiesCollector.collect(proxy.getLayerID(), gidBefore);
-				ignoreProxies.addAll(result);
+				addIgnoredEntities(ignoreEntities, result);
 				buildTreeRecursively(result, gidBefore, groupRoot);
 				continue;
 			}
@@ -180,6 +181,12 @@ public class SceneOutline extends VisTable implements EntityProxyCacheListener {
 		}
 	}
 
+	private void addIgnoredEntities (IntSet ignoreEntities, Array<EntityProxy> proxies) {
+		for (EntityProxy proxy : proxies) {
+			ignoreEntities.add(proxy.getEntity().getId());
+		}
+	}
+
 	private void buildGroupNodeState (Array<Node> nodes) {
 		for (Node n : nodes) {
 
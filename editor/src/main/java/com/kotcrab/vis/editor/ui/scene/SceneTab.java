@@ -69,6 +69,7 @@ import com.kotcrab.vis.runtime.util.ImmutableArray;
 import com.kotcrab.vis.ui.util.dialog.Dialogs;
 import com.kotcrab.vis.ui.util.value.VisValue;
 import com.kotcrab.vis.ui.widget.VisTable;
+import org.apache.commons.io.FileUtils;
 
 import java.util.EnumSet;
 import java.util.Optional;
@@ -384,7 +385,9 @@ public class SceneTab extends MainContentTab implements DragAndDropTarget, Close
 	}
 
 	public String getInfoLabelText () {
-		return "Entities: " + entityCounter.getEntityCount() + " FPS: " + Gdx.graphics.getFramesPerSecond() + " Scene: " + scene.width + " x " + scene.height;
+		return "Entities: " + entityCounter.getEntityCount() + " FPS: " + Gdx.graphics.getFramesPerSecond() + " Scene: " + scene.width + " x " + scene.height
+				+ " Undo: " + FileUtils.byteCountToDisplaySize(undoModule.getMemoryUsage())
+				+ (undoModule.getSpilledSize() > 0 ? " (disk: " + FileUtils.byteCountToDisplaySize(undoModule.getSpilledSize()) + ")" : "");
 	}
 
 	public void centerAround (int entityId) {
@@ -31,7 +31,6 @@ import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.scenes.scene2d.utils.FocusListener;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Array.ArrayIterable;
-import com.badlogic.gdx.utils.ObjectMap;
 import com.kotcrab.vis.editor.Log;
 import com.kotcrab.vis.editor.entity.EntityScheme;
 import com.kotcrab.vis.editor.entity.EntityScheme.CloningPolicy;
@@ -62,7 +61,6 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 
 import java.util.Iterator;
 import java.util.Optional;
-import java.util.UUID;
 
 /**
  * Entity properties dialog, used to display and change all data about currently selected entities. Multiple selection
@@ -477,52 +475,84 @@ public class EntityProperties extends VisTable {
 		}
 	}
 
+	/**
+	 * Stores only components that were changed between snapshots instead of full copies of entity, components of entity
+	 * that were not modified are taken from entity itself when action is executed or undone.
+	 */
 	private class SnapshotUndoableAction implements UndoableAction {
 		private EntityProxy proxy;
 
-		private ObjectMap<UUID, EntityScheme> snapshot1 = new ObjectMap<>();
-		private ObjectMap<UUID, EntityScheme> snapshot2 = new ObjectMap<>();
+		/** Full snapshot of entity before change, released after second snapshot is taken */
+		private EntityScheme firstSnapshot;
+		private Array<Component> oldComponents = new Array<>();
+		private Array<Component> newComponents = new Array<>();
 
 		public SnapshotUndoableAction (EntityProxy proxy) {
 			this.proxy = proxy;
-			createSnapshot(snapshot1);
+			firstSnapshot = createSnapshot();
 		}
 
 		public void takeSecondSnapshot () {
-			createSnapshot(snapshot2);
+			Array<Component> before = firstSnapshot.getComponents();
+			Array<Component> after = createSnapshot().getComponents();
+
+			collectChangedComponents(before, after, oldComponents);
+			collectChangedComponents(after, before, newComponents);
+
+			firstSnapshot = null;
 		}
 
-		private void createSnapshot (ObjectMap<UUID, EntityScheme> target) {
-			target.put(proxy.getUUID(), EntityScheme.clonedOf(proxy.getEntity(), cloner.getCloner(), CloningPolicy.SKIP_INVISIBLE));
+		private EntityScheme createSnapshot () {
+			return EntityScheme.clonedOf(proxy.getEntity(), cloner.getCloner(), CloningPolicy.SKIP_INVISIBLE);
+		}
+
+		private void collectChangedComponents (Array<Component> source, Array<Component> other, Array<Component> target) {
+			for (Component component : source) {
+				Component otherComponent = null;
+				for (int i = 0; i < other.size; i++) {
+					if (other.get(i).getClass() == component.getClass()) {
+						otherComponent = other.get(i);
+						break;
+					}
+				}
+
+				if (otherComponent == null || EqualsBuilder.reflectionEquals(component, otherComponent, true) == false)
+					target.add(component);
+			}
 		}
 
 		public boolean isSnapshotsEquals () {
-			return EqualsBuilder.reflectionEquals(snapshot1, snapshot2, true);
+			return oldComponents.size == 0 && newComponents.size == 0;
 		}
 
 		@Override
 		public void execute () {
 			proxy.reload();
-			replaceComponents(snapshot2);
+			replaceComponents(oldComponents, newComponents);
 		}
 
 		@Override
 		public void undo () {
 			proxy.reload();
-			replaceComponents(snapshot1);
+			replaceComponents(newComponents, oldComponents);
 		}
 
-		private void replaceComponents (ObjectMap<UUID, EntityScheme> source) {
+		private void replaceComponents (Array<Component> removed, Array<Component> added) {
 			Entity entity = proxy.getEntity();
+			EntityScheme newScheme = EntityScheme.of(entity, CloningPolicy.SKIP_INVISIBLE).withChangedComponents(removed, added);
 			entity.deleteFromWorld();
 
-			EntityScheme newScheme = source.get(proxy.getUUID());
 			newScheme.build(sceneMC.getEntityEngine(), cloner.getCloner(), UUIDPolicy.PRESERVE);
 
 			sceneMC.updateEntitiesStates();
 			proxy.reload();
 		}
 
+		@Override
+		public long getMemoryUsage () {
+			return BASE_MEMORY_USAGE + (oldComponents.size + newComponents.size) * ESTIMATED_COMPONENT_SIZE;
+		}
+
 		@Override
 		public String getActionName () {
 			return "Change Entity Property";
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.nio.file.StandardWatchEventKinds.*;
@@ -34,40 +35,59 @@ import static java.nio.file.StandardWatchEventKinds.*;
  * The recursive file watcher monitors a folder (and its sub-folders).
  * <p>
  * <p>
- * The class walks through the file tree and registers to a watch to every sub-folder. For new folders, a new watch is registered,
- * and stale watches are removed.
+ * The class walks through the file tree and registers to a watch to every sub-folder. For new folders, a new watch is registered
+ * and only their sub-tree is walked, watches of deleted folders are removed when their key becomes invalid.
  * <p>
  * <p>
- * When a file event occurs, a timer is started to wait for the file operations to settle. It is reset whenever a new event
- * occurs. When the timer times out, an event is thrown through the {@link WatchListener}.
+ * File events are not delivered immediately, instead they are collected until no new event occurs for settle delay (or
+ * until max batch delay passes). Events are coalesced per path, eg. file that was created and then modified is reported
+ * once as created, file that was created and then deleted is not reported at all. Whole batch is delivered on main thread
+ * using single {@link WatchListener#fileBatchChanged(Collection)} call. If events of some directory were lost
+ * (OVERFLOW) that directory is rescanned and all its files are reported as modified.
  * @author Philipp C. Heckel <philipp.heckel@gmail.com>
  * @author Pawel Pastuszak
  */
 @SuppressWarnings("unchecked")
 public class DirectoryWatcher {
+	private static final int DEFAULT_SETTLE_DELAY = 100;
+	private static final int DEFAULT_MAX_BATCH_DELAY = 1000;
+
 	private Path root;
 	private int settleDelay;
+	private int maxBatchDelay;
 	private Array<WatchListener> listeners;
 	private AtomicBoolean running;
 	private WatchService watchService;
 	private Thread watchThread;
 	private Map<Path, WatchKey> watchPathKeyMap;
-	private Timer timer;
+
+	/** Only accessed from watch thread */
+	private LinkedHashMap<Path, FileEventType> pendingEvents;
+	private long batchStartTime;
 
 	public DirectoryWatcher (Path root) {
 		this(root, null);
 	}
 
 	public DirectoryWatcher (Path root, WatchListener listener) {
+		this(root, listener, DEFAULT_SETTLE_DELAY, DEFAULT_MAX_BATCH_DELAY);
+	}
+
+	/**
+	 * @param settleDelay time in ms without any new file event after which collected events are delivered
+	 * @param maxBatchDelay maximum time in ms that events can be delayed when file system events are continuously received
+	 */
+	public DirectoryWatcher (Path root, WatchListener listener, int settleDelay, int maxBatchDelay) {
 		this.root = root;
+		this.settleDelay = settleDelay;
+		this.maxBatchDelay = maxBatchDelay;
 
-		settleDelay = 1;
 		listeners = new Array<>();
 		running = new AtomicBoolean(false);
 		watchService = null;
 		watchThread = null;
 		watchPathKeyMap = new HashMap<>();
-		timer = null;
+		pendingEvents = new LinkedHashMap<>();
 
 		if (listener != null) listeners.add(listener);
 	}
@@ -84,41 +104,16 @@ public class DirectoryWatcher {
 		watchService = FileSystems.getDefault().newWatchService();
 		watchThread = new Thread(() -> {
 			running.set(true);
-			walkTreeAndSetWatches();
+			walkTreeAndSetWatches(root, false);
 			while (running.get()) {
 				try {
-					WatchKey watchKey = watchService.take();
-
-					for (WatchEvent<?> event : watchKey.pollEvents()) {
-						WatchEvent<Path> ev = (WatchEvent<Path>) event;
-						Path dir = (Path) watchKey.watchable();
-						Path fullPath = dir.resolve(ev.context());
-						final FileHandle fileHandle = Gdx.files.absolute(fullPath.toFile().toString());
-
-						if (ev.kind() == StandardWatchEventKinds.ENTRY_MODIFY) {
-							Gdx.app.postRunnable(() -> {
-								for (WatchListener listener : listeners)
-									listener.fileChanged(fileHandle);
-							});
-						}
-
-						if (ev.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
-							Gdx.app.postRunnable(() -> {
-								for (WatchListener listener : listeners)
-									listener.fileDeleted(fileHandle);
-							});
-						}
-
-						if (ev.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
-							Gdx.app.postRunnable(() -> {
-								for (WatchListener listener : listeners)
-									listener.fileCreated(fileHandle);
-							});
-						}
+					WatchKey watchKey = pollWatchKey();
+					if (watchKey == null) {
+						flushEvents();
+						continue;
 					}
 
-					watchKey.reset();
-					resetWaitSettlementTimer();
+					processEvents(watchKey);
 				} catch (InterruptedException | ClosedWatchServiceException e) {
 					running.set(false);
 				}
@@ -139,32 +134,122 @@ public class DirectoryWatcher {
 		}
 	}
 
-	private synchronized void resetWaitSettlementTimer () {
-		if (timer != null) {
-			timer.cancel();
-			timer = null;
+	/** @return next signalled key or null when pending events has settled and should be delivered */
+	private WatchKey pollWatchKey () throws InterruptedException {
+		if (pendingEvents.isEmpty()) {
+			WatchKey watchKey = watchService.take();
+			batchStartTime = System.currentTimeMillis();
+			return watchKey;
+		}
+
+		long timeout = Math.min(settleDelay, batchStartTime + maxBatchDelay - System.currentTimeMillis());
+		if (timeout <= 0) return null;
+		return watchService.poll(timeout, TimeUnit.MILLISECONDS);
+	}
+
+	private void processEvents (WatchKey watchKey) {
+		Path dir = (Path) watchKey.watchable();
+
+		for (WatchEvent<?> event : watchKey.pollEvents()) {
+			if (event.kind() == OVERFLOW) {
+				rescanDirectory(dir);
+				continue;
+			}
+
+			WatchEvent<Path> ev = (WatchEvent<Path>) event;
+			Path fullPath = dir.resolve(ev.context());
+
+			if (ev.kind() == ENTRY_MODIFY) {
+				addEvent(fullPath, FileEventType.MODIFIED);
+			}
+
+			if (ev.kind() == ENTRY_DELETE) {
+				addEvent(fullPath, FileEventType.DELETED);
+			}
+
+			if (ev.kind() == ENTRY_CREATE) {
+				addEvent(fullPath, FileEventType.CREATED);
+				//directory could have been moved here with its content, watch its tree and report its files
+				if (Files.isDirectory(fullPath, LinkOption.NOFOLLOW_LINKS)) walkTreeAndSetWatches(fullPath, true);
+			}
 		}
-		timer = new Timer("WatchTimer");
-		timer.schedule(new TimerTask() {
-			@Override
-			public void run () {
-				walkTreeAndSetWatches();
-				unregisterStaleWatches();
+
+		if (watchKey.reset() == false) unregisterWatch(dir);
+	}
+
+	/** Called when events of directory were lost, reports all its files as modified and watches new sub-directories */
+	private void rescanDirectory (Path dir) {
+		addEvent(dir, FileEventType.MODIFIED);
+
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+			for (Path child : stream) {
+				if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+					if (isWatched(child) == false) walkTreeAndSetWatches(child, true);
+				} else {
+					addEvent(child, FileEventType.MODIFIED);
+				}
 			}
-		}, settleDelay);
+		} catch (IOException e) {
+			// Don't care
+		}
 	}
 
-	private synchronized void walkTreeAndSetWatches () {
+	private void addEvent (Path path, FileEventType type) {
+		FileEventType previous = pendingEvents.get(path);
+		FileEventType merged = previous == null ? type : mergeEvents(previous, type);
+		if (merged == null)
+			pendingEvents.remove(path);
+		else
+			pendingEvents.put(path, merged);
+	}
+
+	/** @return single event equivalent to given events sequence or null if events cancel each other */
+	private FileEventType mergeEvents (FileEventType previous, FileEventType next) {
+		switch (next) {
+			case CREATED:
+				return previous == FileEventType.DELETED ? FileEventType.MODIFIED : previous;
+			case MODIFIED:
+				return previous == FileEventType.DELETED ? FileEventType.MODIFIED : previous;
+			case DELETED:
+				return previous == FileEventType.CREATED ? null : FileEventType.DELETED;
+			default:
+				throw new IllegalStateException("Unknown event type: " + next);
+		}
+	}
+
+	private void flushEvents () {
+		if (pendingEvents.isEmpty()) return;
+
+		List<FileEvent> batch = new ArrayList<>(pendingEvents.size());
+		for (Map.Entry<Path, FileEventType> entry : pendingEvents.entrySet()) {
+			batch.add(new FileEvent(Gdx.files.absolute(entry.getKey().toFile().toString()), entry.getValue()));
+		}
+		pendingEvents.clear();
+
+		Collection<FileEvent> events = Collections.unmodifiableList(batch);
+		Gdx.app.postRunnable(() -> {
+			for (WatchListener listener : listeners)
+				listener.fileBatchChanged(events);
+		});
+	}
+
+	/**
+	 * Registers watches for given directory and all of its sub-directories.
+	 * @param reportContent if true then all sub-directories and files found are reported as created
+	 */
+	private synchronized void walkTreeAndSetWatches (Path start, boolean reportContent) {
 		try {
-			Files.walkFileTree(root, new FileVisitor<Path>() {
+			Files.walkFileTree(start, new FileVisitor<Path>() {
 				@Override
 				public FileVisitResult preVisitDirectory (Path dir, BasicFileAttributes attrs) throws IOException {
 					registerWatch(dir);
+					if (reportContent && dir.equals(start) == false) addEvent(dir, FileEventType.CREATED);
 					return FileVisitResult.CONTINUE;
 				}
 
 				@Override
 				public FileVisitResult visitFile (Path file, BasicFileAttributes attrs) throws IOException {
+					if (reportContent) addEvent(file, FileEventType.CREATED);
 					return FileVisitResult.CONTINUE;
 				}
 
@@ -183,19 +268,8 @@ public class DirectoryWatcher {
 		}
 	}
 
-	private synchronized void unregisterStaleWatches () {
-		Set<Path> paths = new HashSet<>(watchPathKeyMap.keySet());
-		Set<Path> stalePaths = new HashSet<>();
-		for (Path path : paths) {
-			if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
-				stalePaths.add(path);
-			}
-		}
-		if (stalePaths.size() > 0) {
-			for (Path stalePath : stalePaths) {
-				unregisterWatch(stalePath);
-			}
-		}
+	private synchronized boolean isWatched (Path dir) {
+		return watchPathKeyMap.containsKey(dir);
 	}
 
 	private synchronized void registerWatch (Path dir) {
@@ -225,7 +299,58 @@ public class DirectoryWatcher {
 		return listeners.removeValue(listener, true);
 	}
 
+	public enum FileEventType {
+		CREATED, MODIFIED, DELETED
+	}
+
+	/** Single coalesced file event, see {@link DirectoryWatcher} */
+	public static class FileEvent {
+		private final FileHandle file;
+		private final FileEventType type;
+
+		public FileEvent (FileHandle file, FileEventType type) {
+			this.file = file;
+			this.type = type;
+		}
+
+		public FileHandle getFile () {
+			return file;
+		}
+
+		public FileEventType getType () {
+			return type;
+		}
+
+		@Override
+		public String toString () {
+			return type + ": " + file.path();
+		}
+	}
+
 	public interface WatchListener {
+		/**
+		 * Called on main thread once for every burst of file events. Events are coalesced, each path is included at most once.
+		 * Default implementation calls {@link #fileCreated(FileHandle)} for created files, {@link #fileChanged(FileHandle)}
+		 * for modified files and {@link #fileDeleted(FileHandle)} for deleted ones. Listeners
+		 * that need to do expensive work after files are changed should override this method and do it once per batch.
+		 */
+		default void fileBatchChanged (Collection<FileEvent> events) {
+			for (FileEvent event : events) {
+				FileHandle file = event.getFile();
+				switch (event.getType()) {
+					case CREATED:
+						fileCreated(file);
+						break;
+					case MODIFIED:
+						fileChanged(file);
+						break;
+					case DELETED:
+						fileDeleted(file);
+						break;
+				}
+			}
+		}
+
 		default void fileChanged (FileHandle file) {
 		}
 
@@ -19,14 +19,19 @@ package com.kotcrab.vis.editor.util;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.kotcrab.vis.editor.Log;
 import com.kotcrab.vis.ui.util.OsUtils;
 
 import java.awt.Desktop;
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.function.Consumer;
 
 /**
@@ -118,6 +123,32 @@ public class FileUtils extends com.kotcrab.vis.ui.widget.file.FileUtils {
 		return builder.toString();
 	}
 
+	/**
+	 * Copies file using {@link FileChannel#transferTo(long, long, WritableByteChannel)} which allows OS to copy data
+	 * without passing it through user space buffers. Target file is removed before copying, so when it was a hard link
+	 * its original file won't be modified. Parent directories of target are created if needed.
+	 */
+	public static void copyFile (FileHandle source, FileHandle target) {
+		target.parent().mkdirs();
+		Path targetPath = target.file().toPath();
+
+		try {
+			Files.deleteIfExists(targetPath);
+			try (FileChannel in = FileChannel.open(source.file().toPath(), StandardOpenOption.READ);
+				 FileChannel out = FileChannel.open(targetPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+				long size = in.size();
+				long position = 0;
+				while (position < size) {
+					long transferred = in.transferTo(position, size - position, out);
+					if (transferred == 0) break; //source was truncated while copying
+					position += transferred;
+				}
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Error copying source file: " + source + " to destination: " + target, e);
+		}
+	}
+
 	public static String relativize (FileHandle base, FileHandle absolute) {
 		Path pathAbsolute = Paths.get(absolute.path());
 		Path pathBase = Paths.get(base.path());
@@ -96,4 +96,26 @@ public class MonoUndoableActionGroup<T extends UndoableAction> implements Undoab
 	public String getActionName () {
 		return size() == 1 ? singularActionName : pluralActionName;
 	}
+
+	@Override
+	public long getMemoryUsage () {
+		long usage = BASE_MEMORY_USAGE;
+		for (T a : actions)
+			usage += a.getMemoryUsage();
+		return usage;
+	}
+
+	@Override
+	public long spill (UndoSpillStorage storage) {
+		long released = 0;
+		for (T a : actions)
+			released += a.spill(storage);
+		return released;
+	}
+
+	@Override
+	public void dispose () {
+		for (T a : actions)
+			a.dispose();
+	}
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.editor.util.undo;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Undo and redo lists of {@link UndoableAction}s. History is limited by entries count and memory budget, when budget is
+ * exceeded old undo entries are moved to disk using {@link UndoSpillStorage} or removed. Only undo entries are counted
+ * towards memory budget, redo entries were part of undo history before and are released as soon as new action is added.
+ * @author Kotcrab
+ */
+public class UndoHistory {
+	private final Array<UndoableAction> undoList = new Array<>();
+	private final Array<UndoableAction> redoList = new Array<>();
+
+	private final UndoSpillStorage spillStorage;
+
+	private int maxEntries = Integer.MAX_VALUE;
+	private long memoryBudget = Long.MAX_VALUE;
+	private boolean spillToDisk;
+
+	private long memoryUsage;
+	/** False after undo or redo, new action must not be merged with entry that was on top of history before that */
+	private boolean mergeAllowed;
+
+	public UndoHistory (UndoSpillStorage spillStorage) {
+		this.spillStorage = spillStorage;
+	}
+
+	/**
+	 * @param maxEntries maximum number of undo entries
+	 * @param memoryBudget maximum estimated amount of memory in bytes used by undo entries
+	 * @param spillToDisk if true old entries are moved to disk when memory budget is exceeded, otherwise they are removed
+	 */
+	public void setLimits (int maxEntries, long memoryBudget, boolean spillToDisk) {
+		this.maxEntries = maxEntries;
+		this.memoryBudget = memoryBudget;
+		this.spillToDisk = spillToDisk;
+	}
+
+	/** @return undone action or null if there wasn't any action that could be undone */
+	public UndoableAction undo () {
+		if (undoList.size == 0) return null;
+		UndoableAction action = undoList.pop();
+		action.undo();
+		redoList.add(action);
+		mergeAllowed = false;
+		enforceLimits();
+		return action;
+	}
+
+	/** @return redone action or null if there wasn't any action that could be redone */
+	public UndoableAction redo () {
+		if (redoList.size == 0) return null;
+		UndoableAction action = redoList.pop();
+		action.execute();
+		undoList.add(action);
+		mergeAllowed = false;
+		enforceLimits();
+		return action;
+	}
+
+	/**
+	 * Adds already executed action to history, redo entries are removed. Action may be merged with previously added action
+	 * (see {@link UndoableAction#merge(UndoableAction)}) unless undo or redo was performed in between.
+	 */
+	public void add (UndoableAction action) {
+		if (mergeAllowed == false || undoList.size == 0 || undoList.peek().merge(action) == false)
+			undoList.add(action);
+		mergeAllowed = true;
+		redoList.forEach(UndoableAction::dispose);
+		redoList.clear();
+		enforceLimits();
+	}
+
+	private void enforceLimits () {
+		while (undoList.size > maxEntries) {
+			undoList.removeIndex(0).dispose();
+		}
+
+		long undoUsage = calculateMemoryUsage(undoList);
+
+		//latest entry is always kept in memory because it is the most likely one to be undone
+		if (spillToDisk) {
+			for (int i = 0; i < undoList.size - 1 && undoUsage > memoryBudget; i++) {
+				undoUsage -= undoList.get(i).spill(spillStorage);
+			}
+		}
+
+		while (undoList.size > 1 && undoUsage > memoryBudget) {
+			UndoableAction action = undoList.removeIndex(0);
+			undoUsage -= action.getMemoryUsage();
+			action.dispose();
+		}
+
+		memoryUsage = undoUsage + calculateMemoryUsage(redoList);
+	}
+
+	private long calculateMemoryUsage (Array<UndoableAction> actions) {
+		long usage = 0;
+		for (UndoableAction action : actions) usage += action.getMemoryUsage();
+		return usage;
+	}
+
+	/** @return estimated amount of heap memory in bytes used by undo and redo entries */
+	public long getMemoryUsage () {
+		return memoryUsage;
+	}
+
+	/** @return amount of disk space in bytes used by entries that were moved to disk */
+	public long getSpilledSize () {
+		return spillStorage.getSize();
+	}
+
+	public int getUndoSize () {
+		return undoList.size;
+	}
+
+	public int getRedoSize () {
+		return redoList.size;
+	}
+
+	/** @return name of action that will be undone next or null if there is no such action */
+	public String getNextUndoActionName () {
+		if (undoList.size == 0) return null;
+		return undoList.peek().getActionName();
+	}
+
+	public void dispose () {
+		undoList.forEach(UndoableAction::dispose);
+		redoList.forEach(UndoableAction::dispose);
+		undoList.clear();
+		redoList.clear();
+		memoryUsage = 0;
+		mergeAllowed = false;
+		spillStorage.dispose();
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.editor.util.undo;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Directory where {@link UndoableAction}s can store their state when undo history exceeds its memory budget. Each
+ * action obtains its own files, storage directory is deleted when owning undo history is disposed.
+ * @author Kotcrab
+ * @see UndoableAction#spill(UndoSpillStorage)
+ */
+public class UndoSpillStorage {
+	private final FileHandle directory;
+	private int nextFileId;
+	private long size;
+
+	public UndoSpillStorage (FileHandle directory) {
+		this.directory = directory;
+	}
+
+	/** @return new file that action can write its state to, file is not created */
+	public FileHandle newFile () {
+		directory.mkdirs();
+		return directory.child("entry" + nextFileId++);
+	}
+
+	/** Must be called after action finished writing file obtained from {@link #newFile()} */
+	public void fileWritten (FileHandle file) {
+		size += file.length();
+	}
+
+	/** Deletes file obtained from {@link #newFile()} */
+	public void deleteFile (FileHandle file) {
+		size -= file.length();
+		file.delete();
+	}
+
+	/** @return size of all files currently stored in this storage */
+	public long getSize () {
+		return size;
+	}
+
+	public void dispose () {
+		directory.deleteDirectory();
+		size = 0;
+	}
+}
@@ -21,6 +21,11 @@ package com.kotcrab.vis.editor.util.undo;
  * @author Kotcrab
  */
 public interface UndoableAction {
+	/** Rough estimate of memory used by action that doesn't store any significant state */
+	long BASE_MEMORY_USAGE = 64;
+	/** Rough estimate of memory used by single cloned entity component stored by action */
+	long ESTIMATED_COMPONENT_SIZE = 128;
+
 	void execute ();
 
 	void undo ();
@@ -32,4 +37,33 @@ public interface UndoableAction {
 	default String getActionName () {
 		return null;
 	}
+
+	/**
+	 * Called when new action is added to undo history directly after this action. If this action can absorb changes made
+	 * by next action it should do so and return true, next action won't be added to history in such case.
+	 */
+	default boolean merge (UndoableAction next) {
+		return false;
+	}
+
+	/**
+	 * @return estimated amount of heap memory in bytes used by this action, used by undo history to enforce its memory
+	 * budget
+	 */
+	default long getMemoryUsage () {
+		return BASE_MEMORY_USAGE;
+	}
+
+	/**
+	 * Called for old undo history entries when history exceeds its memory budget. Action may move its state to
+	 * file obtained from storage and load it back when it is executed or undone.
+	 * @return amount of heap memory in bytes that was released
+	 */
+	default long spill (UndoSpillStorage storage) {
+		return 0;
+	}
+
+	/** Called when action was permanently removed from undo history, action must release files obtained from {@link UndoSpillStorage}. */
+	default void dispose () {
+	}
 }
@@ -17,23 +17,25 @@
 package com.kotcrab.vis.editor.util.vis;
 
 import com.badlogic.gdx.files.FileHandle;
-import com.kotcrab.vis.editor.Log;
-import com.kotcrab.vis.editor.module.project.AssetsMetadataModule;
+import com.kotcrab.vis.editor.module.project.AssetsIndexModule;
+import com.kotcrab.vis.editor.module.project.AssetsIndexModule.AssetIndexEntry;
 import com.kotcrab.vis.editor.module.project.assetsmanager.AssetDirectoryDescriptor;
 import com.kotcrab.vis.editor.util.FileUtils;
-import com.kotcrab.vis.editor.util.SimpleImageInfo;
 
 import java.io.File;
 import java.io.FilenameFilter;
-import java.io.IOException;
 
-/** @author Kotcrab */
+/**
+ * Accepts textures that should be included in texture cache. Image dimensions and directory descriptors are taken from
+ * {@link AssetsIndexModule} so files are not read during filtering.
+ * @author Kotcrab
+ */
 public class TextureCacheFilter implements FilenameFilter {
-	private AssetsMetadataModule metadata;
+	private AssetsIndexModule assetsIndex;
 	private int maxTextureSize;
 
-	public TextureCacheFilter (AssetsMetadataModule metadata, int maxTextureSize) {
-		this.metadata = metadata;
+	public TextureCacheFilter (AssetsIndexModule assetsIndex, int maxTextureSize) {
+		this.assetsIndex = assetsIndex;
 		this.maxTextureSize = maxTextureSize;
 	}
 
@@ -43,17 +45,13 @@ public class TextureCacheFilter implements FilenameFilter {
 		FileHandle file = dir.child(name);
 		if (file.isDirectory()) return true;
 		if (ProjectPathUtils.isTexture(file) == false) return false;
-		try {
-			SimpleImageInfo imgInfo = new SimpleImageInfo(file.file());
-			if (imgInfo.getWidth() > maxTextureSize || imgInfo.getHeight() > maxTextureSize) return false;
-		} catch (IOException e) {
-			Log.exception(e);
-		} catch (EditorException e) {
-			Log.warn("Unsupported image file type: " + file);
-		}
+
+		AssetIndexEntry entry = assetsIndex.get(file);
+		if (entry == null) return false;
+		if (entry.hasImageSize() && (entry.getWidth() > maxTextureSize || entry.getHeight() > maxTextureSize)) return false;
 		if (ProjectPathUtils.isTextureAtlasImage(file)) return false;
 
-		AssetDirectoryDescriptor desc = metadata.getAsDirectoryDescriptorRecursively(dir);
+		AssetDirectoryDescriptor desc = assetsIndex.getDirectoryDescriptorRecursively(file);
 		if (desc != null && desc.isExcludeFromTextureCache()) return false;
 
 		return true;
@@ -18,7 +18,6 @@ package com.kotcrab.vis.editor.ext.anim.sprite
 
 import com.artemis.Aspect
 import com.artemis.ComponentMapper
-import com.badlogic.gdx.graphics.g2d.Animation
 import com.kotcrab.vis.editor.entity.AnimationPreviewComponent
 import com.kotcrab.vis.editor.module.project.TextureCacheModule
 import com.kotcrab.vis.runtime.assets.AtlasRegionAsset
@@ -50,10 +49,10 @@ class EditorSpriteAnimationUpdateSystem(principal: EntityProcessPrincipal, val p
         }
 
         if (spriteAnim.isDirty) {
-            val keyFrames = textureCache
+            val animation = textureCache
                     .getSpriteSheetHelper(textureCache.getAtlas(assetRef.asset as AtlasRegionAsset))
-                    .getAnimationRegions(spriteAnim.animationName)
-            spriteAnim.setAnimation(Animation(spriteAnim.frameDuration, keyFrames))
+                    .getAnimation(spriteAnim.animationName, spriteAnim.frameDuration, spriteAnim.playMode)
+            spriteAnim.setAnimation(animation)
         }
 
         if (previewCm.has(entity)) {
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.editor.test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.kotcrab.vis.editor.util.DirectoryWatcher.FileEvent;
+import com.kotcrab.vis.editor.util.DirectoryWatcher.FileEventType;
+import com.kotcrab.vis.editor.util.DirectoryWatcher.WatchListener;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/** @author Kotcrab */
+public class DirectoryWatcherTest {
+	@Test
+	public void testCreatedFileIsReportedOnce () {
+		RecordingListener listener = new RecordingListener();
+		listener.fileBatchChanged(Arrays.asList(new FileEvent(file("a.png"), FileEventType.CREATED)));
+		assertEquals(Arrays.asList("created a.png"), listener.calls);
+	}
+
+	@Test
+	public void testBatchDispatch () {
+		RecordingListener listener = new RecordingListener();
+		listener.fileBatchChanged(Arrays.asList(
+				new FileEvent(file("a.png"), FileEventType.CREATED),
+				new FileEvent(file("b.png"), FileEventType.MODIFIED),
+				new FileEvent(file("c.png"), FileEventType.DELETED)));
+		assertEquals(Arrays.asList("created a.png", "changed b.png", "deleted c.png"), listener.calls);
+	}
+
+	private FileHandle file (String name) {
+		return new FileHandle(new File(name));
+	}
+
+	private static class RecordingListener implements WatchListener {
+		private final List<String> calls = new ArrayList<>();
+
+		@Override
+		public void fileCreated (FileHandle file) {
+			calls.add("created " + file.name());
+		}
+
+		@Override
+		public void fileChanged (FileHandle file) {
+			calls.add("changed " + file.name());
+		}
+
+		@Override
+		public void fileDeleted (FileHandle file) {
+			calls.add("deleted " + file.name());
+		}
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.editor.test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.kotcrab.vis.editor.util.undo.UndoHistory;
+import com.kotcrab.vis.editor.util.undo.UndoSpillStorage;
+import com.kotcrab.vis.editor.util.undo.UndoableAction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/** @author Kotcrab */
+public class UndoHistoryTest {
+	private static final long ACTION_SIZE = 300;
+
+	private UndoHistory history;
+
+	@Before
+	public void setUp () throws IOException {
+		FileHandle directory = new FileHandle(Files.createTempDirectory("undoHistoryTest").toFile());
+		history = new UndoHistory(new UndoSpillStorage(directory));
+	}
+
+	@After
+	public void tearDown () {
+		history.dispose();
+	}
+
+	@Test
+	public void testOldEntriesRemovedWhenBudgetExceeded () {
+		history.setLimits(100, 1000, false);
+		for (int i = 0; i < 5; i++) history.add(new SpillableAction());
+
+		assertEquals(3, history.getUndoSize());
+		assertEquals(3 * ACTION_SIZE, history.getMemoryUsage());
+	}
+
+	@Test
+	public void testOldEntriesSpilledWhenBudgetExceeded () {
+		history.setLimits(100, 1000, true);
+		for (int i = 0; i < 6; i++) history.add(new SpillableAction());
+
+		assertEquals(6, history.getUndoSize());
+		assertEquals(3 * ACTION_SIZE, history.getMemoryUsage());
+	}
+
+	@Test
+	public void testUndoNearBudgetKeepsHistory () {
+		history.setLimits(100, 1000, true);
+		for (int i = 0; i < 6; i++) history.add(new SpillableAction());
+
+		//undone spilled entries are loaded back to memory, redo entries must not cause removal of undo entries
+		for (int i = 0; i < 6; i++) {
+			assertNotNull(history.undo());
+			assertEquals(5 - i, history.getUndoSize());
+			assertEquals(i + 1, history.getRedoSize());
+		}
+
+		for (int i = 0; i < 6; i++) assertNotNull(history.redo());
+		assertEquals(6, history.getUndoSize());
+		assertEquals(0, history.getRedoSize());
+	}
+
+	@Test
+	public void testAddClearsRedo () {
+		history.setLimits(100, 1000, false);
+		history.add(new SpillableAction());
+		history.add(new SpillableAction());
+		history.undo();
+		history.add(new SpillableAction());
+
+		assertEquals(2, history.getUndoSize());
+		assertEquals(0, history.getRedoSize());
+	}
+
+	@Test
+	public void testActionsMerged () {
+		history.add(new MergeableAction());
+		history.add(new MergeableAction());
+
+		assertEquals(1, history.getUndoSize());
+	}
+
+	@Test
+	public void testActionAddedAfterUndoNotMerged () {
+		history.add(new MergeableAction());
+		history.add(new SpillableAction());
+		history.undo();
+		history.add(new MergeableAction());
+
+		assertEquals(2, history.getUndoSize());
+	}
+
+	@Test
+	public void testActionAddedAfterRedoNotMerged () {
+		history.add(new MergeableAction());
+		history.undo();
+		history.redo();
+		history.add(new MergeableAction());
+
+		assertEquals(2, history.getUndoSize());
+	}
+
+	/** Action that merges any following {@link MergeableAction}. */
+	private static class MergeableAction implements UndoableAction {
+		@Override
+		public void execute () {
+		}
+
+		@Override
+		public void undo () {
+		}
+
+		@Override
+		public boolean merge (UndoableAction next) {
+			return next instanceof MergeableAction;
+		}
+	}
+
+	/** Action that releases its memory when spilled and loads it back when executed or undone. */
+	private static class SpillableAction implements UndoableAction {
+		private boolean spilled;
+
+		@Override
+		public void execute () {
+			spilled = false;
+		}
+
+		@Override
+		public void undo () {
+			spilled = false;
+		}
+
+		@Override
+		public long getMemoryUsage () {
+			return spilled ? 0 : ACTION_SIZE;
+		}
+
+		@Override
+		public long spill (UndoSpillStorage storage) {
+			if (spilled) return 0;
+			spilled = true;
+			return ACTION_SIZE;
+		}
+	}
+}
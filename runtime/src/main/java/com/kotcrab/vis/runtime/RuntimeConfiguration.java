@@ -18,6 +18,8 @@ package com.kotcrab.vis.runtime;
 
 import com.artemis.Entity;
 import com.kotcrab.vis.runtime.component.PhysicsBody;
+import com.kotcrab.vis.runtime.system.physics.PhysicsSystem;
+import com.kotcrab.vis.runtime.system.render.RenderBatchingSystem;
 import com.kotcrab.vis.runtime.util.EntityEngine;
 
 /**
@@ -31,4 +33,38 @@ public class RuntimeConfiguration {
 	 * Note that actual body will be disposed during next {@link EntityEngine} update.
 	 */
 	public boolean autoDisposeBox2dBodyOnEntityRemove = true;
+
+	/**
+	 * If true {@link RenderBatchingSystem} will group entities that have same layer and zIndex by their shader and
+	 * texture to reduce number of batch flushes. Render order of such entities is then not guaranteed to match order of
+	 * entities in scene file. See {@link RenderBatchingSystem#setStateSortingEnabled(boolean)}.
+	 */
+	public boolean renderBatchingStateSorting = false;
+
+	/**
+	 * If true {@link RenderBatchingSystem} will skip rendering of entities that are outside of camera view. See
+	 * {@link RenderBatchingSystem#setCullingEnabled(boolean)}.
+	 */
+	public boolean renderBatchingCulling = false;
+
+	/** Duration of single physics step in seconds. See {@link PhysicsSystem#setTimeStep(float)}. */
+	public float physicsTimeStep = 1f / 60f;
+
+	/** Box2d velocity iterations count used for each physics step. */
+	public int physicsVelocityIterations = 6;
+
+	/** Box2d position iterations count used for each physics step. */
+	public int physicsPositionIterations = 2;
+
+	/**
+	 * Maximum number of physics steps performed during single frame, remaining time is dropped. 0 (default) means that
+	 * number of steps is not limited. See {@link PhysicsSystem#setMaxSubSteps(int)}.
+	 */
+	public int physicsMaxSubSteps = 0;
+
+	/**
+	 * If true sprite positions will be interpolated between previous and current physics step. See
+	 * {@link PhysicsSystem#setInterpolationEnabled(boolean)}.
+	 */
+	public boolean physicsInterpolation = false;
 }
@@ -17,7 +17,9 @@
 package com.kotcrab.vis.runtime.component;
 
 import com.artemis.Component;
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
+import com.kotcrab.vis.runtime.system.physics.PhysicsSystem;
 
 /**
  * Stores entity physics body. This component can't be serialized.
@@ -26,7 +28,20 @@ import com.badlogic.gdx.physics.box2d.Body;
 public class PhysicsBody extends Component {
 	public Body body;
 
+	/** Body transform before last physics step, only updated when {@link PhysicsSystem} interpolation is enabled */
+	public float previousX, previousY, previousAngle;
+
 	public PhysicsBody (Body body) {
 		this.body = body;
+		storePreviousTransform();
+	}
+
+	/** Stores current body transform as previous transform, used by {@link PhysicsSystem} */
+	public void storePreviousTransform () {
+		if (body == null) return;
+		Vector2 position = body.getPosition();
+		previousX = position.x;
+		previousY = position.y;
+		previousAngle = body.getAngle();
 	}
 }
@@ -17,6 +17,7 @@
 package com.kotcrab.vis.runtime.component;
 
 import com.artemis.Component;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.kotcrab.vis.runtime.component.proto.ProtoComponent;
 import com.kotcrab.vis.runtime.component.proto.ProtoVisSprite;
@@ -28,18 +29,31 @@ import com.kotcrab.vis.runtime.properties.UsesProtoComponent;
 /**
  * Stores texture region and region size. Position and other properties are stored in {@link Transform}, {@link Origin},
  * {@link Tint}.
+ * <p>
+ * Texture region is not copied, sprite references region passed to {@link #setRegion(TextureRegion)} which is typically
+ * shared with other sprites (eg. region from {@link TextureAtlas}). Flip is stored separately in sprite, private flipped
+ * copy of region is created only when sprite flip is different from shared region flip. Changing region, for example when
+ * playing animation, does not allocate memory.
  * @author Kotcrab
  */
 public class VisSprite extends Component implements FlipOwner, SizeOwner, Resizable, UsesProtoComponent {
 	private TextureRegion region;
+	/** Lazily created copy of region used when sprite flip is different from region flip */
+	private TextureRegion flippedRegion;
+	private boolean flipX, flipY;
 	private float width, height;
+	/** Set when size or region was changed, cleared by DirtyCleanerSystem */
+	private transient boolean dirty = true;
 
 	@Deprecated
 	public VisSprite () {
 	}
 
 	public VisSprite (VisSprite sprite) {
-		setRegion(sprite.region);
+		this.region = sprite.region;
+		this.flipX = sprite.flipX;
+		this.flipY = sprite.flipY;
+		updateFlippedRegion();
 		this.width = sprite.width;
 		this.height = sprite.height;
 	}
@@ -48,38 +62,64 @@ public class VisSprite extends Component implements FlipOwner, SizeOwner, Resiza
 		setRegion(region);
 	}
 
+	/**
+	 * @return region that should be used for rendering this sprite, it has flip of this sprite applied. Returned region
+	 * may be shared with other sprites and must not be modified.
+	 */
 	public TextureRegion getRegion () {
-		return region;
+		return isUsingFlippedRegion() ? flippedRegion : region;
 	}
 
+	/**
+	 * Sets region of this sprite. Region is not copied and must not be modified while it is used by sprite. Sprite flip
+	 * is preserved, except when this is first region set to sprite, in that case flip is taken from region.
+	 */
 	public void setRegion (TextureRegion region) {
-		this.region = new TextureRegion(region);
+		if (this.region == null) {
+			flipX = region.isFlipX();
+			flipY = region.isFlipY();
+		}
+
+		this.region = region;
+		updateFlippedRegion();
+		dirty = true;
 	}
 
 	public void setRegion (TextureRegion region, float pixelsPerUnit) {
-		this.region = new TextureRegion(region);
+		setRegion(region);
 		setSize(region.getRegionWidth() / pixelsPerUnit, region.getRegionHeight() / pixelsPerUnit);
 	}
 
 	@Override
 	public boolean isFlipX () {
-		return region.isFlipX();
+		return flipX;
 	}
 
 	@Override
 	public boolean isFlipY () {
-		return region.isFlipY();
+		return flipY;
 	}
 
 	@Override
 	public void setFlip (boolean flipX, boolean flipY) {
-		boolean doFlipX = false;
-		boolean doFlipY = false;
+		this.flipX = flipX;
+		this.flipY = flipY;
+		updateFlippedRegion();
+	}
+
+	private boolean isUsingFlippedRegion () {
+		return region != null && (region.isFlipX() != flipX || region.isFlipY() != flipY);
+	}
+
+	private void updateFlippedRegion () {
+		if (isUsingFlippedRegion() == false) return;
 
-		if (region.isFlipX() != flipX) doFlipX = true;
-		if (region.isFlipY() != flipY) doFlipY = true;
+		if (flippedRegion == null)
+			flippedRegion = new TextureRegion(region);
+		else
+			flippedRegion.setRegion(region);
 
-		region.flip(doFlipX, doFlipY);
+		flippedRegion.flip(flippedRegion.isFlipX() != flipX, flippedRegion.isFlipY() != flipY);
 	}
 
 	@Override
@@ -96,6 +136,15 @@ public class VisSprite extends Component implements FlipOwner, SizeOwner, Resiza
 	public void setSize (float width, float height) {
 		this.width = width;
 		this.height = height;
+		dirty = true;
+	}
+
+	public boolean isDirty () {
+		return dirty;
+	}
+
+	public void setDirty (boolean dirty) {
+		this.dirty = dirty;
 	}
 
 	@Override
@@ -32,6 +32,8 @@ import com.kotcrab.vis.runtime.util.autotable.ATUseGetterSetter;
  * @author Kotcrab
  */
 public class VisSpriteAnimation extends Component {
+	private static final Animation<TextureRegion> EMPTY_ANIMATION = new Animation<TextureRegion>(0);
+
 	@ATEnumProperty(fieldName = "Play Mode", uiNameProvider = AnimationPlayModeEnumNameProvider.class)
 	@ATUseGetterSetter
 	private Animation.PlayMode playMode = Animation.PlayMode.NORMAL;
@@ -43,7 +45,8 @@ public class VisSpriteAnimation extends Component {
 
 	private String animationName;
 
-	private transient Animation<TextureRegion> animation = new Animation<TextureRegion>(0);
+	/** Animation may be shared with other entities and is never modified by this component */
+	private transient Animation<TextureRegion> animation = EMPTY_ANIMATION;
 	private transient float timer = 0;
 	private transient boolean dirty = true;
 
@@ -71,8 +74,9 @@ public class VisSpriteAnimation extends Component {
 	}
 
 	public void setFrameDuration (float frameDuration) {
+		if (this.frameDuration == frameDuration) return;
 		this.frameDuration = frameDuration;
-		animation.setFrameDuration(frameDuration);
+		dirty = true;
 	}
 
 	public void setDirty (boolean dirty) {
@@ -89,15 +93,17 @@ public class VisSpriteAnimation extends Component {
 
 	public void setPlayMode (Animation.PlayMode playMode) {
 		if (playMode == null) throw new IllegalArgumentException("playMode can't be null");
+		if (this.playMode == playMode) return;
 		this.playMode = playMode;
-		animation.setPlayMode(playMode);
+		dirty = true;
 	}
 
 	public void setAnimation (Animation animation) {
 		if (animation == null) throw new IllegalArgumentException("animation can't be null");
 		this.animation = animation;
-		animation.setPlayMode(playMode);
-		animation.setFrameDuration(frameDuration);
+		//shared animations already have proper settings, avoid modifying them
+		if (animation.getPlayMode() != playMode) animation.setPlayMode(playMode);
+		if (animation.getFrameDuration() != frameDuration) animation.setFrameDuration(frameDuration);
 		dirty = true;
 	}
 
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.data.binary;
+
+/**
+ * Constants of binary scene format. All values are stored in big endian order, strings are stored as int length followed
+ * by UTF-8 bytes. File layout:
+ * <pre>
+ * int magic, short version
+ * string table: int count, strings
+ * asset table: int count, asset records
+ * scene header: viewport, size, pixels per unit, atlas path, physics settings, variables, groups, layers
+ * entities: int count, entity blocks
+ * </pre>
+ * Entity block is int length of block (excluding length itself), short component count and component records. Component
+ * record is byte type followed by fixed layout data specific for that type. Components not known by this format are
+ * stored as JSON. References to strings and assets are stored as int index in appropriate table, -1 is used for null.
+ * @author Kotcrab
+ */
+public class BinarySceneFormat {
+	/** 'VISB' */
+	public static final int MAGIC = 0x56495342;
+	public static final short VERSION = 1;
+
+	public static final int NULL_REF = -1;
+
+	static final byte COMPONENT_TRANSFORM = 0;
+	static final byte COMPONENT_ORIGIN = 1;
+	static final byte COMPONENT_TINT = 2;
+	static final byte COMPONENT_LAYER = 3;
+	static final byte COMPONENT_RENDERABLE = 4;
+	static final byte COMPONENT_VIS_ID = 5;
+	static final byte COMPONENT_VIS_GROUP = 6;
+	static final byte COMPONENT_INVISIBLE = 7;
+	static final byte COMPONENT_POINT = 8;
+	static final byte COMPONENT_VARIABLES = 9;
+	static final byte COMPONENT_ASSET_REFERENCE = 10;
+	static final byte COMPONENT_PHYSICS_PROPERTIES = 11;
+	static final byte COMPONENT_VIS_POLYGON = 12;
+	static final byte COMPONENT_PROTO_SPRITE = 13;
+	static final byte COMPONENT_PROTO_TEXT = 14;
+	static final byte COMPONENT_PROTO_PARTICLE = 15;
+	static final byte COMPONENT_PROTO_SOUND = 16;
+	static final byte COMPONENT_PROTO_MUSIC = 17;
+	static final byte COMPONENT_PROTO_SHADER = 18;
+	static final byte COMPONENT_SPRITE_ANIMATION = 19;
+	static final byte COMPONENT_JSON = 127;
+
+	static final byte ASSET_TEXTURE_REGION = 0;
+	static final byte ASSET_ATLAS_REGION = 1;
+	static final byte ASSET_BMP_FONT = 2;
+	static final byte ASSET_TTF_FONT = 3;
+	static final byte ASSET_PARTICLE = 4;
+	static final byte ASSET_SOUND = 5;
+	static final byte ASSET_MUSIC = 6;
+	static final byte ASSET_SHADER = 7;
+	static final byte ASSET_JSON = 127;
+
+	/** @return true if given bytes starts with binary scene format header */
+	public static boolean isBinaryScene (byte[] bytes) {
+		if (bytes.length < 6) return false;
+		int magic = ((bytes[0] & 0xFF) << 24) | ((bytes[1] & 0xFF) << 16) | ((bytes[2] & 0xFF) << 8) | (bytes[3] & 0xFF);
+		return magic == MAGIC;
+	}
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.data.binary;
+
+import com.artemis.Component;
+import com.artemis.EntityEdit;
+import com.badlogic.gdx.assets.loaders.BitmapFontLoader.BitmapFontParameter;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.Animation.PlayMode;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.Json;
+import com.kotcrab.vis.runtime.assets.*;
+import com.kotcrab.vis.runtime.component.*;
+import com.kotcrab.vis.runtime.component.proto.*;
+import com.kotcrab.vis.runtime.data.EntityData;
+import com.kotcrab.vis.runtime.data.LayerData;
+import com.kotcrab.vis.runtime.data.PhysicsSettings;
+import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.scene.LayerCordsSystem;
+import com.kotcrab.vis.runtime.scene.SceneViewport;
+import com.kotcrab.vis.runtime.util.EntityEngine;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+
+import static com.kotcrab.vis.runtime.data.binary.BinarySceneFormat.*;
+
+/**
+ * Reads scene stored in binary scene format, see {@link BinarySceneFormat}. Scene header, string table and asset table
+ * are read when reader is created. Entities are streamed directly into {@link EntityEngine} without creating intermediate
+ * {@link EntityData}.
+ * @author Kotcrab
+ */
+public class BinarySceneReader {
+	private static final SceneViewport[] VIEWPORTS = SceneViewport.values();
+	private static final LayerCordsSystem[] CORDS_SYSTEMS = LayerCordsSystem.values();
+	private static final BodyType[] BODY_TYPES = BodyType.values();
+	private static final PlayMode[] PLAY_MODES = PlayMode.values();
+	private static final TextureFilter[] TEXTURE_FILTERS = TextureFilter.values();
+
+	private final Json json;
+	private final ByteBuffer buffer;
+
+	private String[] strings;
+	private VisAssetDescriptor[] assets;
+	private SceneData sceneData;
+
+	private int entitiesStart;
+	private int entityCount;
+	private int entitiesRead;
+
+	/**
+	 * @param bytes scene file bytes
+	 * @param json used to read components that are not directly supported by binary format
+	 */
+	public BinarySceneReader (byte[] bytes, Json json) {
+		this.json = json;
+		buffer = ByteBuffer.wrap(bytes);
+
+		if (buffer.getInt() != MAGIC) throw new GdxRuntimeException("Not a binary scene file");
+		short version = buffer.getShort();
+		if (version != VERSION) throw new GdxRuntimeException("Unsupported binary scene version: " + version);
+
+		readStrings();
+		readAssets();
+		readHeader();
+
+		entitiesStart = buffer.position();
+		entityCount = buffer.getInt();
+	}
+
+	private void readStrings () {
+		strings = new String[buffer.getInt()];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = readUTF8();
+		}
+	}
+
+	private void readAssets () {
+		assets = new VisAssetDescriptor[buffer.getInt()];
+		for (int i = 0; i < assets.length; i++) {
+			assets[i] = readAsset();
+		}
+	}
+
+	private void readHeader () {
+		SceneData data = new SceneData();
+
+		byte viewport = buffer.get();
+		data.viewport = viewport == -1 ? null : VIEWPORTS[viewport];
+		data.width = buffer.getFloat();
+		data.height = buffer.getFloat();
+		data.pixelsPerUnit = buffer.getFloat();
+		data.textureAtlasPath = string(buffer.getInt());
+
+		if (readBoolean()) {
+			data.physicsSettings = new PhysicsSettings(readBoolean(), buffer.getFloat(), buffer.getFloat(), readBoolean());
+		}
+
+		if (readBoolean()) {
+			data.variables = new Variables();
+			readVariables(data.variables);
+		}
+
+		int groupCount = buffer.getInt();
+		if (groupCount != NULL_REF) {
+			data.groupIds = new IntMap<String>(groupCount);
+			for (int i = 0; i < groupCount; i++) {
+				data.groupIds.put(buffer.getInt(), string(buffer.getInt()));
+			}
+		}
+
+		int layerCount = buffer.getInt();
+		for (int i = 0; i < layerCount; i++) {
+			data.layers.add(new LayerData(CORDS_SYSTEMS[buffer.get()], string(buffer.getInt()), buffer.getInt()));
+		}
+
+		sceneData = data;
+	}
+
+	/** @return scene data without any entities, entities must be read using {@link #readEntity(EntityEngine)} */
+	public SceneData getSceneData () {
+		return sceneData;
+	}
+
+	/**
+	 * Returns all assets used by entities in this scene. Note that components stored as JSON may reference other assets,
+	 * see {@link #readEntities()}.
+	 */
+	public VisAssetDescriptor[] getAssets () {
+		return assets;
+	}
+
+	/**
+	 * Reads all entities as {@link EntityData}, returned entity data can be used to resolve plugin dependencies. This does
+	 * not affect {@link #readEntity(EntityEngine)} position.
+	 */
+	public Array<EntityData> readEntities () {
+		Array<EntityData> entities = new Array<EntityData>(entityCount);
+		int position = buffer.position();
+
+		buffer.position(entitiesStart + 4); //skip entity count
+		for (int i = 0; i < entityCount; i++) {
+			buffer.getInt(); //entity block length
+			int componentCount = buffer.getShort();
+			Array<Component> components = new Array<Component>(componentCount);
+			for (int j = 0; j < componentCount; j++) {
+				components.add(readComponent());
+			}
+			entities.add(new EntityData(components));
+		}
+
+		buffer.position(position);
+		return entities;
+	}
+
+	public int getEntityCount () {
+		return entityCount;
+	}
+
+	public boolean hasNextEntity () {
+		return entitiesRead < entityCount;
+	}
+
+	/**
+	 * Reads next entity and creates it in given engine.
+	 * @return id of created entity
+	 */
+	public int readEntity (EntityEngine engine) {
+		if (hasNextEntity() == false) throw new IllegalStateException("All entities were already read");
+		entitiesRead++;
+
+		buffer.getInt(); //entity block length
+		int componentCount = buffer.getShort();
+
+		int entityId = engine.create();
+		EntityEdit edit = engine.edit(entityId);
+		for (int i = 0; i < componentCount; i++) {
+			edit.add(readComponent());
+		}
+
+		return entityId;
+	}
+
+	private Component readComponent () {
+		byte type = buffer.get();
+
+		switch (type) {
+			case COMPONENT_TRANSFORM:
+				return new Transform(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+			case COMPONENT_ORIGIN:
+				return new Origin(buffer.getFloat(), buffer.getFloat());
+			case COMPONENT_TINT:
+				return new Tint().set(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+			case COMPONENT_LAYER:
+				return new Layer(buffer.getInt());
+			case COMPONENT_RENDERABLE:
+				return new Renderable(buffer.getInt());
+			case COMPONENT_VIS_ID:
+				return new VisID(string(buffer.getInt()));
+			case COMPONENT_VIS_GROUP: {
+				VisGroup group = new VisGroup();
+				int count = buffer.getInt();
+				group.groupIds.ensureCapacity(count);
+				for (int i = 0; i < count; i++) {
+					group.groupIds.add(buffer.getInt());
+				}
+				return group;
+			}
+			case COMPONENT_INVISIBLE:
+				return new Invisible();
+			case COMPONENT_POINT:
+				return new Point();
+			case COMPONENT_VARIABLES: {
+				Variables variables = new Variables();
+				readVariables(variables);
+				return variables;
+			}
+			case COMPONENT_ASSET_REFERENCE:
+				return new AssetReference(asset(buffer.getInt()));
+			case COMPONENT_PHYSICS_PROPERTIES: {
+				PhysicsProperties properties = new PhysicsProperties();
+				properties.bodyType = BODY_TYPES[buffer.get()];
+				properties.friction = buffer.getFloat();
+				properties.density = buffer.getFloat();
+				properties.restitution = buffer.getFloat();
+				properties.sensor = readBoolean();
+				properties.gravityScale = buffer.getFloat();
+				properties.linearDamping = buffer.getFloat();
+				properties.angularDamping = buffer.getFloat();
+				properties.bullet = readBoolean();
+				properties.fixedRotation = readBoolean();
+				properties.active = readBoolean();
+				properties.sleepingAllowed = readBoolean();
+				properties.adjustOrigin = readBoolean();
+				properties.maskBits = buffer.getShort();
+				properties.categoryBits = buffer.getShort();
+				return properties;
+			}
+			case COMPONENT_VIS_POLYGON: {
+				VisPolygon polygon = new VisPolygon();
+				int vertexCount = buffer.getInt();
+				polygon.vertices.ensureCapacity(vertexCount);
+				for (int i = 0; i < vertexCount; i++) {
+					polygon.vertices.add(new Vector2(buffer.getFloat(), buffer.getFloat()));
+				}
+
+				int faceCount = buffer.getInt();
+				if (faceCount != NULL_REF) {
+					polygon.faces = new Vector2[faceCount][];
+					for (int i = 0; i < faceCount; i++) {
+						Vector2[] face = new Vector2[buffer.getInt()];
+						for (int j = 0; j < face.length; j++) {
+							face[j] = new Vector2(buffer.getFloat(), buffer.getFloat());
+						}
+						polygon.faces[i] = face;
+					}
+				}
+				return polygon;
+			}
+			case COMPONENT_PROTO_SPRITE: {
+				ProtoVisSprite sprite = new ProtoVisSprite();
+				sprite.flipX = readBoolean();
+				sprite.flipY = readBoolean();
+				sprite.width = buffer.getFloat();
+				sprite.height = buffer.getFloat();
+				return sprite;
+			}
+			case COMPONENT_PROTO_TEXT: {
+				ProtoVisText text = new ProtoVisText();
+				text.text = string(buffer.getInt());
+				text.autoSetOriginToCenter = readBoolean();
+				text.isUsesDistanceField = readBoolean();
+				return text;
+			}
+			case COMPONENT_PROTO_PARTICLE: {
+				ProtoVisParticle particle = new ProtoVisParticle();
+				particle.activeOnStart = readBoolean();
+				return particle;
+			}
+			case COMPONENT_PROTO_SOUND:
+				return new ProtoVisSound();
+			case COMPONENT_PROTO_MUSIC: {
+				ProtoVisMusic music = new ProtoVisMusic();
+				music.playOnStart = readBoolean();
+				music.looping = readBoolean();
+				music.volume = buffer.getFloat();
+				return music;
+			}
+			case COMPONENT_PROTO_SHADER:
+				return new ProtoShader((ShaderAsset) asset(buffer.getInt()));
+			case COMPONENT_SPRITE_ANIMATION: {
+				VisSpriteAnimation animation = new VisSpriteAnimation();
+				animation.setPlayMode(PLAY_MODES[buffer.get()]);
+				animation.setFrameDuration(buffer.getFloat());
+				animation.setPlaying(readBoolean());
+				animation.setAnimationName(string(buffer.getInt()));
+				return animation;
+			}
+			case COMPONENT_JSON:
+				return json.fromJson(Component.class, readUTF8());
+			default:
+				throw new GdxRuntimeException("Unknown component record type: " + type);
+		}
+	}
+
+	private VisAssetDescriptor readAsset () {
+		byte type = buffer.get();
+
+		switch (type) {
+			case ASSET_TEXTURE_REGION:
+				return new TextureRegionAsset(string(buffer.getInt()));
+			case ASSET_ATLAS_REGION:
+				return new AtlasRegionAsset(string(buffer.getInt()), string(buffer.getInt()));
+			case ASSET_BMP_FONT: {
+				String path = string(buffer.getInt());
+				BitmapFontParameter parameter = null;
+				if (readBoolean()) {
+					parameter = new BitmapFontParameter();
+					parameter.flip = readBoolean();
+					parameter.genMipMaps = readBoolean();
+					parameter.minFilter = TEXTURE_FILTERS[buffer.get()];
+					parameter.magFilter = TEXTURE_FILTERS[buffer.get()];
+					parameter.atlasName = string(buffer.getInt());
+				}
+				return new BmpFontAsset(path, parameter);
+			}
+			case ASSET_TTF_FONT:
+				return new TtfFontAsset(string(buffer.getInt()), buffer.getInt());
+			case ASSET_PARTICLE:
+				return new ParticleAsset(string(buffer.getInt()));
+			case ASSET_SOUND:
+				return new SoundAsset(string(buffer.getInt()));
+			case ASSET_MUSIC:
+				return new MusicAsset(string(buffer.getInt()));
+			case ASSET_SHADER:
+				return new ShaderAsset(string(buffer.getInt()), string(buffer.getInt()));
+			case ASSET_JSON:
+				return json.fromJson(VisAssetDescriptor.class, readUTF8());
+			default:
+				throw new GdxRuntimeException("Unknown asset record type: " + type);
+		}
+	}
+
+	private void readVariables (Variables variables) {
+		int count = buffer.getInt();
+		for (int i = 0; i < count; i++) {
+			variables.variables.put(string(buffer.getInt()), string(buffer.getInt()));
+		}
+	}
+
+	private boolean readBoolean () {
+		return buffer.get() != 0;
+	}
+
+	private String string (int id) {
+		return id == NULL_REF ? null : strings[id];
+	}
+
+	private VisAssetDescriptor asset (int id) {
+		return id == NULL_REF ? null : assets[id];
+	}
+
+	private String readUTF8 () {
+		int length = buffer.getInt();
+		try {
+			String string = new String(buffer.array(), buffer.position(), length, "UTF-8");
+			buffer.position(buffer.position() + length);
+			return string;
+		} catch (UnsupportedEncodingException e) {
+			throw new GdxRuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,428 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.data.binary;
+
+import com.artemis.Component;
+import com.badlogic.gdx.assets.loaders.BitmapFontLoader.BitmapFontParameter;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.*;
+import com.badlogic.gdx.utils.ObjectMap.Entry;
+import com.kotcrab.vis.runtime.assets.*;
+import com.kotcrab.vis.runtime.component.*;
+import com.kotcrab.vis.runtime.component.proto.*;
+import com.kotcrab.vis.runtime.data.EntityData;
+import com.kotcrab.vis.runtime.data.LayerData;
+import com.kotcrab.vis.runtime.data.PhysicsSettings;
+import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.scene.SceneLoader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static com.kotcrab.vis.runtime.data.binary.BinarySceneFormat.*;
+
+/**
+ * Writes {@link SceneData} using binary scene format, see {@link BinarySceneFormat}. Such scene can be loaded by
+ * {@link SceneLoader} the same way as JSON scene.
+ * @author Kotcrab
+ */
+public class BinarySceneWriter {
+	private final Json json;
+
+	private final Array<String> strings = new Array<String>();
+	private final ObjectIntMap<String> stringIds = new ObjectIntMap<String>();
+	private final Array<VisAssetDescriptor> assets = new Array<VisAssetDescriptor>();
+	private final ObjectIntMap<String> assetIds = new ObjectIntMap<String>();
+
+	private final ByteArrayOutputStream entityBytes = new ByteArrayOutputStream();
+	private final DataOutputStream entityOut = new DataOutputStream(entityBytes);
+
+	public BinarySceneWriter () {
+		this(SceneLoader.getJson());
+	}
+
+	/** @param json used to write components that are not directly supported by binary format */
+	public BinarySceneWriter (Json json) {
+		this.json = json;
+	}
+
+	public void write (SceneData data, OutputStream output) throws IOException {
+		strings.clear();
+		stringIds.clear();
+		assets.clear();
+		assetIds.clear();
+
+		ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+		writeHeader(data, new DataOutputStream(headerBytes));
+
+		ByteArrayOutputStream entitiesBytes = new ByteArrayOutputStream();
+		DataOutputStream entitiesOut = new DataOutputStream(entitiesBytes);
+
+		entitiesOut.writeInt(data.entities.size);
+		for (EntityData entityData : data.entities) {
+			entityBytes.reset();
+			writeEntity(entityData, entityOut);
+			entityOut.flush();
+
+			entitiesOut.writeInt(entityBytes.size());
+			entityBytes.writeTo(entitiesOut);
+		}
+
+		//assets table must be serialized before strings table because assets are also adding new strings
+		ByteArrayOutputStream assetsBytes = new ByteArrayOutputStream();
+		DataOutputStream assetsOut = new DataOutputStream(assetsBytes);
+		assetsOut.writeInt(assets.size);
+		for (VisAssetDescriptor asset : assets) {
+			writeAsset(asset, assetsOut);
+		}
+
+		DataOutputStream out = new DataOutputStream(output);
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+
+		out.writeInt(strings.size);
+		for (String string : strings) {
+			writeUTF8(out, string);
+		}
+
+		assetsBytes.writeTo(out);
+		headerBytes.writeTo(out);
+
+		entitiesBytes.writeTo(out);
+		out.flush();
+	}
+
+	private void writeHeader (SceneData data, DataOutputStream out) throws IOException {
+		out.writeByte(data.viewport == null ? -1 : data.viewport.ordinal());
+		out.writeFloat(data.width);
+		out.writeFloat(data.height);
+		out.writeFloat(data.pixelsPerUnit);
+		out.writeInt(string(data.textureAtlasPath));
+
+		PhysicsSettings physics = data.physicsSettings;
+		out.writeBoolean(physics != null);
+		if (physics != null) {
+			out.writeBoolean(physics.physicsEnabled);
+			out.writeFloat(physics.gravityX);
+			out.writeFloat(physics.gravityY);
+			out.writeBoolean(physics.allowSleep);
+		}
+
+		out.writeBoolean(data.variables != null);
+		if (data.variables != null) writeVariables(data.variables, out);
+
+		if (data.groupIds == null) {
+			out.writeInt(NULL_REF);
+		} else {
+			out.writeInt(data.groupIds.size);
+			for (IntMap.Entry<String> entry : data.groupIds.entries()) {
+				out.writeInt(entry.key);
+				out.writeInt(string(entry.value));
+			}
+		}
+
+		out.writeInt(data.layers.size);
+		for (LayerData layer : data.layers) {
+			out.writeByte(layer.cordsSystem.ordinal());
+			out.writeInt(string(layer.name));
+			out.writeInt(layer.id);
+		}
+	}
+
+	private void writeEntity (EntityData entityData, DataOutputStream out) throws IOException {
+		out.writeShort(entityData.components.size);
+		for (Component component : entityData.components) {
+			writeComponent(component, out);
+		}
+	}
+
+	private void writeComponent (Component component, DataOutputStream out) throws IOException {
+		Class<?> type = component.getClass();
+
+		if (type == Transform.class) {
+			Transform transform = (Transform) component;
+			out.writeByte(COMPONENT_TRANSFORM);
+			out.writeFloat(transform.getX());
+			out.writeFloat(transform.getY());
+			out.writeFloat(transform.getScaleX());
+			out.writeFloat(transform.getScaleY());
+			out.writeFloat(transform.getRotation());
+
+		} else if (type == Origin.class) {
+			Origin origin = (Origin) component;
+			out.writeByte(COMPONENT_ORIGIN);
+			out.writeFloat(origin.getOriginX());
+			out.writeFloat(origin.getOriginY());
+
+		} else if (type == Tint.class) {
+			Color tint = ((Tint) component).getTint();
+			out.writeByte(COMPONENT_TINT);
+			out.writeFloat(tint.r);
+			out.writeFloat(tint.g);
+			out.writeFloat(tint.b);
+			out.writeFloat(tint.a);
+
+		} else if (type == Layer.class) {
+			out.writeByte(COMPONENT_LAYER);
+			out.writeInt(((Layer) component).layerId);
+
+		} else if (type == Renderable.class) {
+			out.writeByte(COMPONENT_RENDERABLE);
+			out.writeInt(((Renderable) component).zIndex);
+
+		} else if (type == VisID.class) {
+			out.writeByte(COMPONENT_VIS_ID);
+			out.writeInt(string(((VisID) component).id));
+
+		} else if (type == VisGroup.class) {
+			IntArray groupIds = ((VisGroup) component).groupIds;
+			out.writeByte(COMPONENT_VIS_GROUP);
+			out.writeInt(groupIds.size);
+			for (int i = 0; i < groupIds.size; i++) {
+				out.writeInt(groupIds.get(i));
+			}
+
+		} else if (type == Invisible.class) {
+			out.writeByte(COMPONENT_INVISIBLE);
+
+		} else if (type == Point.class) {
+			out.writeByte(COMPONENT_POINT);
+
+		} else if (type == Variables.class) {
+			out.writeByte(COMPONENT_VARIABLES);
+			writeVariables((Variables) component, out);
+
+		} else if (type == AssetReference.class) {
+			VisAssetDescriptor asset = ((AssetReference) component).asset;
+			out.writeByte(COMPONENT_ASSET_REFERENCE);
+			out.writeInt(asset(asset));
+
+		} else if (type == PhysicsProperties.class) {
+			PhysicsProperties properties = (PhysicsProperties) component;
+			out.writeByte(COMPONENT_PHYSICS_PROPERTIES);
+			out.writeByte(properties.bodyType.ordinal());
+			out.writeFloat(properties.friction);
+			out.writeFloat(properties.density);
+			out.writeFloat(properties.restitution);
+			out.writeBoolean(properties.sensor);
+			out.writeFloat(properties.gravityScale);
+			out.writeFloat(properties.linearDamping);
+			out.writeFloat(properties.angularDamping);
+			out.writeBoolean(properties.bullet);
+			out.writeBoolean(properties.fixedRotation);
+			out.writeBoolean(properties.active);
+			out.writeBoolean(properties.sleepingAllowed);
+			out.writeBoolean(properties.adjustOrigin);
+			out.writeShort(properties.maskBits);
+			out.writeShort(properties.categoryBits);
+
+		} else if (type == VisPolygon.class) {
+			VisPolygon polygon = (VisPolygon) component;
+			out.writeByte(COMPONENT_VIS_POLYGON);
+			out.writeInt(polygon.vertices.size);
+			for (Vector2 vertex : polygon.vertices) {
+				out.writeFloat(vertex.x);
+				out.writeFloat(vertex.y);
+			}
+
+			if (polygon.faces == null) {
+				out.writeInt(NULL_REF);
+			} else {
+				out.writeInt(polygon.faces.length);
+				for (Vector2[] face : polygon.faces) {
+					out.writeInt(face.length);
+					for (Vector2 vertex : face) {
+						out.writeFloat(vertex.x);
+						out.writeFloat(vertex.y);
+					}
+				}
+			}
+
+		} else if (type == ProtoVisSprite.class) {
+			ProtoVisSprite sprite = (ProtoVisSprite) component;
+			out.writeByte(COMPONENT_PROTO_SPRITE);
+			out.writeBoolean(sprite.flipX);
+			out.writeBoolean(sprite.flipY);
+			out.writeFloat(sprite.width);
+			out.writeFloat(sprite.height);
+
+		} else if (type == ProtoVisText.class) {
+			ProtoVisText text = (ProtoVisText) component;
+			out.writeByte(COMPONENT_PROTO_TEXT);
+			out.writeInt(string(text.text));
+			out.writeBoolean(text.autoSetOriginToCenter);
+			out.writeBoolean(text.isUsesDistanceField);
+
+		} else if (type == ProtoVisParticle.class) {
+			out.writeByte(COMPONENT_PROTO_PARTICLE);
+			out.writeBoolean(((ProtoVisParticle) component).activeOnStart);
+
+		} else if (type == ProtoVisSound.class) {
+			out.writeByte(COMPONENT_PROTO_SOUND);
+
+		} else if (type == ProtoVisMusic.class) {
+			ProtoVisMusic music = (ProtoVisMusic) component;
+			out.writeByte(COMPONENT_PROTO_MUSIC);
+			out.writeBoolean(music.playOnStart);
+			out.writeBoolean(music.looping);
+			out.writeFloat(music.volume);
+
+		} else if (type == ProtoShader.class) {
+			out.writeByte(COMPONENT_PROTO_SHADER);
+			out.writeInt(asset(((ProtoShader) component).asset));
+
+		} else if (type == VisSpriteAnimation.class) {
+			VisSpriteAnimation animation = (VisSpriteAnimation) component;
+			out.writeByte(COMPONENT_SPRITE_ANIMATION);
+			out.writeByte(animation.getPlayMode().ordinal());
+			out.writeFloat(animation.getFrameDuration());
+			out.writeBoolean(animation.isPlaying());
+			out.writeInt(string(animation.getAnimationName()));
+
+		} else {
+			out.writeByte(COMPONENT_JSON);
+			writeUTF8(out, json.toJson(component, Component.class));
+		}
+	}
+
+	private void writeVariables (Variables variables, DataOutputStream out) throws IOException {
+		out.writeInt(variables.variables.size);
+		for (Entry<String, String> entry : variables.variables.entries()) {
+			out.writeInt(string(entry.key));
+			out.writeInt(string(entry.value));
+		}
+	}
+
+	private void writeAsset (VisAssetDescriptor asset, DataOutputStream out) throws IOException {
+		Class<?> type = asset.getClass();
+
+		if (type == TextureRegionAsset.class) {
+			out.writeByte(ASSET_TEXTURE_REGION);
+			out.writeInt(string(((TextureRegionAsset) asset).getPath()));
+
+		} else if (type == AtlasRegionAsset.class) {
+			AtlasRegionAsset regionAsset = (AtlasRegionAsset) asset;
+			out.writeByte(ASSET_ATLAS_REGION);
+			out.writeInt(string(regionAsset.getPath()));
+			out.writeInt(string(regionAsset.getRegionName()));
+
+		} else if (type == BmpFontAsset.class && isParameterSupported(((BmpFontAsset) asset).getFontParameter())) {
+			BmpFontAsset fontAsset = (BmpFontAsset) asset;
+			BitmapFontParameter parameter = fontAsset.getFontParameter();
+			out.writeByte(ASSET_BMP_FONT);
+			out.writeInt(string(fontAsset.getPath()));
+			out.writeBoolean(parameter != null);
+			if (parameter != null) {
+				out.writeBoolean(parameter.flip);
+				out.writeBoolean(parameter.genMipMaps);
+				out.writeByte(parameter.minFilter.ordinal());
+				out.writeByte(parameter.magFilter.ordinal());
+				out.writeInt(string(parameter.atlasName));
+			}
+
+		} else if (type == TtfFontAsset.class) {
+			TtfFontAsset fontAsset = (TtfFontAsset) asset;
+			out.writeByte(ASSET_TTF_FONT);
+			out.writeInt(string(fontAsset.getPath()));
+			out.writeInt(fontAsset.getFontSize());
+
+		} else if (type == ParticleAsset.class) {
+			out.writeByte(ASSET_PARTICLE);
+			out.writeInt(string(((ParticleAsset) asset).getPath()));
+
+		} else if (type == SoundAsset.class) {
+			out.writeByte(ASSET_SOUND);
+			out.writeInt(string(((SoundAsset) asset).getPath()));
+
+		} else if (type == MusicAsset.class) {
+			out.writeByte(ASSET_MUSIC);
+			out.writeInt(string(((MusicAsset) asset).getPath()));
+
+		} else if (type == ShaderAsset.class) {
+			ShaderAsset shaderAsset = (ShaderAsset) asset;
+			out.writeByte(ASSET_SHADER);
+			out.writeInt(string(shaderAsset.getVertPath()));
+			out.writeInt(string(shaderAsset.getFragPath()));
+
+		} else {
+			out.writeByte(ASSET_JSON);
+			writeUTF8(out, json.toJson(asset, VisAssetDescriptor.class));
+		}
+	}
+
+	/** Parameters with custom font data or loaded callback can't be written using fixed layout */
+	private boolean isParameterSupported (BitmapFontParameter parameter) {
+		return parameter == null || (parameter.bitmapFontData == null && parameter.loadedCallback == null);
+	}
+
+	private int string (String string) {
+		if (string == null) return NULL_REF;
+		int id = stringIds.get(string, NULL_REF);
+		if (id == NULL_REF) {
+			id = strings.size;
+			strings.add(string);
+			stringIds.put(string, id);
+		}
+		return id;
+	}
+
+	private int asset (VisAssetDescriptor asset) {
+		if (asset == null) return NULL_REF;
+
+		String key = getAssetKey(asset);
+		int id = key == null ? NULL_REF : assetIds.get(key, NULL_REF);
+		if (id == NULL_REF) {
+			id = assets.size;
+			assets.add(asset);
+			if (key != null) assetIds.put(key, id);
+		}
+		return id;
+	}
+
+	/** @return key used to find identical assets or null if asset type is unknown and it can't be shared */
+	private String getAssetKey (VisAssetDescriptor asset) {
+		Class<?> type = asset.getClass();
+
+		if (type == TextureRegionAsset.class || type == ParticleAsset.class || type == SoundAsset.class || type == MusicAsset.class)
+			return type.getSimpleName() + ":" + ((PathAsset) asset).getPath();
+		if (type == AtlasRegionAsset.class)
+			return type.getSimpleName() + ":" + ((AtlasRegionAsset) asset).getPath() + ":" + ((AtlasRegionAsset) asset).getRegionName();
+		if (type == TtfFontAsset.class)
+			return type.getSimpleName() + ":" + ((TtfFontAsset) asset).getPath() + ":" + ((TtfFontAsset) asset).getFontSize();
+		if (type == ShaderAsset.class)
+			return type.getSimpleName() + ":" + ((ShaderAsset) asset).getVertPath() + ":" + ((ShaderAsset) asset).getFragPath();
+		if (type == BmpFontAsset.class) {
+			BitmapFontParameter parameter = ((BmpFontAsset) asset).getFontParameter();
+			if (isParameterSupported(parameter) == false) return null;
+			String key = type.getSimpleName() + ":" + ((BmpFontAsset) asset).getPath();
+			if (parameter == null) return key;
+			return key + ":" + parameter.flip + ":" + parameter.genMipMaps + ":" + parameter.minFilter + ":"
+					+ parameter.magFilter + ":" + parameter.atlasName;
+		}
+
+		return null;
+	}
+
+	static void writeUTF8 (DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes("UTF-8");
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+}
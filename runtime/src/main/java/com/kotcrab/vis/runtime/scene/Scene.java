@@ -49,6 +49,12 @@ public class Scene implements Disposable {
 	private float width;
 	private float height;
 
+	/** Not null when scene entities were not yet all created and inflated, see {@link #inflateEntities(int)} */
+	private SceneEntityStream entityStream;
+	private int inflationChunkSize;
+	private BootstrapInvocationStrategy bootstrapStrategy;
+	private InvocationStrategy invocationStrategy;
+
 	/** Used by framework, not indented for external use */
 	public Scene (RuntimeContext context, SceneData data, SceneParameter parameter) {
 		layerData = data.layers;
@@ -85,14 +91,19 @@ public class Scene implements Disposable {
 		engine = new EntityEngine(engineConfig);
 	}
 
+	/** Used by framework, entities from given stream will be created and inflated in chunks of given size */
+	void setEntityStream (SceneEntityStream entityStream, int inflationChunkSize) {
+		this.entityStream = entityStream;
+		this.inflationChunkSize = inflationChunkSize;
+	}
+
 	/**
 	 * Finishes loading scene and inflate all entities. This must be called manually if scene wasn't loaded
 	 * using {@link VisAssetManager} loadSceneNow methods.
 	 */
 	public void init () {
-		engine.setInvocationStrategy(new BootstrapInvocationStrategy());
-		engine.process();
-		engine.setInvocationStrategy(new InvocationStrategy());
+		if (entityStream != null) inflateEntities(Integer.MAX_VALUE);
+		bootstrap();
 
 		for (BaseSystem system : engine.getSystems()) {
 			if (system instanceof AfterSceneInit) {
@@ -101,6 +112,56 @@ public class Scene implements Disposable {
 		}
 	}
 
+	/**
+	 * Creates and inflates next chunk of scene entities. Does nothing if scene wasn't loaded with
+	 * {@link SceneParameter#inflationChunkSize} set. This is called automatically by {@link VisAssetManager#update()},
+	 * remaining entities are always inflated by {@link #init()}.
+	 * @return true if all entities were inflated
+	 */
+	public boolean inflateNextChunk () {
+		return inflateEntities(inflationChunkSize);
+	}
+
+	/**
+	 * Creates and inflates at most given count of scene entities.
+	 * @return true if all entities were inflated
+	 */
+	public boolean inflateEntities (int maxEntities) {
+		if (entityStream == null) return true;
+
+		for (int i = 0; i < maxEntities && entityStream.hasNext(); i++) {
+			entityStream.createNext(engine);
+		}
+
+		//inflaters are processing entities when they are added to engine
+		bootstrap();
+
+		if (entityStream.hasNext() == false) entityStream = null;
+		return entityStream == null;
+	}
+
+	/** @return true if all scene entities were created and inflated */
+	public boolean isInflated () {
+		return entityStream == null;
+	}
+
+	/** @return value between 0 and 1 */
+	public float getInflationProgress () {
+		if (entityStream == null || entityStream.getTotalCount() == 0) return 1;
+		return entityStream.getCreatedCount() / (float) entityStream.getTotalCount();
+	}
+
+	private void bootstrap () {
+		if (bootstrapStrategy == null) {
+			bootstrapStrategy = new BootstrapInvocationStrategy();
+			invocationStrategy = new InvocationStrategy();
+		}
+
+		engine.setInvocationStrategy(bootstrapStrategy);
+		engine.process();
+		engine.setInvocationStrategy(invocationStrategy);
+	}
+
 	/** Updates and renders entire scene. Typically called from {@link ApplicationListener#render()} */
 	public void render () {
 		engine.setDelta(Math.min(Gdx.graphics.getDeltaTime(), 1 / 60f));
@@ -146,6 +207,7 @@ public class Scene implements Disposable {
 
 	@Override
 	public void dispose () {
+		entityStream = null;
 		engine.dispose();
 	}
 }
@@ -34,9 +34,12 @@ public class SceneConfig {
 		registerFeatureGroup(SceneFeatureGroup.RENDERER, Priority.VIS_RENDERER);
 		registerFeatureGroup(SceneFeatureGroup.PHYSICS_DEBUG, Priority.VIS_OTHER);
 
+		//spatial index must see changes made by user systems before dirty flags are cleared
+		registerFeature(SceneFeature.SPATIAL_INDEX_SYSTEM, Priority.VIS_LOW.before());
 		registerFeature(SceneFeature.DIRTY_CLEANER_SYSTEM, Priority.VIS_LOW);
 
 		disable(SceneFeature.GROUP_ID_MANAGER);
+		disable(SceneFeature.SPATIAL_INDEX_SYSTEM);
 		disable(SceneFeature.BOX2D_DEBUG_RENDER_SYSTEM);
 	}
 
@@ -117,7 +120,11 @@ public class SceneConfig {
 	}
 
 	private void registerFeature (SceneFeature feature, Priority priority) {
-		elements.add(new ConfigElement(feature, feature.defaultProvider, priority.toIntValue()));
+		registerFeature(feature, priority.toIntValue());
+	}
+
+	private void registerFeature (SceneFeature feature, int priority) {
+		elements.add(new ConfigElement(feature, feature.defaultProvider, priority));
 	}
 
 	private void registerFeatureGroup (SceneFeatureGroup group, Priority priority) {
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.scene;
+
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.runtime.data.EntityData;
+import com.kotcrab.vis.runtime.data.binary.BinarySceneReader;
+import com.kotcrab.vis.runtime.util.EntityEngine;
+
+/**
+ * Source of scene entities that allows to create them one by one, either from JSON {@link EntityData} or directly from
+ * {@link BinarySceneReader}.
+ * @author Kotcrab
+ */
+class SceneEntityStream {
+	private final Array<EntityData> entities;
+	private final BinarySceneReader reader;
+
+	private final int total;
+	private int created;
+
+	SceneEntityStream (Array<EntityData> entities) {
+		this.entities = entities;
+		this.reader = null;
+		this.total = entities.size;
+	}
+
+	SceneEntityStream (BinarySceneReader reader) {
+		this.entities = null;
+		this.reader = reader;
+		this.total = reader.getEntityCount();
+	}
+
+	boolean hasNext () {
+		return created < total;
+	}
+
+	void createNext (EntityEngine engine) {
+		if (reader != null)
+			reader.readEntity(engine);
+		else
+			entities.get(created).build(engine);
+
+		created++;
+	}
+
+	void createAll (EntityEngine engine) {
+		while (hasNext())
+			createNext(engine);
+	}
+
+	int getCreatedCount () {
+		return created;
+	}
+
+	int getTotalCount () {
+		return total;
+	}
+}
@@ -60,6 +60,15 @@ public enum SceneFeature {
 		}
 	}),
 
+	/** Indexes sprites and texts bounds allowing to quickly find entities in given region. Disabled by default. */
+	SPATIAL_INDEX_SYSTEM(new SystemProvider() {
+		@Override
+		public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
+			//scene may have zero size, cell size must be positive
+			return new SpatialIndexSystem(Math.max(Math.max(data.width, data.height) / 4f, 1f));
+		}
+	}),
+
 	/** Allows to get layers data. Essential system, disabling it will result in definite crash. */
 	LAYER_MANAGER(new SystemProvider() {
 		@Override
@@ -120,7 +129,7 @@ public enum SceneFeature {
 	PHYSICS_SYSTEM(new SystemProvider() {
 		@Override
 		public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
-			return new PhysicsSystem(data.physicsSettings);
+			return new PhysicsSystem(data.physicsSettings, context.configuration);
 		}
 	}),
 
@@ -144,7 +153,10 @@ public enum SceneFeature {
 	RENDER_BATCHING_SYSTEM(new SystemProvider() {
 		@Override
 		public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
-			return new RenderBatchingSystem(context.batch, false);
+			RenderBatchingSystem system = new RenderBatchingSystem(context.batch, false);
+			system.setStateSortingEnabled(context.configuration.renderBatchingStateSorting);
+			system.setCullingEnabled(context.configuration.renderBatchingCulling);
+			return system;
 		}
 	}),
 
@@ -41,6 +41,8 @@ import com.kotcrab.vis.runtime.component.AssetReference;
 import com.kotcrab.vis.runtime.component.proto.ProtoShader;
 import com.kotcrab.vis.runtime.data.EntityData;
 import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.data.binary.BinarySceneFormat;
+import com.kotcrab.vis.runtime.data.binary.BinarySceneReader;
 import com.kotcrab.vis.runtime.font.BitmapFontProvider;
 import com.kotcrab.vis.runtime.font.FontProvider;
 import com.kotcrab.vis.runtime.plugin.EntitySupport;
@@ -50,8 +52,11 @@ import com.kotcrab.vis.runtime.util.ImmutableArray;
 import com.kotcrab.vis.runtime.util.json.LibgdxJsonTagRegistrar;
 import com.kotcrab.vis.runtime.util.json.RuntimeJsonTags;
 
+import java.io.ByteArrayInputStream;
+
 /**
  * Scene loader for {@link AssetManager}. Allow to load entire scene file with all required dependencies such as textures, sounds etc.
+ * Both JSON and binary scene formats are supported, format is detected from file header. See {@link BinarySceneFormat}.
  * @author Kotcrab
  */
 public class SceneLoader extends AsynchronousAssetLoader<Scene, SceneParameter> {
@@ -59,6 +64,8 @@ public class SceneLoader extends AsynchronousAssetLoader<Scene, SceneParameter>
 
 	private RuntimeConfiguration configuration;
 	private SceneData data;
+	/** Set when currently loaded scene uses binary format, entities are then read directly from it in {@link #loadSync} */
+	private BinarySceneReader binaryReader;
 
 	private boolean distanceFieldShaderLoaded;
 	private FontProvider bmpFontProvider;
@@ -110,10 +117,19 @@ public class SceneLoader extends AsynchronousAssetLoader<Scene, SceneParameter>
 		if (batch == null) throw new IllegalStateException("Batch not set, see #setBatch(Batch)");
 
 		Json json = getJson();
-		data = json.fromJson(SceneData.class, file);
-
 		Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
-		loadDependencies(dependencies, data.entities);
+
+		byte[] bytes = file.readBytes();
+		if (BinarySceneFormat.isBinaryScene(bytes)) {
+			binaryReader = new BinarySceneReader(bytes, json);
+			data = binaryReader.getSceneData();
+			loadBinaryDependencies(dependencies, binaryReader);
+		} else {
+			binaryReader = null;
+			data = json.fromJson(SceneData.class, new ByteArrayInputStream(bytes));
+			loadDependencies(dependencies, data.entities);
+		}
+
 		return dependencies;
 	}
 
@@ -121,55 +137,79 @@ public class SceneLoader extends AsynchronousAssetLoader<Scene, SceneParameter>
 		for (EntityData entityData : entities) {
 			for (Component component : entityData.components) {
 				if (component instanceof AssetReference) {
-					VisAssetDescriptor asset = ((AssetReference) component).asset;
-
-					//TODO refactor
-					if (asset instanceof TextureRegionAsset) {
-						dependencies.add(new AssetDescriptor<TextureAtlas>(data.textureAtlasPath, TextureAtlas.class));
+					loadAssetDependencies(dependencies, ((AssetReference) component).asset);
+				}
 
-					} else if (asset instanceof AtlasRegionAsset) {
-						AtlasRegionAsset regionAsset = (AtlasRegionAsset) asset;
-						dependencies.add(new AssetDescriptor<TextureAtlas>(regionAsset.getPath(), TextureAtlas.class));
+				if (component instanceof ProtoShader) {
+					loadShaderDependencies(dependencies, ((ProtoShader) component).asset);
+				}
 
-					} else if (asset instanceof BmpFontAsset) {
-						checkShader(dependencies);
-						bmpFontProvider.load(dependencies, asset);
+				for (EntitySupport support : supports)
+					support.resolveDependencies(dependencies, entityData, component);
+			}
+		}
+	}
 
-					} else if (asset instanceof TtfFontAsset) {
-						if (ttfFontProvider == null) {
-							throw new IllegalStateException("TTF fonts are not enabled, ensure that gdx-freetype was " +
-									"added to your project and call `manager.enableFreeType(new FreeTypeFontProvider())` " +
-									"before scene loading!");
-						}
-						ttfFontProvider.load(dependencies, asset);
+	private void loadBinaryDependencies (Array<AssetDescriptor> dependencies, BinarySceneReader reader) {
+		//binary scene stores all assets in single table, there is no need to check every entity
+		for (VisAssetDescriptor asset : reader.getAssets()) {
+			if (asset instanceof ShaderAsset)
+				loadShaderDependencies(dependencies, (ShaderAsset) asset);
+			else
+				loadAssetDependencies(dependencies, asset);
+		}
 
-					} else if (asset instanceof ParticleAsset) {
-						PathAsset particleAsset = (ParticleAsset) asset;
-						dependencies.add(new AssetDescriptor<ParticleEffect>(particleAsset.getPath(), ParticleEffect.class));
+		if (supports.size == 0) return;
 
-					} else if (asset instanceof SoundAsset) {
-						SoundAsset soundAsset = (SoundAsset) asset;
-						dependencies.add(new AssetDescriptor<Sound>(soundAsset.getPath(), Sound.class));
+		//supports may depend on any component, not only on plugin components, so every entity has to be passed to them
+		for (EntityData entityData : reader.readEntities()) {
+			for (Component component : entityData.components) {
+				for (EntitySupport support : supports)
+					support.resolveDependencies(dependencies, entityData, component);
+			}
+		}
+	}
 
-					} else if (asset instanceof MusicAsset) {
-						MusicAsset musicAsset = (MusicAsset) asset;
-						dependencies.add(new AssetDescriptor<Music>(musicAsset.getPath(), Music.class));
+	private void loadAssetDependencies (Array<AssetDescriptor> dependencies, VisAssetDescriptor asset) {
+		//TODO refactor
+		if (asset instanceof TextureRegionAsset) {
+			dependencies.add(new AssetDescriptor<TextureAtlas>(data.textureAtlasPath, TextureAtlas.class));
 
-					}
-				}
+		} else if (asset instanceof AtlasRegionAsset) {
+			AtlasRegionAsset regionAsset = (AtlasRegionAsset) asset;
+			dependencies.add(new AssetDescriptor<TextureAtlas>(regionAsset.getPath(), TextureAtlas.class));
 
-				if (component instanceof ProtoShader) {
-					ProtoShader shaderComponent = (ProtoShader) component;
-					ShaderAsset asset = shaderComponent.asset;
-					if (asset != null) {
-						String path = asset.getFragPath().substring(0, asset.getFragPath().length() - 5);
-						dependencies.add(new AssetDescriptor<ShaderProgram>(path, ShaderProgram.class));
-					}
-				}
+		} else if (asset instanceof BmpFontAsset) {
+			checkShader(dependencies);
+			bmpFontProvider.load(dependencies, asset);
 
-				for (EntitySupport support : supports)
-					support.resolveDependencies(dependencies, entityData, component);
+		} else if (asset instanceof TtfFontAsset) {
+			if (ttfFontProvider == null) {
+				throw new IllegalStateException("TTF fonts are not enabled, ensure that gdx-freetype was " +
+						"added to your project and call `manager.enableFreeType(new FreeTypeFontProvider())` " +
+						"before scene loading!");
 			}
+			ttfFontProvider.load(dependencies, asset);
+
+		} else if (asset instanceof ParticleAsset) {
+			PathAsset particleAsset = (ParticleAsset) asset;
+			dependencies.add(new AssetDescriptor<ParticleEffect>(particleAsset.getPath(), ParticleEffect.class));
+
+		} else if (asset instanceof SoundAsset) {
+			SoundAsset soundAsset = (SoundAsset) asset;
+			dependencies.add(new AssetDescriptor<Sound>(soundAsset.getPath(), Sound.class));
+
+		} else if (asset instanceof MusicAsset) {
+			MusicAsset musicAsset = (MusicAsset) asset;
+			dependencies.add(new AssetDescriptor<Music>(musicAsset.getPath(), Music.class));
+
+		}
+	}
+
+	private void loadShaderDependencies (Array<AssetDescriptor> dependencies, ShaderAsset asset) {
+		if (asset != null) {
+			String path = asset.getFragPath().substring(0, asset.getFragPath().length() - 5);
+			dependencies.add(new AssetDescriptor<ShaderProgram>(path, ShaderProgram.class));
 		}
 	}
 
@@ -189,9 +229,16 @@ public class SceneLoader extends AsynchronousAssetLoader<Scene, SceneParameter>
 	public Scene loadSync (AssetManager manager, String fileName, FileHandle file, SceneLoader.SceneParameter parameter) {
 		RuntimeContext context = new RuntimeContext(configuration, batch, manager, new ImmutableArray<EntitySupport>(supports));
 		Scene scene = new Scene(context, data, parameter);
-		EntityEngine engine = scene.getEntityEngine();
-		for (EntityData entityData : data.entities)
-			entityData.build(engine);
+		SceneEntityStream entityStream = binaryReader != null ? new SceneEntityStream(binaryReader) : new SceneEntityStream(data.entities);
+		binaryReader = null;
+
+		if (parameter != null && parameter.inflationChunkSize > 0) {
+			scene.setEntityStream(entityStream, parameter.inflationChunkSize);
+			if (manager instanceof VisAssetManager) ((VisAssetManager) manager).scheduleInflation(scene);
+		} else {
+			entityStream.createAll(scene.getEntityEngine());
+		}
+
 		return scene;
 	}
 
@@ -208,5 +255,12 @@ public class SceneLoader extends AsynchronousAssetLoader<Scene, SceneParameter>
 		 * enable it in config.
 		 */
 		public boolean respectScenePhysicsSettings = true;
+		/**
+		 * If greater than 0 scene entities won't be created all at once when scene is loaded, instead they will be created
+		 * and inflated in chunks of this size. When scene is loaded using {@link VisAssetManager} chunks are processed
+		 * during {@link VisAssetManager#update()} calls and inflation is included in loading progress, this allows to avoid
+		 * long frame freezes when loading big scenes. Remaining entities are always inflated in {@link Scene#init()}.
+		 */
+		public int inflationChunkSize = 0;
 	}
 }
@@ -16,11 +16,14 @@
 
 package com.kotcrab.vis.runtime.scene;
 
+import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
 import com.kotcrab.vis.runtime.RuntimeConfiguration;
 import com.kotcrab.vis.runtime.font.FontProvider;
 import com.kotcrab.vis.runtime.font.FreeTypeFontProvider;
@@ -36,6 +39,13 @@ import com.kotcrab.vis.runtime.util.ShaderLoader;
 public class VisAssetManager extends AssetManager {
 	private SceneLoader sceneLoader;
 
+	private final Array<Scene> inflatingScenes = new Array<Scene>();
+	/** Count of queued scenes that will be inflated in chunks, used to calculate loading progress */
+	private int scenesToInflate;
+	/** Paths of scenes counted in {@link #scenesToInflate}, scene queued again must not be counted twice */
+	private final ObjectSet<String> scenesToInflatePaths = new ObjectSet<String>();
+	private int scenesInflated;
+
 	public VisAssetManager (Batch batch) {
 		this(new InternalFileHandleResolver(), batch);
 	}
@@ -74,6 +84,60 @@ public class VisAssetManager extends AssetManager {
 		return loadSceneNow(scenePath, null);
 	}
 
+	@Override
+	public synchronized <T> void load (String fileName, Class<T> type, AssetLoaderParameters<T> parameter) {
+		if (type == Scene.class && parameter != null && ((SceneParameter) parameter).inflationChunkSize > 0 && isLoaded(fileName) == false
+				&& scenesToInflatePaths.add(fileName))
+			scenesToInflate++;
+		super.load(fileName, type, parameter);
+	}
+
+	/**
+	 * Updates assets loading and inflates next chunk of entities of scenes loaded with
+	 * {@link SceneParameter#inflationChunkSize} set.
+	 * @return true if all loading is finished, including entity inflation
+	 */
+	@Override
+	public synchronized boolean update () {
+		boolean done = super.update();
+
+		if (inflatingScenes.size > 0) {
+			Scene scene = inflatingScenes.first();
+			if (scene.inflateNextChunk()) {
+				inflatingScenes.removeIndex(0);
+				scenesInflated++;
+			}
+		}
+
+		if (done && inflatingScenes.size == 0) {
+			scenesToInflate = 0;
+			scenesInflated = 0;
+			scenesToInflatePaths.clear();
+			return true;
+		}
+
+		return false;
+	}
+
+	/** @return loading progress as value between 0 and 1, includes entity inflation of scenes loaded in chunks */
+	@Override
+	public synchronized float getProgress () {
+		float progress = super.getProgress();
+		if (scenesToInflate == 0) return progress;
+
+		float inflated = scenesInflated;
+		for (Scene scene : inflatingScenes) {
+			inflated += scene.getInflationProgress();
+		}
+
+		return (progress + Math.min(1, inflated / scenesToInflate)) / 2;
+	}
+
+	/** Used by framework, schedules scene for inflation during {@link #update()} */
+	synchronized void scheduleInflation (Scene scene) {
+		inflatingScenes.add(scene);
+	}
+
 	public Scene loadSceneNow (String scenePath, SceneParameter parameter) {
 		load(scenePath, Scene.class, parameter);
 		finishLoading();
@@ -18,21 +18,29 @@ package com.kotcrab.vis.runtime.system;
 
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
+import com.artemis.annotations.Wire;
 import com.artemis.systems.IteratingSystem;
 import com.kotcrab.vis.runtime.component.*;
+import com.kotcrab.vis.runtime.system.render.RenderBatchingSystem;
 
 /**
- * System responsible for cleaning dirty properties on entity components.
+ * System responsible for cleaning dirty properties on entity components. Entity components may be changed after
+ * {@link RenderBatchingSystem} was processed (eg. by animation or user systems), so before clearing flags cached culling
+ * bounds of entities which were changed are invalidated.
  * @author Kotcrab
  */
+@Wire(failOnNull = false)
 public class DirtyCleanerSystem extends IteratingSystem {
+	private RenderBatchingSystem renderSystem;
+
 	private ComponentMapper<Transform> transformCm;
 	private ComponentMapper<Origin> originCm;
 	private ComponentMapper<Tint> tintCm;
 	private ComponentMapper<VisSpriteAnimation> spriteAnimCm;
+	private ComponentMapper<VisSprite> spriteCm;
 
 	public DirtyCleanerSystem () {
-		super(Aspect.one(Transform.class, Origin.class, Tint.class, VisSpriteAnimation.class).exclude(Invisible.class));
+		super(Aspect.one(Transform.class, Origin.class, Tint.class, VisSpriteAnimation.class, VisSprite.class).exclude(Invisible.class));
 	}
 
 	@Override
@@ -41,10 +49,19 @@ public class DirtyCleanerSystem extends IteratingSystem {
 		Origin origin = originCm.get(entityId);
 		Tint tint = tintCm.get(entityId);
 		VisSpriteAnimation anim = spriteAnimCm.get(entityId);
+		VisSprite sprite = spriteCm.get(entityId);
+
+		if (renderSystem != null && isBoundsChanged(transform, origin, sprite)) renderSystem.invalidateBounds(entityId);
 
 		if (transform != null) transform.setDirty(false);
 		if (origin != null) origin.setDirty(false);
 		if (tint != null) tint.setDirty(false);
 		if (anim != null) anim.setDirty(false);
+		if (sprite != null) sprite.setDirty(false);
+	}
+
+	private boolean isBoundsChanged (Transform transform, Origin origin, VisSprite sprite) {
+		return (transform != null && transform.isDirty()) || (origin != null && origin.isDirty())
+				|| (sprite != null && sprite.isDirty());
 	}
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.system;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.systems.IteratingSystem;
+import com.badlogic.gdx.math.Polygon;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+import com.kotcrab.vis.runtime.component.*;
+import com.kotcrab.vis.runtime.scene.SceneFeature;
+import com.kotcrab.vis.runtime.util.UniformGrid;
+
+/**
+ * Keeps {@link UniformGrid} index of sprite and text entities bounds. Allows to quickly find entities in given region or at
+ * given point without iterating over all entities. Index is updated incrementally, entity is only reindexed when its
+ * {@link Transform}, {@link Origin} or {@link VisSprite} is dirty or when text bounds has changed. Dirty flags are cleared
+ * by {@link DirtyCleanerSystem} so this system must be processed after all systems that modify entities and before
+ * {@link DirtyCleanerSystem}, when enabled using {@link SceneFeature#SPATIAL_INDEX_SYSTEM} it is processed right
+ * before that system.
+ * <p>
+ * Queries don't allocate memory (except when result array needs to grow). Returned bounds are the same as bounds used
+ * during last update of this system, so entities changed in current frame will be reported using their old bounds
+ * until this system is processed.
+ * @author Kotcrab
+ */
+public class SpatialIndexSystem extends IteratingSystem {
+	private ComponentMapper<Transform> transformCm;
+	private ComponentMapper<Origin> originCm;
+	private ComponentMapper<VisSprite> spriteCm;
+	private ComponentMapper<VisText> textCm;
+
+	private final UniformGrid grid;
+
+	private final Rectangle tmpRect = new Rectangle();
+	private Polygon polygon;
+	private float[] polygonVerts = new float[8];
+
+	/** @param cellSize size of single grid cell in world units, should be close to size of typical query region */
+	public SpatialIndexSystem (float cellSize) {
+		super(Aspect.all(Transform.class).one(VisSprite.class, VisText.class));
+		grid = new UniformGrid(cellSize);
+
+		polygon = new Polygon(polygonVerts);
+	}
+
+	@Override
+	protected void inserted (int entityId) {
+		update(entityId);
+	}
+
+	@Override
+	protected void removed (int entityId) {
+		grid.remove(entityId);
+	}
+
+	@Override
+	protected void process (int entityId) {
+		if (grid.contains(entityId) == false) {
+			update(entityId);
+			return;
+		}
+
+		Transform transform = transformCm.get(entityId);
+		Origin origin = originCm.get(entityId);
+		VisSprite sprite = spriteCm.get(entityId);
+		if (transform.isDirty() || (origin != null && origin.isDirty()) || (sprite != null && sprite.isDirty())) {
+			update(entityId);
+			return;
+		}
+
+		// text bounds may change without transform change, eg. after setting new text
+		VisText text = textCm.get(entityId);
+		if (text != null && grid.hasBounds(entityId, text.getBoundingRectangle()) == false) {
+			update(entityId);
+		}
+	}
+
+	private void update (int entityId) {
+		if (calculateBounds(entityId, tmpRect)) grid.update(entityId, tmpRect);
+	}
+
+	private boolean calculateBounds (int entityId, Rectangle rect) {
+		VisText text = textCm.get(entityId);
+		if (text != null) {
+			rect.set(text.getBoundingRectangle());
+			return true;
+		}
+
+		VisSprite sprite = spriteCm.get(entityId);
+		if (sprite == null) return false;
+		Transform transform = transformCm.get(entityId);
+		Origin origin = originCm.get(entityId);
+
+		polygonVerts[2] = sprite.getWidth();
+		polygonVerts[4] = sprite.getWidth();
+		polygonVerts[5] = sprite.getHeight();
+		polygonVerts[7] = sprite.getHeight();
+
+		polygon.setPosition(transform.getX(), transform.getY());
+		polygon.setRotation(transform.getRotation());
+		polygon.setScale(transform.getScaleX(), transform.getScaleY());
+		if (origin != null)
+			polygon.setOrigin(origin.getOriginX(), origin.getOriginY());
+		else
+			polygon.setOrigin(0, 0);
+		rect.set(polygon.getBoundingRectangle());
+		return true;
+	}
+
+	/**
+	 * Finds all entities which bounds overlap given region.
+	 * @param result array that entities ids will be stored in, array is cleared before adding results
+	 * @return result array for chaining
+	 */
+	public IntArray query (float x, float y, float width, float height, IntArray result) {
+		return grid.query(x, y, width, height, result);
+	}
+
+	/**
+	 * Finds all entities which bounds overlap given region.
+	 * @param result array that entities ids will be stored in, array is cleared before adding results
+	 * @return result array for chaining
+	 */
+	public IntArray query (Rectangle region, IntArray result) {
+		return grid.query(region.x, region.y, region.width, region.height, result);
+	}
+
+	/**
+	 * Finds all entities which bounds contain given point.
+	 * @param result array that entities ids will be stored in, array is cleared before adding results
+	 * @return result array for chaining
+	 */
+	public IntArray queryPoint (float x, float y, IntArray result) {
+		return grid.queryPoint(x, y, result);
+	}
+
+	/**
+	 * Returns indexed bounds of entity.
+	 * @return given rectangle for chaining or null if entity is not indexed
+	 */
+	public Rectangle getBounds (int entityId, Rectangle rect) {
+		return grid.getBounds(entityId, rect);
+	}
+
+	public float getCellSize () {
+		return grid.getCellSize();
+	}
+}
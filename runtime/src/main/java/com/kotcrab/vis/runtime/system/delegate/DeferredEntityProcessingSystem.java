@@ -18,6 +18,7 @@ package com.kotcrab.vis.runtime.system.delegate;
 
 import com.artemis.Aspect;
 import com.artemis.BaseEntitySystem;
+import com.badlogic.gdx.math.Rectangle;
 
 /**
  * Actor for a principal system.
@@ -68,6 +69,39 @@ public abstract class DeferredEntityProcessingSystem extends BaseEntitySystem {
 	 */
 	protected abstract void process (int e);
 
+	/**
+	 * Returns render state of entity, principal may use it to group entities sharing same state. Default implementation
+	 * returns null.
+	 * @param e the entity
+	 * @return object describing render state of entity, usually texture, or null if unknown
+	 * @see EntityRenderStateProvider
+	 */
+	protected Object getRenderState (int e) {
+		return null;
+	}
+
+	/**
+	 * Calculates bounds of entity, principal may use it to skip processing of entities that are not visible. Default
+	 * implementation returns false which means that entity will never be culled.
+	 * @param e the entity
+	 * @param bounds rectangle that must be set to axis aligned bounds of entity
+	 * @return true if bounds were set, false if bounds are unknown
+	 * @see EntityBoundsProvider
+	 */
+	protected boolean getBounds (int e, Rectangle bounds) {
+		return false;
+	}
+
+	/**
+	 * @param e the entity
+	 * @return true if bounds of entity must be recalculated even if its transform and origin were not changed. Default
+	 * implementation returns false.
+	 * @see EntityBoundsProvider
+	 */
+	protected boolean isBoundsDirty (int e) {
+		return false;
+	}
+
 	@Override
 	protected void removed (int entityId) {
 
@@ -94,7 +128,9 @@ public abstract class DeferredEntityProcessingSystem extends BaseEntitySystem {
 	 * Workaround for naming collisions, so the all callers
 	 * can use the methods they are used to.
 	 */
-	protected EntityProcessAgent localProcessingAgent = new EntityProcessAgent() {
+	protected EntityProcessAgent localProcessingAgent = new LocalProcessingAgent();
+
+	private class LocalProcessingAgent implements EntityProcessAgent, EntityRenderStateProvider, EntityBoundsProvider {
 		@Override
 		public void begin () {
 			DeferredEntityProcessingSystem.this.begin();
@@ -109,5 +145,20 @@ public abstract class DeferredEntityProcessingSystem extends BaseEntitySystem {
 		public void process (int e) {
 			DeferredEntityProcessingSystem.this.process(e);
 		}
-	};
+
+		@Override
+		public Object getRenderState (int e) {
+			return DeferredEntityProcessingSystem.this.getRenderState(e);
+		}
+
+		@Override
+		public boolean getBounds (int e, Rectangle bounds) {
+			return DeferredEntityProcessingSystem.this.getBounds(e, bounds);
+		}
+
+		@Override
+		public boolean isBoundsDirty (int e) {
+			return DeferredEntityProcessingSystem.this.isBoundsDirty(e);
+		}
+	}
 }
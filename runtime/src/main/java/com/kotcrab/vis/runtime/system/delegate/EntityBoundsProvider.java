@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.system.delegate;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Optional interface for {@link EntityProcessAgent}. Allows principal to skip processing of entities that are outside
+ * of camera view. Principal caches returned bounds and only asks for them again when entity transform or origin was
+ * changed or when {@link #isBoundsDirty(int)} returns true.
+ * @author Kotcrab
+ */
+public interface EntityBoundsProvider {
+	/**
+	 * @param e entity id
+	 * @param bounds rectangle that must be set to axis aligned bounds of entity
+	 * @return true if bounds were set, false if bounds are unknown and entity must not be culled
+	 */
+	boolean getBounds (int e, Rectangle bounds);
+
+	/**
+	 * @param e entity id
+	 * @return true if bounds of entity have changed even if its transform and origin did not change
+	 */
+	boolean isBoundsDirty (int e);
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.system.delegate;
+
+/**
+ * Optional interface for {@link EntityProcessAgent}. Allows principal to group entities that will be rendered
+ * using same render state (for example same texture) to reduce number of batch flushes.
+ * @author Kotcrab
+ */
+public interface EntityRenderStateProvider {
+	/**
+	 * @param e entity id
+	 * @return object describing render state of entity, usually texture, or null if unknown. Objects are compared by
+	 * identity.
+	 */
+	Object getRenderState (int e);
+}
@@ -18,37 +18,79 @@ package com.kotcrab.vis.runtime.system.physics;
 
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
-import com.artemis.Entity;
-import com.artemis.systems.EntityProcessingSystem;
+import com.artemis.systems.IteratingSystem;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
-import com.kotcrab.vis.runtime.component.PhysicsBody;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Bits;
 import com.kotcrab.vis.runtime.component.OriginalRotation;
+import com.kotcrab.vis.runtime.component.PhysicsBody;
 import com.kotcrab.vis.runtime.component.Transform;
 import com.kotcrab.vis.runtime.component.VisSprite;
 
 /**
- * Updates position of {@link VisSprite} from its physics body.
+ * Updates position of {@link VisSprite} from its physics body. If {@link PhysicsSystem} interpolation is enabled, position
+ * is interpolated between previous and current physics step.
+ * <p>
+ * Sleeping bodies are synced only once after they fall asleep, later they are skipped until they wake up. {@link Transform}
+ * is only modified (and marked as dirty) when body position or rotation has actually changed. Note that moving sleeping
+ * body using {@link Body#setTransform(Vector2, float)} does not wake it up, such body should be woken up manually.
  * @author Kotcrab
  */
-public class PhysicsSpriteUpdateSystem extends EntityProcessingSystem {
+public class PhysicsSpriteUpdateSystem extends IteratingSystem {
 	private ComponentMapper<PhysicsBody> physicsCm;
 	private ComponentMapper<OriginalRotation> originalRotationCm;
 	private ComponentMapper<Transform> transformCm;
 
+	private PhysicsSystem physicsSystem;
+
+	/** Entities which bodies are sleeping and which transforms were already synced with their bodies */
+	private final Bits settled = new Bits();
+
 	public PhysicsSpriteUpdateSystem () {
 		super(Aspect.all(PhysicsBody.class, OriginalRotation.class, VisSprite.class));
 	}
 
 	@Override
-	protected void process (Entity e) {
-		PhysicsBody physics = physicsCm.get(e);
-		if (physics.body == null) return;
-		OriginalRotation originalRotation = originalRotationCm.get(e);
-		Transform transform = transformCm.get(e);
-
-		Vector2 bodyPos = physics.body.getPosition();
-		transform.setPosition(bodyPos.x, bodyPos.y);
-		transform.setRotation(originalRotation.rotation + physics.body.getAngle() * MathUtils.radiansToDegrees);
+	protected void removed (int entityId) {
+		settled.clear(entityId);
+	}
+
+	@Override
+	protected void process (int entityId) {
+		PhysicsBody physics = physicsCm.get(entityId);
+		Body body = physics.body;
+		if (body == null) return;
+
+		boolean awake = body.isAwake();
+		if (awake == false && settled.get(entityId)) return;
+
+		Vector2 bodyPos = body.getPosition();
+		float x = bodyPos.x;
+		float y = bodyPos.y;
+		float angle = body.getAngle();
+
+		if (awake && physicsSystem.isInterpolationEnabled()) {
+			float alpha = physicsSystem.getAlpha();
+			x = physics.previousX + (x - physics.previousX) * alpha;
+			y = physics.previousY + (y - physics.previousY) * alpha;
+			angle = physics.previousAngle + (angle - physics.previousAngle) * alpha;
+		}
+
+		Transform transform = transformCm.get(entityId);
+		if (transform.getX() != x || transform.getY() != y) transform.setPosition(x, y);
+
+		float rotation = originalRotationCm.get(entityId).rotation + angle * MathUtils.radiansToDegrees;
+		if (transform.getRotation() != rotation) transform.setRotation(rotation);
+
+		if (awake)
+			settled.clear(entityId);
+		else
+			settled.set(entityId);
+	}
+
+	/** Forces transform of given entity to be synced with its body during next update even if body is sleeping */
+	public void invalidate (int entityId) {
+		settled.clear(entityId);
 	}
 }
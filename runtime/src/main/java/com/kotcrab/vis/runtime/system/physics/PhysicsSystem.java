@@ -16,34 +16,94 @@
 
 package com.kotcrab.vis.runtime.system.physics;
 
+import com.artemis.Aspect;
 import com.artemis.BaseSystem;
+import com.artemis.ComponentMapper;
+import com.artemis.EntitySubscription;
+import com.artemis.utils.IntBag;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.kotcrab.vis.runtime.RuntimeConfiguration;
+import com.kotcrab.vis.runtime.component.PhysicsBody;
 import com.kotcrab.vis.runtime.data.PhysicsSettings;
 
 /**
- * Responsible for creating and updating physics world.
+ * Responsible for creating and updating physics world. Physics world is stepped using fixed time step, time that was not
+ * yet simulated is carried over to next frame. When interpolation is enabled, body transforms from before last step are
+ * stored in {@link PhysicsBody} and {@link PhysicsSpriteUpdateSystem} blends them with current transforms using
+ * {@link #getAlpha()}.
  * @author Kotcrab
  */
 public class PhysicsSystem extends BaseSystem {
-	private static final float TIME_STEP = 1f / 60f;
-	private static final int VELOCITY_ITERATIONS = 6;
-	private static final int POSITION_ITERATIONS = 2;
+	private static final float MAX_FRAME_TIME = 0.25f;
+
+	private ComponentMapper<PhysicsBody> physicsCm;
 
 	private World box2dWorld;
 	private float timeAccumulator;
 
+	private float timeStep = 1f / 60f;
+	private int velocityIterations = 6;
+	private int positionIterations = 2;
+	private int maxSubSteps = 0;
+	private boolean interpolationEnabled;
+
+	private EntitySubscription bodiesSubscription;
+
+	private int lastStepCount;
+	private long lastStepTimeNanos;
+	private int droppedStepCount;
+
 	public PhysicsSystem (PhysicsSettings physicsSettings) {
 		box2dWorld = new World(new Vector2(physicsSettings.gravityX, physicsSettings.gravityY), physicsSettings.allowSleep);
 	}
 
+	public PhysicsSystem (PhysicsSettings physicsSettings, RuntimeConfiguration configuration) {
+		this(physicsSettings);
+		setTimeStep(configuration.physicsTimeStep);
+		setIterations(configuration.physicsVelocityIterations, configuration.physicsPositionIterations);
+		setMaxSubSteps(configuration.physicsMaxSubSteps);
+		setInterpolationEnabled(configuration.physicsInterpolation);
+	}
+
+	@Override
+	protected void initialize () {
+		bodiesSubscription = world.getAspectSubscriptionManager().get(Aspect.all(PhysicsBody.class));
+	}
+
 	@Override
 	protected void processSystem () {
-		float frameTime = Math.min(world.delta, 0.25f);
+		float frameTime = Math.min(world.delta, MAX_FRAME_TIME);
 		timeAccumulator += frameTime;
-		while (timeAccumulator >= TIME_STEP) {
-			box2dWorld.step(TIME_STEP, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
-			timeAccumulator -= TIME_STEP;
+
+		long startTime = TimeUtils.nanoTime();
+		int steps = 0;
+		while (timeAccumulator >= timeStep) {
+			if (maxSubSteps != 0 && steps == maxSubSteps) {
+				//can't keep up, drop remaining time instead of trying to catch up in next frames
+				droppedStepCount += (int) (timeAccumulator / timeStep);
+				timeAccumulator %= timeStep;
+				break;
+			}
+
+			if (interpolationEnabled) storePreviousTransforms();
+			box2dWorld.step(timeStep, velocityIterations, positionIterations);
+			timeAccumulator -= timeStep;
+			steps++;
+		}
+
+		lastStepCount = steps;
+		lastStepTimeNanos = steps == 0 ? 0 : TimeUtils.nanoTime() - startTime;
+	}
+
+	private void storePreviousTransforms () {
+		IntBag entities = bodiesSubscription.getEntities();
+		int[] ids = entities.getData();
+		for (int i = 0, s = entities.size(); i < s; i++) {
+			PhysicsBody physics = physicsCm.get(ids[i]);
+			//sleeping bodies don't move, their previous transform is already up to date
+			if (physics.body != null && physics.body.isAwake()) physics.storePreviousTransform();
 		}
 	}
 
@@ -55,4 +115,82 @@ public class PhysicsSystem extends BaseSystem {
 	public World getPhysicsWorld () {
 		return box2dWorld;
 	}
+
+	/**
+	 * @return fraction of time step that was not yet simulated, value between 0 and 1. Used to interpolate between previous
+	 * and current body transform.
+	 */
+	public float getAlpha () {
+		return timeAccumulator / timeStep;
+	}
+
+	public float getTimeStep () {
+		return timeStep;
+	}
+
+	/** @param timeStep duration of single physics world step in seconds */
+	public void setTimeStep (float timeStep) {
+		if (timeStep <= 0) throw new IllegalArgumentException("timeStep must be greater than 0");
+		this.timeStep = timeStep;
+	}
+
+	public int getVelocityIterations () {
+		return velocityIterations;
+	}
+
+	public int getPositionIterations () {
+		return positionIterations;
+	}
+
+	public void setIterations (int velocityIterations, int positionIterations) {
+		if (velocityIterations < 1 || positionIterations < 1)
+			throw new IllegalArgumentException("iterations count must be greater than 0");
+		this.velocityIterations = velocityIterations;
+		this.positionIterations = positionIterations;
+	}
+
+	public int getMaxSubSteps () {
+		return maxSubSteps;
+	}
+
+	/**
+	 * @param maxSubSteps maximum number of steps performed during single frame. If more steps would be needed remaining
+	 * time is dropped, this prevents stalls on slow devices. 0 (default) means that number of steps is not limited and
+	 * all accumulated time is simulated.
+	 */
+	public void setMaxSubSteps (int maxSubSteps) {
+		if (maxSubSteps < 0) throw new IllegalArgumentException("maxSubSteps can't be negative");
+		this.maxSubSteps = maxSubSteps;
+	}
+
+	public boolean isInterpolationEnabled () {
+		return interpolationEnabled;
+	}
+
+	/**
+	 * @param interpolationEnabled if true, body transforms applied to sprites will be interpolated between previous and
+	 * current physics step. This removes jitter when frame rate doesn't match physics step rate at the cost of sprites
+	 * being rendered up to one step behind physics world.
+	 */
+	public void setInterpolationEnabled (boolean interpolationEnabled) {
+		if (interpolationEnabled && this.interpolationEnabled == false && bodiesSubscription != null) {
+			storePreviousTransforms();
+		}
+		this.interpolationEnabled = interpolationEnabled;
+	}
+
+	/** @return number of steps performed during last frame */
+	public int getLastStepCount () {
+		return lastStepCount;
+	}
+
+	/** @return time in nanoseconds spent on stepping physics world during last frame */
+	public long getLastStepTimeNanos () {
+		return lastStepTimeNanos;
+	}
+
+	/** @return total number of steps dropped because {@link #getMaxSubSteps()} limit was reached */
+	public int getDroppedStepCount () {
+		return droppedStepCount;
+	}
 }
@@ -27,7 +27,8 @@ import com.kotcrab.vis.runtime.system.delegate.DeferredEntityProcessingSystem;
 import com.kotcrab.vis.runtime.system.delegate.EntityProcessPrincipal;
 
 /**
- * Renders entities with {@link VisParticle}.
+ * Renders entities with {@link VisParticle}. Particle effects are never culled by {@link RenderBatchingSystem}, effects
+ * must be updated every frame even when they are outside of camera view.
  * @author Kotcrab
  */
 public class ParticleRenderSystem extends DeferredEntityProcessingSystem {
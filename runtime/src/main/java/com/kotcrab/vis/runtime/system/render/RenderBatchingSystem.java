@@ -20,28 +20,50 @@ import com.artemis.BaseSystem;
 import com.artemis.ComponentMapper;
 import com.artemis.annotations.Wire;
 import com.artemis.utils.Bag;
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Batch;
-import com.kotcrab.vis.runtime.component.Layer;
-import com.kotcrab.vis.runtime.component.Renderable;
-import com.kotcrab.vis.runtime.component.Shader;
-import com.kotcrab.vis.runtime.component.Tint;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Bits;
+import com.kotcrab.vis.runtime.component.*;
 import com.kotcrab.vis.runtime.scene.LayerCordsSystem;
 import com.kotcrab.vis.runtime.system.CameraManager;
+import com.kotcrab.vis.runtime.system.DirtyCleanerSystem;
 import com.kotcrab.vis.runtime.system.LayerManager;
+import com.kotcrab.vis.runtime.system.delegate.EntityBoundsProvider;
 import com.kotcrab.vis.runtime.system.delegate.EntityProcessAgent;
 import com.kotcrab.vis.runtime.system.delegate.EntityProcessPrincipal;
-import com.kotcrab.vis.runtime.util.BagUtils;
+import com.kotcrab.vis.runtime.system.delegate.EntityRenderStateProvider;
+
+import java.util.Arrays;
+import java.util.Comparator;
 
 /**
  * Plugable render system that uses subsystems to render entities. Entities are rendered sorted by their layer and zIndex
- * , if entity layer or zIndex has changed, {@link #markDirty()} must be called in order to resort the scene. System
- * will automatically resort if entity was added.
+ * , if entity layer or zIndex has changed, {@link #markDirty(int)} (or {@link #markDirty()} if many entities were changed)
+ * must be called in order to resort the scene. Jobs are kept sorted by packed primitive sort key, added and removed
+ * jobs are placed using binary search so the scene is never fully resorted.
+ * <p>
+ * Optionally state sorting can be enabled using {@link #setStateSortingEnabled(boolean)}. In this mode entities that have
+ * same layer and zIndex (and therefore don't have any defined render order) are grouped by shader, agent and render
+ * state (see {@link EntityRenderStateProvider}) to reduce number of batch flushes.
+ * <p>
+ * Entities outside of camera view are not passed to agents if agent provides entity bounds (see {@link EntityBoundsProvider}).
+ * Bounds are cached and only recalculated when entity {@link Transform} or {@link Origin} is dirty, changes done after this
+ * system was processed are reported by {@link DirtyCleanerSystem} using {@link #invalidateBounds(int)}. Culling is disabled
+ * by default and must be enabled using {@link #setCullingEnabled(boolean)}, it is never performed when system is used
+ * from editor.
  * @author Kotcrab
  * @author Daan van Yperen
  */
 @Wire(failOnNull = false)
 public class RenderBatchingSystem extends BaseSystem implements EntityProcessPrincipal {
+	/** When more jobs changed their keys during {@link #markDirty()} all jobs are sorted instead of using insertion sort */
+	private static final int INSERTION_SORT_MAX_CHANGED_KEYS = 16;
+
 	private CameraManager cameraManager;
 	private LayerManager layerManager;
 
@@ -49,9 +71,34 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 	private ComponentMapper<Renderable> renderableCm;
 	private ComponentMapper<Shader> shaderCm;
 	private ComponentMapper<Tint> tintCm;
+	private ComponentMapper<Transform> transformCm;
+	private ComponentMapper<Origin> originCm;
 
 	private boolean sortedDirty = false;
 	private final Bag<Job> sortedJobs = new Bag<Job>();
+	private final IntBag dirtyEntities = new IntBag();
+	/** Temporary storage for jobs moved by {@link #rekey(int)} */
+	private final Bag<Job> movedJobs = new Bag<Job>();
+	/** Last sort key computed for entity, indexed by entity id */
+	private long[] entityKeys = new long[64];
+
+	private boolean stateSortingEnabled = false;
+	private boolean stateOrderDirty = true;
+	private final Bag<Job> stateSortedJobs = new Bag<Job>();
+	private final Comparator<Object> stateComparator = new StateComparator();
+
+	private boolean cullingEnabled = false;
+	private final Rectangle viewBounds = new Rectangle();
+	private final Rectangle uiViewBounds = new Rectangle();
+	private final Rectangle tmpBounds = new Rectangle();
+	/** Cached entity bounds stored as x, y, width, height, indexed by entity id */
+	private float[] boundsCache = new float[64 * 4];
+	private final Bits boundsCached = new Bits();
+	private final Bits boundsKnown = new Bits();
+
+	private int flushCount;
+	private int culledCount;
+	private int renderedCount;
 
 	private Batch batch;
 	private boolean usingFromEditor;
@@ -73,9 +120,12 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 	public void registerAgent (int entityId, EntityProcessAgent agent) {
 		if (!renderableCm.has(entityId))
 			throw new RuntimeException("RenderBatchingSystem requires agents entities to have component Renderable.");
-		// register new job. this will influence sorting order.
-		sortedJobs.add(new Job(entityId, agent));
-		sortedDirty = true;
+		// register new job at position matching its sort key.
+		long key = computeKey(entityId);
+		storeKey(entityId, key);
+		boundsCached.clear(entityId);
+		Job job = new Job(entityId, agent, key);
+		insertJob(job, upperBound(key));
 	}
 
 	/**
@@ -89,15 +139,9 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 	@Override
 	public void unregisterAgent (int entityId, EntityProcessAgent agent) {
 		// forget about the job.
-		final Object[] data = sortedJobs.getData();
-		for (int i = 0, s = sortedJobs.size(); i < s; i++) {
-			final Job e2 = (Job) data[i];
-			if (e2.entityId == entityId && e2.agent == agent) {
-				sortedJobs.remove(i);
-				sortedDirty = true;
-				break;
-			}
-		}
+		int index = indexOf(entityId, agent);
+		if (index != -1) removeJob(index);
+		boundsCached.clear(entityId);
 	}
 
 	@Override
@@ -105,6 +149,12 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 		cameraManager.getCamera().update();
 		cameraManager.getUiCamera().update();
 
+		boolean culling = cullingEnabled && usingFromEditor == false;
+		if (culling) {
+			calculateViewBounds(cameraManager.getCamera(), viewBounds);
+			calculateViewBounds(cameraManager.getUiCamera(), uiViewBounds);
+		}
+
 		LayerCordsSystem activeCordsSystem = LayerCordsSystem.WORLD;
 		batch.setProjectionMatrix(cameraManager.getCombined());
 
@@ -112,26 +162,47 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 
 		if (sortedDirty) {
 			sortedDirty = false;
-			BagUtils.sort(sortedJobs);
+			dirtyEntities.clear();
+			rekeyAll();
+		} else if (dirtyEntities.size() > 0) {
+			int[] dirtyData = dirtyEntities.getData();
+			for (int i = 0, s = dirtyEntities.size(); i < s; i++) {
+				rekey(dirtyData[i]);
+			}
+			dirtyEntities.clear();
 		}
 
+		final Bag<Job> jobs = stateSortingEnabled ? prepareStateSortedJobs() : sortedJobs;
+		flushCount = 0;
+		culledCount = 0;
+		renderedCount = 0;
+
 		// iterate through all the jobs.
 		EntityProcessAgent activeAgent = null;
-		final Object[] data = sortedJobs.getData();
-		for (int i = 0, s = sortedJobs.size(); i < s; i++) {
+		ShaderProgram activeShader = null;
+		final Object[] data = jobs.getData();
+		for (int i = 0, s = jobs.size(); i < s; i++) {
 			final Job job = (Job) data[i];
 			final EntityProcessAgent agent = job.agent;
 
-			boolean changedBatchState = false;
-			final boolean shaderUsed = shaderCm.has(job.entityId);
 			LayerCordsSystem cordsSystem = null;
 
-			final boolean tintUsed = tintCm.has(job.entityId);
-
 			if (usingFromEditor == false) {
 				cordsSystem = layerManager.getData(layerCm.get(job.entityId).layerId).cordsSystem;
 			}
 
+			if (culling && isCulled(job, cordsSystem)) {
+				culledCount++;
+				continue;
+			}
+
+			renderedCount++;
+
+			boolean changedBatchState = false;
+			final ShaderProgram shader = shaderCm.has(job.entityId) ? shaderCm.get(job.entityId).shader : null;
+
+			final boolean tintUsed = tintCm.has(job.entityId);
+
 			// agent changed? end() the last agent, and begin() the next agent.
 			if (agent != activeAgent) {
 				if (activeAgent != null) {
@@ -141,14 +212,23 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 				activeAgent.begin();
 			}
 
-			if (shaderUsed) {
+			if (stateSortingEnabled) {
+				// shader is only switched when it differs from the one used by previous job
+				if (shader != activeShader) {
+					changedBatchState = true;
+					batch.end();
+					batch.setShader(shader);
+					activeShader = shader;
+				}
+			} else if (shader != null) {
 				changedBatchState = true;
 				batch.end();
-				batch.setShader(shaderCm.get(job.entityId).shader);
+				batch.setShader(shader);
 			}
 
 			if (usingFromEditor == false && cordsSystem != activeCordsSystem) {
 				activeCordsSystem = cordsSystem;
+				flushCount++;
 
 				switch (activeCordsSystem) {
 					case WORLD:
@@ -168,13 +248,24 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 				batch.setColor(Color.WHITE);
 			}
 
-			if (changedBatchState) batch.begin();
+			if (changedBatchState) {
+				batch.begin();
+				flushCount++;
+			}
 
 			agent.process(job.entityId);
 
-			if (shaderUsed) batch.setShader(null);
+			if (stateSortingEnabled) {
+				// agent might have changed shader on its own (eg. distance field fonts), it must be set again for next job
+				if (activeShader != null && batch.getShader() != activeShader) activeShader = null;
+			} else if (shader != null) {
+				batch.setShader(null);
+				flushCount++;
+			}
 		}
 
+		if (activeShader != null) batch.setShader(null);
+
 		// finished, terminate final agent.
 		if (activeAgent != null) {
 			activeAgent.end();
@@ -183,40 +274,375 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 		if (usingFromEditor == false) batch.end();
 	}
 
+	private void calculateViewBounds (Camera camera, Rectangle bounds) {
+		// frustum plane points are used so rotated cameras are also supported
+		Vector3[] points = camera.frustum.planePoints;
+		float minX = points[0].x, maxX = points[0].x;
+		float minY = points[0].y, maxY = points[0].y;
+		for (int i = 1; i < points.length; i++) {
+			Vector3 point = points[i];
+			minX = Math.min(minX, point.x);
+			maxX = Math.max(maxX, point.x);
+			minY = Math.min(minY, point.y);
+			maxY = Math.max(maxY, point.y);
+		}
+		bounds.set(minX, minY, maxX - minX, maxY - minY);
+	}
+
+	private boolean isCulled (Job job, LayerCordsSystem cordsSystem) {
+		if (job.agent instanceof EntityBoundsProvider == false) return false;
+		EntityBoundsProvider provider = (EntityBoundsProvider) job.agent;
+		int entityId = job.entityId;
+
+		if (boundsCached.get(entityId) == false || isTransformDirty(entityId) || provider.isBoundsDirty(entityId)) {
+			boundsCached.set(entityId);
+
+			if (provider.getBounds(entityId, tmpBounds)) {
+				boundsKnown.set(entityId);
+				storeBounds(entityId, tmpBounds);
+			} else {
+				boundsKnown.clear(entityId);
+			}
+		}
+
+		if (boundsKnown.get(entityId) == false) return false;
+
+		Rectangle view = cordsSystem == LayerCordsSystem.SCREEN ? uiViewBounds : viewBounds;
+		int index = entityId * 4;
+		float x = boundsCache[index];
+		float y = boundsCache[index + 1];
+		return x > view.x + view.width || x + boundsCache[index + 2] < view.x
+				|| y > view.y + view.height || y + boundsCache[index + 3] < view.y;
+	}
+
+	private boolean isTransformDirty (int entityId) {
+		if (transformCm.has(entityId) && transformCm.get(entityId).isDirty()) return true;
+		return originCm.has(entityId) && originCm.get(entityId).isDirty();
+	}
+
+	private void storeBounds (int entityId, Rectangle bounds) {
+		int index = entityId * 4;
+		if (index + 4 > boundsCache.length) {
+			float[] newCache = new float[Math.max(boundsCache.length * 2, index + 4)];
+			System.arraycopy(boundsCache, 0, newCache, 0, boundsCache.length);
+			boundsCache = newCache;
+		}
+		boundsCache[index] = bounds.x;
+		boundsCache[index + 1] = bounds.y;
+		boundsCache[index + 2] = bounds.width;
+		boundsCache[index + 3] = bounds.height;
+	}
+
+	/**
+	 * Updates render state of all jobs and sorts them. Jobs order from previous frame is retained so sorting is usually
+	 * done in linear time.
+	 */
+	private Bag<Job> prepareStateSortedJobs () {
+		if (stateOrderDirty) {
+			stateOrderDirty = false;
+			stateSortedJobs.clear();
+			stateSortedJobs.addAll(sortedJobs);
+		}
+
+		final Object[] data = stateSortedJobs.getData();
+		final int size = stateSortedJobs.size();
+
+		for (int i = 0; i < size; i++) {
+			Job job = (Job) data[i];
+			job.shaderHash = shaderCm.has(job.entityId) ? System.identityHashCode(shaderCm.get(job.entityId).shader) : 0;
+			job.agentHash = System.identityHashCode(job.agent);
+			if (job.agent instanceof EntityRenderStateProvider) {
+				job.stateHash = System.identityHashCode(((EntityRenderStateProvider) job.agent).getRenderState(job.entityId));
+			} else {
+				job.stateHash = 0;
+			}
+		}
+
+		Arrays.sort(data, 0, size, stateComparator);
+		return stateSortedJobs;
+	}
+
 	public Batch getBatch () {
 		return batch;
 	}
 
+	/**
+	 * Marks all jobs for re-keying, keys are recomputed and jobs are reordered using insertion sort during next frame.
+	 * If only few entities changed their layer or zIndex prefer {@link #markDirty(int)}.
+	 */
 	public void markDirty () {
 		sortedDirty = true;
 	}
 
+	/**
+	 * Marks single entity for re-keying, its jobs will be moved to new position during next frame if entity layer
+	 * or zIndex has changed.
+	 */
+	public void markDirty (int entityId) {
+		dirtyEntities.add(entityId);
+	}
+
 	public boolean isDirty () {
-		return sortedDirty;
+		return sortedDirty || dirtyEntities.size() > 0;
+	}
+
+	/**
+	 * Enables or disables state sorting mode. When enabled, entities having same layer and zIndex are grouped by shader,
+	 * agent and render state to minimize number of batch flushes. Disabled by default, in this mode entities with same
+	 * layer and zIndex are rendered in order they were added.
+	 */
+	public void setStateSortingEnabled (boolean stateSortingEnabled) {
+		this.stateSortingEnabled = stateSortingEnabled;
+		stateOrderDirty = true;
+	}
+
+	public boolean isStateSortingEnabled () {
+		return stateSortingEnabled;
+	}
+
+	/**
+	 * @return number of batch flushes caused by shader or coordinates system changes during last frame. Agent switches
+	 * don't flush batch and are not included. Texture switches handled internally by {@link Batch} and flushes caused by
+	 * agents themselves (eg. by changing batch transform matrix) are not included either.
+	 */
+	public int getFlushCount () {
+		return flushCount;
+	}
+
+	/**
+	 * Enables or disables camera culling. When enabled entities outside of camera view are not passed to agents. Disabled
+	 * by default.
+	 */
+	public void setCullingEnabled (boolean cullingEnabled) {
+		this.cullingEnabled = cullingEnabled;
+	}
+
+	public boolean isCullingEnabled () {
+		return cullingEnabled;
+	}
+
+	/**
+	 * Forces recalculation of cached entity bounds used for culling. Must be called when entity size was changed without
+	 * changing its {@link Transform}, {@link Origin} or {@link VisSprite}.
+	 */
+	public void invalidateBounds (int entityId) {
+		boundsCached.clear(entityId);
+	}
+
+	/** @return number of jobs that were skipped during last frame because entity was outside of camera view */
+	public int getCulledCount () {
+		return culledCount;
+	}
+
+	/** @return number of jobs that were passed to agents during last frame */
+	public int getRenderedCount () {
+		return renderedCount;
+	}
+
+	private long computeKey (int entityId) {
+		return packKey(layerCm.get(entityId).layerId, renderableCm.get(entityId).zIndex);
+	}
+
+	/**
+	 * Packs layer id and zIndex into single long that preserves (layerId, zIndex) ordering. Layer id is stored in upper
+	 * 32 bits, zIndex with flipped sign bit is stored in lower 32 bits so it is ordered correctly as unsigned value.
+	 */
+	static long packKey (int layerId, int zIndex) {
+		return ((long) layerId << 32) | ((zIndex ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+	}
+
+	private void storeKey (int entityId, long key) {
+		if (entityId >= entityKeys.length) {
+			long[] newKeys = new long[Math.max(entityKeys.length * 2, entityId + 1)];
+			System.arraycopy(entityKeys, 0, newKeys, 0, entityKeys.length);
+			entityKeys = newKeys;
+		}
+		entityKeys[entityId] = key;
+	}
+
+	/** Recomputes key of single entity and moves its jobs if key has changed. */
+	private void rekey (int entityId) {
+		if (entityId >= entityKeys.length || !renderableCm.has(entityId) || !layerCm.has(entityId)) return;
+
+		long oldKey = entityKeys[entityId];
+		long newKey = computeKey(entityId);
+		if (oldKey == newKey) return;
+		storeKey(entityId, newKey);
+
+		// all jobs of entity are collected first, entity may have multiple agents and jobs of other entities with the
+		// same key must not be skipped
+		final Object[] data = sortedJobs.getData();
+		final int size = sortedJobs.size();
+		int read = lowerBound(oldKey);
+		int write = read;
+		for (; read < size && ((Job) data[read]).sortKey == oldKey; read++) {
+			Job job = (Job) data[read];
+			if (job.entityId == entityId)
+				movedJobs.add(job);
+			else
+				data[write++] = job;
+		}
+
+		if (movedJobs.size() == 0) return;
+
+		System.arraycopy(data, read, data, write, size - read);
+		for (int i = 0, removed = read - write; i < removed; i++) {
+			sortedJobs.remove(sortedJobs.size() - 1);
+		}
+
+		for (int i = 0, s = movedJobs.size(); i < s; i++) {
+			Job job = movedJobs.get(i);
+			job.sortKey = newKey;
+			insertJob(job, upperBound(newKey));
+		}
+		movedJobs.clear();
+	}
+
+	/**
+	 * Recomputes keys of all jobs and restores order. When only few keys have changed insertion sort is used, which is
+	 * stable and runs in linear time in such case, otherwise all jobs are sorted using stable merge sort.
+	 */
+	private void rekeyAll () {
+		final Object[] data = sortedJobs.getData();
+		final int size = sortedJobs.size();
+
+		int changedKeys = 0;
+		for (int i = 0; i < size; i++) {
+			Job job = (Job) data[i];
+			long key = computeKey(job.entityId);
+			if (job.sortKey != key) changedKeys++;
+			job.sortKey = key;
+			storeKey(job.entityId, key);
+		}
+
+		stateOrderDirty = true;
+
+		if (changedKeys > INSERTION_SORT_MAX_CHANGED_KEYS) {
+			Arrays.sort(data, 0, size);
+			return;
+		}
+
+		for (int i = 1; i < size; i++) {
+			Job job = (Job) data[i];
+			long key = job.sortKey;
+			int j = i - 1;
+			while (j >= 0 && ((Job) data[j]).sortKey > key) {
+				data[j + 1] = data[j];
+				j--;
+			}
+			data[j + 1] = job;
+		}
+	}
+
+	private int indexOf (int entityId, EntityProcessAgent agent) {
+		final Object[] data = sortedJobs.getData();
+		final int size = sortedJobs.size();
+
+		if (entityId < entityKeys.length) {
+			long key = entityKeys[entityId];
+			for (int i = lowerBound(key); i < size; i++) {
+				Job job = (Job) data[i];
+				if (job.sortKey != key) break;
+				if (job.entityId == entityId && job.agent == agent) return i;
+			}
+		}
+
+		// key was not found, can happen if markDirty() is pending, fallback to linear search
+		for (int i = 0; i < size; i++) {
+			Job job = (Job) data[i];
+			if (job.entityId == entityId && job.agent == agent) return i;
+		}
+
+		return -1;
+	}
+
+	/** @return index of first job with sort key greater or equal to given key */
+	private int lowerBound (long key) {
+		final Object[] data = sortedJobs.getData();
+		int low = 0;
+		int high = sortedJobs.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (((Job) data[mid]).sortKey < key)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
+	/** @return index of first job with sort key strictly greater than given key */
+	private int upperBound (long key) {
+		final Object[] data = sortedJobs.getData();
+		int low = 0;
+		int high = sortedJobs.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (((Job) data[mid]).sortKey <= key)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
+	private void insertJob (Job job, int index) {
+		int size = sortedJobs.size();
+		sortedJobs.add(job); // makes sure that bag has enough capacity
+		Object[] data = sortedJobs.getData();
+		System.arraycopy(data, index, data, index + 1, size - index);
+		data[index] = job;
+		stateOrderDirty = true;
+	}
+
+	private void removeJob (int index) {
+		int size = sortedJobs.size();
+		Object[] data = sortedJobs.getData();
+		System.arraycopy(data, index + 1, data, index, size - index - 1);
+		sortedJobs.remove(size - 1);
+		stateOrderDirty = true;
+	}
+
+	private static class StateComparator implements Comparator<Object> {
+		@Override
+		public int compare (Object o1, Object o2) {
+			Job job1 = (Job) o1;
+			Job job2 = (Job) o2;
+			if (job1.sortKey != job2.sortKey) return job1.sortKey < job2.sortKey ? -1 : 1;
+			if (job1.shaderHash != job2.shaderHash) return job1.shaderHash < job2.shaderHash ? -1 : 1;
+			if (job1.agentHash != job2.agentHash) return job1.agentHash < job2.agentHash ? -1 : 1;
+			if (job1.stateHash != job2.stateHash) return job1.stateHash < job2.stateHash ? -1 : 1;
+			return 0;
+		}
 	}
 
 	/** Rendering job wrapper. */
-	public class Job implements Comparable<Job> {
+	public static class Job implements Comparable<Job> {
 		public final int entityId;
 		public final EntityProcessAgent agent;
+		/** Packed layer id and zIndex, see {@link RenderBatchingSystem#packKey(int, int)} */
+		long sortKey;
+		/** Identity hashes of job render state, only used when state sorting is enabled */
+		int shaderHash, agentHash, stateHash;
 
 		/**
 		 * @param entityId entity we will process
 		 * @param agent agent responsible for processing.
+		 * @param sortKey initial sort key of this job
 		 */
-		public Job (final int entityId, final EntityProcessAgent agent) {
+		public Job (final int entityId, final EntityProcessAgent agent, long sortKey) {
 			this.entityId = entityId;
 			this.agent = agent;
+			this.sortKey = sortKey;
+		}
+
+		public long getSortKey () {
+			return sortKey;
 		}
 
 		@Override
 		public int compareTo (Job o) {
-			int layerResult = (int) Math.signum(layerCm.get(this.entityId).layerId - layerCm.get(o.entityId).layerId);
-
-			if (layerResult == 0)
-				return (int) Math.signum(renderableCm.get(this.entityId).zIndex - renderableCm.get(o.entityId).zIndex);
-			else
-				return layerResult;
+			return sortKey < o.sortKey ? -1 : (sortKey == o.sortKey ? 0 : 1);
 		}
 	}
 }
@@ -19,7 +19,6 @@ package com.kotcrab.vis.runtime.system.render;
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
 import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.kotcrab.vis.runtime.assets.AtlasRegionAsset;
@@ -32,7 +31,8 @@ import com.kotcrab.vis.runtime.system.delegate.EntityProcessPrincipal;
 import com.kotcrab.vis.runtime.util.SpriteSheetHelper;
 
 /**
- * Updated {@link VisSprite} with proper animation frame from {@link VisSpriteAnimation}.
+ * Updated {@link VisSprite} with proper animation frame from {@link VisSpriteAnimation}. Animations are cached by
+ * {@link SpriteSheetHelper} and shared between all entities using the same animation.
  * @author Kotcrab
  */
 public class SpriteAnimationUpdateSystem extends DeferredEntityProcessingSystem {
@@ -58,7 +58,8 @@ public class SpriteAnimationUpdateSystem extends DeferredEntityProcessingSystem
 		VisSprite sprite = spriteCm.get(entity);
 
 		if (spriteAnim.isDirty()) {
-			spriteAnim.setAnimation(new Animation(spriteAnim.getFrameDuration(), getSpriteSheetHelper(assetRef).getAnimationRegions(spriteAnim.getAnimationName())));
+			spriteAnim.setAnimation(getSpriteSheetHelper(assetRef).getAnimation(spriteAnim.getAnimationName(),
+					spriteAnim.getFrameDuration(), spriteAnim.getPlayMode()));
 		}
 
 		if (spriteAnim.isPlaying()) {
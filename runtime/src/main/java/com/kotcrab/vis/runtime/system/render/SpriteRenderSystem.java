@@ -19,6 +19,8 @@ package com.kotcrab.vis.runtime.system.render;
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.Polygon;
+import com.badlogic.gdx.math.Rectangle;
 import com.kotcrab.vis.runtime.component.Invisible;
 import com.kotcrab.vis.runtime.component.Origin;
 import com.kotcrab.vis.runtime.component.Transform;
@@ -38,8 +40,13 @@ public class SpriteRenderSystem extends DeferredEntityProcessingSystem {
 	private RenderBatchingSystem renderSystem;
 	private Batch batch;
 
+	private Polygon polygon;
+	private float[] polygonVerts = new float[8];
+
 	public SpriteRenderSystem (EntityProcessPrincipal principal) {
 		super(Aspect.all(VisSprite.class).exclude(Invisible.class), principal);
+
+		polygon = new Polygon(polygonVerts);
 	}
 
 	@Override
@@ -56,4 +63,33 @@ public class SpriteRenderSystem extends DeferredEntityProcessingSystem {
 		batch.draw(sprite.getRegion(), transform.getX(), transform.getY(), origin.getOriginX(), origin.getOriginY(),
 				sprite.getWidth(), sprite.getHeight(), transform.getScaleX(), transform.getScaleY(), transform.getRotation());
 	}
+
+	@Override
+	protected Object getRenderState (int entityId) {
+		return spriteCm.get(entityId).getRegion().getTexture();
+	}
+
+	@Override
+	protected boolean getBounds (int entityId, Rectangle bounds) {
+		VisSprite sprite = spriteCm.get(entityId);
+		Transform transform = transformCm.get(entityId);
+		Origin origin = originCm.get(entityId);
+
+		polygonVerts[2] = sprite.getWidth();
+		polygonVerts[4] = sprite.getWidth();
+		polygonVerts[5] = sprite.getHeight();
+		polygonVerts[7] = sprite.getHeight();
+
+		polygon.setPosition(transform.getX(), transform.getY());
+		polygon.setRotation(transform.getRotation());
+		polygon.setScale(transform.getScaleX(), transform.getScaleY());
+		polygon.setOrigin(origin.getOriginX(), origin.getOriginY());
+		bounds.set(polygon.getBoundingRectangle());
+		return true;
+	}
+
+	@Override
+	protected boolean isBoundsDirty (int entityId) {
+		return spriteCm.get(entityId).isDirty();
+	}
 }
@@ -23,6 +23,7 @@ import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Polygon;
+import com.badlogic.gdx.math.Rectangle;
 import com.kotcrab.vis.runtime.component.*;
 import com.kotcrab.vis.runtime.system.delegate.DeferredEntityProcessingSystem;
 import com.kotcrab.vis.runtime.system.delegate.EntityProcessPrincipal;
@@ -87,6 +88,34 @@ public class TextRenderSystem extends DeferredEntityProcessingSystem {
 		if (text.isDistanceFieldShaderEnabled()) batch.setShader(null);
 	}
 
+	@Override
+	protected Object getRenderState (int entityId) {
+		return textCm.get(entityId).getCache().getFont();
+	}
+
+	@Override
+	protected boolean getBounds (int entityId, Rectangle bounds) {
+		text = textCm.get(entityId);
+		transform = transformCm.get(entityId);
+		tint = tintCm.get(entityId);
+		origin = originCm.get(entityId);
+
+		if (text.isDirty()) text.updateCache(tint.getTint());
+		updateText(entityId);
+		bounds.set(text.getBoundingRectangle());
+
+		text = null;
+		transform = null;
+		tint = null;
+		origin = null;
+		return true;
+	}
+
+	@Override
+	protected boolean isBoundsDirty (int entityId) {
+		return textCm.get(entityId).isDirty();
+	}
+
 	private void updateText (int entityId) {
 		Matrix4 translationMatrix = text.getTranslationMatrix();
 		GlyphLayout layout = text.getGlyphLayout();
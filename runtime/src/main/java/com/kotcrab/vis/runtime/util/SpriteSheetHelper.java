@@ -16,13 +16,16 @@
 
 package com.kotcrab.vis.runtime.util;
 
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.Animation.PlayMode;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ObjectMap;
 
 /**
- * Used to simplify extracting sprite sheet animation data from texture atlas based sprite sheet.
+ * Used to simplify extracting sprite sheet animation data from texture atlas based sprite sheet. Also caches animations
+ * created from sprite sheet so they can be shared between entities.
  * @author Kotcrab
  * @since 0.3.3
  */
@@ -32,6 +35,9 @@ public class SpriteSheetHelper {
 	private ImmutableArray<String> animationsList;
 	private ObjectMap<String, Array<TextureRegion>> animations = new ObjectMap<String, Array<TextureRegion>>();
 
+	private ObjectMap<AnimationKey, Animation<TextureRegion>> animationCache = new ObjectMap<AnimationKey, Animation<TextureRegion>>();
+	private final AnimationKey lookupKey = new AnimationKey();
+
 	public SpriteSheetHelper (TextureAtlas atlas) {
 		this.atlas = atlas;
 		animationsList = createAnimationList();
@@ -51,6 +57,21 @@ public class SpriteSheetHelper {
 		return regions;
 	}
 
+	/**
+	 * Returns animation with given parameters. Animations are cached and the same instance is returned for the same
+	 * parameters so it can be shared between many entities. Returned animation must not be modified.
+	 */
+	public Animation<TextureRegion> getAnimation (String name, float frameDuration, PlayMode playMode) {
+		if (playMode == null) throw new IllegalArgumentException("playMode can't be null");
+		lookupKey.set(name, frameDuration, playMode);
+		Animation<TextureRegion> animation = animationCache.get(lookupKey);
+		if (animation != null) return animation;
+
+		animation = new Animation<TextureRegion>(frameDuration, getAnimationRegions(name), playMode);
+		animationCache.put(new AnimationKey().set(name, frameDuration, playMode), animation);
+		return animation;
+	}
+
 	public ImmutableArray<String> getAnimationsList () {
 		return animationsList;
 	}
@@ -65,4 +86,33 @@ public class SpriteSheetHelper {
 
 		return new ImmutableArray<String>(list);
 	}
+
+	private static class AnimationKey {
+		private String name;
+		private float frameDuration;
+		private PlayMode playMode;
+
+		AnimationKey set (String name, float frameDuration, PlayMode playMode) {
+			this.name = name;
+			this.frameDuration = frameDuration;
+			this.playMode = playMode;
+			return this;
+		}
+
+		@Override
+		public boolean equals (Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			AnimationKey other = (AnimationKey) o;
+			return Float.compare(other.frameDuration, frameDuration) == 0 && playMode == other.playMode && name.equals(other.name);
+		}
+
+		@Override
+		public int hashCode () {
+			int result = name.hashCode();
+			result = 31 * result + Float.floatToIntBits(frameDuration);
+			result = 31 * result + playMode.hashCode();
+			return result;
+		}
+	}
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.util;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Bits;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+import com.kotcrab.vis.runtime.system.SpatialIndexSystem;
+
+/**
+ * Uniform grid storing axis aligned bounds of entities. Allows to quickly find entities in given region or at given point
+ * without iterating over all entities. Updating entity only touches cells when it moved to different cells. Queries
+ * don't allocate memory (except when result array needs to grow).
+ * @author Kotcrab
+ * @see SpatialIndexSystem
+ */
+public class UniformGrid {
+	private final float cellSize;
+
+	private final LongMap<IntArray> cells = new LongMap<IntArray>();
+
+	/** Entity bounds stored as x, y, width, height, indexed by entity id */
+	private float[] bounds = new float[64 * 4];
+	/** Range of cells that entity occupies stored as min x, min y, max x, max y, indexed by entity id */
+	private int[] cellRanges = new int[64 * 4];
+	private final Bits indexed = new Bits();
+
+	/** Stores id of last query that returned entity, used to avoid duplicates when entity spans over multiple cells */
+	private int[] queryStamps = new int[64];
+	private int queryId;
+
+	/** @param cellSize size of single grid cell in world units, should be close to size of typical query region */
+	public UniformGrid (float cellSize) {
+		if (cellSize <= 0) throw new IllegalArgumentException("cellSize must be greater than 0");
+		this.cellSize = cellSize;
+	}
+
+	/** Adds entity to grid or updates its bounds if it was already added. */
+	public void update (int entityId, float x, float y, float width, float height) {
+		int minX = toCell(x);
+		int minY = toCell(y);
+		int maxX = toCell(x + width);
+		int maxY = toCell(y + height);
+
+		ensureCapacity(entityId);
+		int index = entityId * 4;
+		bounds[index] = x;
+		bounds[index + 1] = y;
+		bounds[index + 2] = width;
+		bounds[index + 3] = height;
+
+		if (indexed.get(entityId)) {
+			if (cellRanges[index] == minX && cellRanges[index + 1] == minY
+					&& cellRanges[index + 2] == maxX && cellRanges[index + 3] == maxY) {
+				return; //entity still occupies same cells
+			}
+			removeFromCells(entityId);
+		}
+
+		cellRanges[index] = minX;
+		cellRanges[index + 1] = minY;
+		cellRanges[index + 2] = maxX;
+		cellRanges[index + 3] = maxY;
+		indexed.set(entityId);
+
+		for (int cx = minX; cx <= maxX; cx++) {
+			for (int cy = minY; cy <= maxY; cy++) {
+				long key = cellKey(cx, cy);
+				IntArray cell = cells.get(key);
+				if (cell == null) {
+					cell = new IntArray();
+					cells.put(key, cell);
+				}
+				cell.add(entityId);
+			}
+		}
+	}
+
+	/** Adds entity to grid or updates its bounds if it was already added. */
+	public void update (int entityId, Rectangle rect) {
+		update(entityId, rect.x, rect.y, rect.width, rect.height);
+	}
+
+	/** Removes entity from grid, does nothing if entity wasn't added. */
+	public void remove (int entityId) {
+		if (indexed.get(entityId) == false) return;
+		removeFromCells(entityId);
+		indexed.clear(entityId);
+	}
+
+	public boolean contains (int entityId) {
+		return indexed.get(entityId);
+	}
+
+	/** @return true if entity is in grid and its stored bounds are equal to given rectangle */
+	public boolean hasBounds (int entityId, Rectangle rect) {
+		if (indexed.get(entityId) == false) return false;
+		int index = entityId * 4;
+		return rect.x == bounds[index] && rect.y == bounds[index + 1]
+				&& rect.width == bounds[index + 2] && rect.height == bounds[index + 3];
+	}
+
+	private void removeFromCells (int entityId) {
+		int index = entityId * 4;
+		for (int cx = cellRanges[index]; cx <= cellRanges[index + 2]; cx++) {
+			for (int cy = cellRanges[index + 1]; cy <= cellRanges[index + 3]; cy++) {
+				IntArray cell = cells.get(cellKey(cx, cy));
+				if (cell != null) cell.removeValue(entityId); //empty cells are retained to avoid allocating them again
+			}
+		}
+	}
+
+	/**
+	 * Finds all entities which bounds overlap given region.
+	 * @param result array that entities ids will be stored in, array is cleared before adding results
+	 * @return result array for chaining
+	 */
+	public IntArray query (float x, float y, float width, float height, IntArray result) {
+		result.clear();
+		queryId++;
+
+		int minX = toCell(x);
+		int minY = toCell(y);
+		int maxX = toCell(x + width);
+		int maxY = toCell(y + height);
+
+		for (int cx = minX; cx <= maxX; cx++) {
+			for (int cy = minY; cy <= maxY; cy++) {
+				IntArray cell = cells.get(cellKey(cx, cy));
+				if (cell == null) continue;
+
+				int[] items = cell.items;
+				for (int i = 0; i < cell.size; i++) {
+					int entityId = items[i];
+					if (queryStamps[entityId] == queryId) continue;
+					queryStamps[entityId] = queryId;
+
+					int index = entityId * 4;
+					float ex = bounds[index];
+					float ey = bounds[index + 1];
+					if (ex <= x + width && ex + bounds[index + 2] >= x && ey <= y + height && ey + bounds[index + 3] >= y)
+						result.add(entityId);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Finds all entities which bounds contain given point.
+	 * @param result array that entities ids will be stored in, array is cleared before adding results
+	 * @return result array for chaining
+	 */
+	public IntArray queryPoint (float x, float y, IntArray result) {
+		result.clear();
+
+		IntArray cell = cells.get(cellKey(toCell(x), toCell(y)));
+		if (cell == null) return result;
+
+		int[] items = cell.items;
+		for (int i = 0; i < cell.size; i++) {
+			int entityId = items[i];
+			int index = entityId * 4;
+			float ex = bounds[index];
+			float ey = bounds[index + 1];
+			if (x >= ex && x <= ex + bounds[index + 2] && y >= ey && y <= ey + bounds[index + 3])
+				result.add(entityId);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns stored bounds of entity.
+	 * @return given rectangle for chaining or null if entity is not in grid
+	 */
+	public Rectangle getBounds (int entityId, Rectangle rect) {
+		if (indexed.get(entityId) == false) return null;
+		int index = entityId * 4;
+		return rect.set(bounds[index], bounds[index + 1], bounds[index + 2], bounds[index + 3]);
+	}
+
+	public float getCellSize () {
+		return cellSize;
+	}
+
+	private int toCell (float value) {
+		return MathUtils.floor(value / cellSize);
+	}
+
+	private long cellKey (int x, int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	private void ensureCapacity (int entityId) {
+		if (entityId * 4 + 4 > bounds.length) {
+			int newSize = Math.max(bounds.length * 2, entityId * 4 + 4);
+			float[] newBounds = new float[newSize];
+			System.arraycopy(bounds, 0, newBounds, 0, bounds.length);
+			bounds = newBounds;
+
+			int[] newRanges = new int[newSize];
+			System.arraycopy(cellRanges, 0, newRanges, 0, cellRanges.length);
+			cellRanges = newRanges;
+		}
+
+		if (entityId >= queryStamps.length) {
+			int[] newStamps = new int[Math.max(queryStamps.length * 2, entityId + 1)];
+			System.arraycopy(queryStamps, 0, newStamps, 0, queryStamps.length);
+			queryStamps = newStamps;
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.test;
+
+import com.artemis.Component;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.Json;
+import com.kotcrab.vis.runtime.assets.AtlasRegionAsset;
+import com.kotcrab.vis.runtime.assets.TextureRegionAsset;
+import com.kotcrab.vis.runtime.component.*;
+import com.kotcrab.vis.runtime.component.proto.ProtoVisSprite;
+import com.kotcrab.vis.runtime.component.proto.ProtoVisText;
+import com.kotcrab.vis.runtime.data.EntityData;
+import com.kotcrab.vis.runtime.data.LayerData;
+import com.kotcrab.vis.runtime.data.PhysicsSettings;
+import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.data.binary.BinarySceneFormat;
+import com.kotcrab.vis.runtime.data.binary.BinarySceneReader;
+import com.kotcrab.vis.runtime.data.binary.BinarySceneWriter;
+import com.kotcrab.vis.runtime.scene.LayerCordsSystem;
+import com.kotcrab.vis.runtime.scene.SceneLoader;
+import com.kotcrab.vis.runtime.scene.SceneViewport;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/** @author Kotcrab */
+public class BinarySceneFormatTest {
+	private final Json json = SceneLoader.getJson();
+
+	@Test
+	public void testRoundTripMatchesJsonScene () throws IOException {
+		SceneData jsonData = json.fromJson(SceneData.class, json.toJson(createScene()));
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		new BinarySceneWriter(json).write(jsonData, output);
+		byte[] bytes = output.toByteArray();
+		assertTrue(BinarySceneFormat.isBinaryScene(bytes));
+
+		BinarySceneReader reader = new BinarySceneReader(bytes, json);
+		SceneData binaryData = reader.getSceneData();
+		assertEquals(jsonData.viewport, binaryData.viewport);
+		assertEquals(jsonData.width, binaryData.width, 0);
+		assertEquals(jsonData.height, binaryData.height, 0);
+		assertEquals(jsonData.pixelsPerUnit, binaryData.pixelsPerUnit, 0);
+		assertEquals(jsonData.textureAtlasPath, binaryData.textureAtlasPath);
+		assertEquals(json.toJson(jsonData.physicsSettings), json.toJson(binaryData.physicsSettings));
+		assertEquals(json.toJson(jsonData.variables), json.toJson(binaryData.variables));
+		assertEquals(json.toJson(jsonData.groupIds), json.toJson(binaryData.groupIds));
+		assertEquals(json.toJson(jsonData.layers), json.toJson(binaryData.layers));
+
+		Array<EntityData> binaryEntities = reader.readEntities();
+		assertEquals(jsonData.entities.size, reader.getEntityCount());
+		assertEquals(jsonData.entities.size, binaryEntities.size);
+		for (int i = 0; i < jsonData.entities.size; i++) {
+			Array<Component> expected = jsonData.entities.get(i).components;
+			Array<Component> actual = binaryEntities.get(i).components;
+			assertEquals(expected.size, actual.size);
+			for (int j = 0; j < expected.size; j++) {
+				assertSame(expected.get(j).getClass(), actual.get(j).getClass());
+				assertEquals(json.toJson(expected.get(j), Component.class), json.toJson(actual.get(j), Component.class));
+			}
+		}
+	}
+
+	@Test
+	public void testReadEntitiesDoesNotAffectStreaming () throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		new BinarySceneWriter(json).write(createScene(), output);
+
+		BinarySceneReader reader = new BinarySceneReader(output.toByteArray(), json);
+		Array<EntityData> first = reader.readEntities();
+		Array<EntityData> second = reader.readEntities();
+		assertEquals(first.size, second.size);
+		assertTrue(reader.hasNextEntity());
+	}
+
+	private SceneData createScene () {
+		SceneData data = new SceneData();
+		data.viewport = SceneViewport.FIT;
+		data.width = 800;
+		data.height = 480;
+		data.pixelsPerUnit = 100;
+		data.textureAtlasPath = "gfx/textures.atlas";
+		data.physicsSettings = new PhysicsSettings(true, 0, -10, false);
+		data.variables = new Variables();
+		data.variables.variables.put("level", "1");
+		data.groupIds = new IntMap<String>();
+		data.groupIds.put(3, "enemies");
+		data.layers.add(new LayerData(LayerCordsSystem.WORLD, "Background", 0));
+		data.layers.add(new LayerData(LayerCordsSystem.SCREEN, "UI", 1));
+
+		ProtoVisSprite sprite = new ProtoVisSprite();
+		sprite.flipX = true;
+		sprite.width = 64;
+		sprite.height = 32;
+		data.entities.add(entity(new Transform(10, 20, 2, 1, 45), new Origin(32, 16), new Tint(new Color(1, 0.5f, 0.25f, 1)),
+				new Layer(0), new Renderable(5), new VisID("player"), new AssetReference(new TextureRegionAsset("gfx/player.png")),
+				sprite));
+
+		VisGroup group = new VisGroup();
+		group.groupIds.add(3);
+		ProtoVisText text = new ProtoVisText();
+		text.text = "Score";
+		data.entities.add(entity(new Transform(5, 5), new Layer(1), new Renderable(0), group, text,
+				new AssetReference(new AtlasRegionAsset("gfx/ui.atlas", "label"))));
+
+		VisPolygon polygon = new VisPolygon();
+		polygon.vertices.add(new Vector2(0, 0));
+		polygon.vertices.add(new Vector2(10, 0));
+		polygon.vertices.add(new Vector2(0, 10));
+		PluginComponent plugin = new PluginComponent();
+		plugin.name = "spawner";
+		plugin.count = 7;
+		data.entities.add(entity(new Transform(), new Point(), polygon, new PhysicsProperties(), new Invisible(), plugin));
+
+		return data;
+	}
+
+	private EntityData entity (Component... components) {
+		return new EntityData(new Array<Component>(components));
+	}
+
+	/** Not known by binary format, stored as JSON */
+	public static class PluginComponent extends Component {
+		public String name;
+		public int count;
+	}
+}
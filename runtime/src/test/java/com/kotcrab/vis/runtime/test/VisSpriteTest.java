@@ -0,0 +1,164 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.test;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.kotcrab.vis.runtime.component.VisSprite;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.*;
+
+/** @author Kotcrab */
+public class VisSpriteTest {
+	private static TextureRegion region;
+
+	@BeforeClass
+	public static void setUp () {
+		//textures can be created without OpenGL context when every GL call is ignored
+		Gdx.gl = Gdx.gl20 = (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class[]{GL20.class}, new InvocationHandler() {
+			@Override
+			public Object invoke (Object proxy, Method method, Object[] args) {
+				Class<?> type = method.getReturnType();
+				if (type == boolean.class) return false;
+				if (type == int.class) return 0;
+				if (type == float.class) return 0f;
+				return null;
+			}
+		});
+		region = new TextureRegion(new Texture(new EmptyTextureData(64, 32)), 0, 0, 32, 16);
+	}
+
+	@Test
+	public void testSpriteTakesFlipFromRegion () {
+		TextureRegion flipped = new TextureRegion(region);
+		flipped.flip(true, false);
+
+		VisSprite sprite = new VisSprite(flipped);
+		assertTrue(sprite.isFlipX());
+		assertFalse(sprite.isFlipY());
+		assertSame(flipped, sprite.getRegion());
+	}
+
+	@Test
+	public void testRegionIsShared () {
+		VisSprite sprite = new VisSprite(region);
+		VisSprite copy = new VisSprite(sprite);
+		assertSame(region, sprite.getRegion());
+		assertSame(region, copy.getRegion());
+	}
+
+	@Test
+	public void testCopyOfFlippedSprite () {
+		VisSprite sprite = new VisSprite(region);
+		sprite.setFlip(true, true);
+		sprite.setSize(2, 3);
+
+		VisSprite copy = new VisSprite(sprite);
+		assertTrue(copy.isFlipX());
+		assertTrue(copy.isFlipY());
+		assertTrue(copy.getRegion().isFlipX());
+		assertTrue(copy.getRegion().isFlipY());
+		assertNotSame(region, copy.getRegion());
+		assertFalse(region.isFlipX());
+		assertEquals(2, copy.getWidth(), 0);
+		assertEquals(3, copy.getHeight(), 0);
+	}
+
+	@Test
+	public void testFlipPreservedWhenRegionChanged () {
+		VisSprite sprite = new VisSprite(region);
+		sprite.setFlip(true, false);
+		sprite.setRegion(new TextureRegion(region, 0, 0, 16, 16));
+
+		assertTrue(sprite.isFlipX());
+		assertTrue(sprite.getRegion().isFlipX());
+	}
+
+	private static class EmptyTextureData implements TextureData {
+		private final int width;
+		private final int height;
+
+		public EmptyTextureData (int width, int height) {
+			this.width = width;
+			this.height = height;
+		}
+
+		@Override
+		public TextureDataType getType () {
+			return TextureDataType.Custom;
+		}
+
+		@Override
+		public boolean isPrepared () {
+			return true;
+		}
+
+		@Override
+		public void prepare () {
+		}
+
+		@Override
+		public Pixmap consumePixmap () {
+			return null;
+		}
+
+		@Override
+		public boolean disposePixmap () {
+			return false;
+		}
+
+		@Override
+		public void consumeCustomData (int target) {
+		}
+
+		@Override
+		public int getWidth () {
+			return width;
+		}
+
+		@Override
+		public int getHeight () {
+			return height;
+		}
+
+		@Override
+		public Format getFormat () {
+			return Format.RGBA8888;
+		}
+
+		@Override
+		public boolean useMipMaps () {
+			return false;
+		}
+
+		@Override
+		public boolean isManaged () {
+			return false;
+		}
+	}
+}
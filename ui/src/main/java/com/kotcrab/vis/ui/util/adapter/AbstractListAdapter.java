@@ -38,20 +38,29 @@ import java.util.Comparator;
  * Those delegates should call {@link #itemAdded(Object)} or {@link #itemRemoved(Object)} in order to properly update
  * view cache. When changes to array are too big to be handled by those two methods {@link #itemsChanged()} should be
  * called. When only items fields has changed, and no new item were added or removed you should call
- * {@link #itemsDataChanged()}.
+ * {@link #itemsDataChanged()}. If indexes of changed items are known, fine-grained notifications should be used instead:
+ * {@link #itemRangeInserted(int, int)}, {@link #itemRemoved(Object, int)}, {@link #itemRangeRemoved(int, int)},
+ * {@link #itemMoved(int, int)} and {@link #itemRangeChanged(int, int)}. Those allow {@link ListView} to update only
+ * affected rows and to batch many changes done in single frame.
  * <p>
  * When view does not existed in cache and must be created {@link #createView(Object)} is called. When item view exists
  * in cache {@link #updateView(Actor, Object)} will be called.
  * <p>
  * Enabling item selection requires calling {@link #setSelectionMode(SelectionMode)} and overriding
  * {@link #selectView(Actor)} and {@link #deselectView(Actor)}.
+ * <p>
+ * When used with virtualized {@link ListView} views of items that are not visible are removed from cache. If view
+ * recycling is enabled (see {@link #setViewRecycling(boolean)}) such views are stored in pool and later reused for other
+ * items, {@link #updateView(Actor, Object)} must then fully update view to show new item.
  * @author Kotcrab
  * @see ArrayAdapter
  * @see ArrayListAdapter
  * @since 1.0.0
  */
 public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends CachedItemAdapter<ItemT, ViewT>
-		implements ListAdapter<ItemT> {
+		implements VirtualListAdapter<ItemT> {
+	private static final int DEFAULT_MAX_RECYCLED_VIEWS = 64;
+
 	protected ListView<ItemT> view;
 	protected ListAdapterListener viewListener;
 
@@ -62,9 +71,13 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 
 	private Comparator<ItemT> itemsComparator;
 
+	private boolean viewRecycling;
+	private int maxRecycledViews = DEFAULT_MAX_RECYCLED_VIEWS;
+	private Array<ViewT> recycledViews = new Array<ViewT>();
+
 	@Override
 	public void fillTable (VisTable itemsTable) {
-		if (itemsComparator != null) sort(itemsComparator);
+		prepareItems();
 		for (final ItemT item : iterable()) {
 			final ViewT view = getView(item);
 			prepareViewBeforeAddingToTable(item, view);
@@ -73,10 +86,44 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 		}
 	}
 
+	@Override
+	public void prepareItems () {
+		if (itemsComparator != null) sort(itemsComparator);
+	}
+
+	@Override
+	public ViewT obtainView (ItemT item) {
+		ViewT view = getViews().get(item);
+		boolean newView = view == null;
+
+		if (newView && recycledViews.size > 0) {
+			view = recycledViews.pop();
+			getViews().put(item, view);
+			updateView(view, item);
+			if (getSelection().contains(item, true) == false) deselectView(view);
+		} else {
+			view = getView(item);
+		}
+
+		if (newView && getSelection().contains(item, true)) selectView(view);
+		prepareViewBeforeAddingToTable(item, view);
+		return view;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void freeView (ItemT item, Actor view) {
+		if (getViews().get(item) == view) getViews().remove(item);
+		if (viewRecycling && recycledViews.size < maxRecycledViews) {
+			recycledViews.add((ViewT) view);
+		}
+	}
+
 	protected void prepareViewBeforeAddingToTable (ItemT item, ViewT view) {
 		boolean listenerMissing = true;
 		for (EventListener listener : view.getListeners()) {
 			if (listener instanceof AbstractListAdapter.ListClickListener) {
+				((ListClickListener) listener).item = item; //view may have been recycled
 				listenerMissing = false;
 				break;
 			}
@@ -100,7 +147,7 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 	}
 
 	protected void itemAdded (ItemT item) {
-		viewListener.invalidateDataSet();
+		itemRangeInserted(indexOf(item), 1);
 	}
 
 	protected void itemRemoved (ItemT item) {
@@ -109,6 +156,58 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 		viewListener.invalidateDataSet();
 	}
 
+	/** Notifies adapter that single item was removed from underlying collection, index is item index before removal. */
+	protected void itemRemoved (ItemT item, int index) {
+		releaseItem(item);
+		itemRangeRemoved(index, 1);
+	}
+
+	/** Deselects item and removes its view from cache, must be called for every item removed from underlying collection. */
+	protected void releaseItem (ItemT item) {
+		selection.deselect(item);
+		getViews().remove(item);
+	}
+
+	/** Notifies adapter that count items were inserted into underlying collection starting at given index. */
+	public void itemRangeInserted (int index, int count) {
+		if (count <= 0) return;
+		if (itemsComparator != null) { //inserted items positions will change after sorting
+			viewListener.invalidateDataSet();
+			return;
+		}
+		if (view.isVirtualized() == false) {
+			//non virtualized ListView is rebuilt before drawing, views are created now so inserted items can be selected
+			for (int i = index; i < index + count; i++) {
+				getView(get(i));
+			}
+		}
+		viewListener.itemRangeInserted(index, count);
+	}
+
+	/**
+	 * Notifies adapter that count items were removed from underlying collection, index is index of first removed item
+	 * before removal. {@link #releaseItem(Object)} must be called for removed items.
+	 */
+	public void itemRangeRemoved (int index, int count) {
+		if (count <= 0) return;
+		viewListener.itemRangeRemoved(index, count);
+	}
+
+	/** Notifies adapter that item was moved in underlying collection from one index to another. */
+	public void itemMoved (int fromIndex, int toIndex) {
+		if (fromIndex == toIndex) return;
+		viewListener.itemMoved(fromIndex, toIndex);
+	}
+
+	/**
+	 * Notifies adapter that fields of count items starting at given index has changed, or that those items were replaced
+	 * by other items. Views of those items will be updated.
+	 */
+	public void itemRangeChanged (int index, int count) {
+		if (count <= 0) return;
+		viewListener.itemRangeChanged(index, count);
+	}
+
 	/**
 	 * Notifies adapter that underlying collection has changed, ie. some items were added or removed. This does not need to
 	 * be called when only the fields of stored objects changed see {@link #itemsDataChanged()}.
@@ -133,7 +232,7 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 	 * will be ignored.
 	 */
 	public void itemsDataChanged () {
-		viewListener.invalidateDataSet();
+		itemRangeChanged(0, size());
 	}
 
 	@Override
@@ -163,6 +262,30 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 		return itemsComparator;
 	}
 
+	/**
+	 * Enables reusing views of items that were scrolled out of virtualized {@link ListView} viewport. When enabled,
+	 * {@link #updateView(Actor, Object)} must fully update recycled view to show new item.
+	 */
+	public void setViewRecycling (boolean viewRecycling) {
+		this.viewRecycling = viewRecycling;
+		if (viewRecycling == false) recycledViews.clear();
+	}
+
+	public boolean isViewRecycling () {
+		return viewRecycling;
+	}
+
+	/** @param maxRecycledViews maximum amount of views that will be stored for reuse, default is 64 */
+	public void setMaxRecycledViews (int maxRecycledViews) {
+		if (maxRecycledViews < 0) throw new IllegalArgumentException("maxRecycledViews can't be negative");
+		this.maxRecycledViews = maxRecycledViews;
+		recycledViews.truncate(maxRecycledViews);
+	}
+
+	public int getMaxRecycledViews () {
+		return maxRecycledViews;
+	}
+
 	/** @return selected items, must not be modified */
 	public Array<ItemT> getSelection () {
 		return selection.getSelection();
@@ -257,7 +380,7 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 
 		private void doSelect (ItemT item, ViewT view, boolean programmaticChange) {
 			if (selection.contains(item, true) == false) {
-				adapter.selectView(view);
+				if (view != null) adapter.selectView(view);
 				selection.add(item);
 				if (programmaticChange == false || programmaticChangeEvents) listener.selected(item, view);
 			}
@@ -296,7 +419,7 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 
 		void deselect (ItemT item, ViewT view, boolean programmaticChange) {
 			if (selection.contains(item, true) == false) return;
-			adapter.deselectView(view);
+			if (view != null) adapter.deselectView(view);
 			selection.removeValue(item, true);
 			if (programmaticChange == false || programmaticChangeEvents) listener.deselected(item, view);
 		}
@@ -377,6 +500,7 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 		}
 	}
 
+	/** Selection listener, view passed to listener is null when item is not visible in virtualized {@link ListView}. */
 	public interface ListSelectionListener<ItemT, ViewT> {
 		void selected (ItemT item, ViewT view);
 
@@ -51,7 +51,7 @@ public abstract class ArrayAdapter<ItemT, ViewT extends Actor> extends AbstractL
 	@Override
 	public void add (ItemT element) {
 		array.add(element);
-		itemAdded(element);
+		itemRangeInserted(array.size - 1, 1);
 	}
 
 	@Override
@@ -67,55 +67,62 @@ public abstract class ArrayAdapter<ItemT, ViewT extends Actor> extends AbstractL
 	//Delegates
 
 	public void addAll (Array<? extends ItemT> array) {
-		this.array.addAll(array);
-		itemsChanged();
+		addAll(array, 0, array.size);
 	}
 
 	public void addAll (Array<? extends ItemT> array, int start, int count) {
+		int index = this.array.size;
 		this.array.addAll(array, start, count);
-		itemsChanged();
+		itemRangeInserted(index, count);
 	}
 
 	public void addAll (ItemT... array) {
-		this.array.addAll(array);
-		itemsChanged();
+		addAll(array, 0, array.length);
 	}
 
 	public void addAll (ItemT[] array, int start, int count) {
+		int index = this.array.size;
 		this.array.addAll(array, start, count);
-		itemsChanged();
+		itemRangeInserted(index, count);
 	}
 
 	public void set (int index, ItemT value) {
+		ItemT oldValue = array.get(index);
 		array.set(index, value);
-		itemsChanged();
+		if (oldValue != value) releaseItem(oldValue);
+		itemRangeChanged(index, 1);
 	}
 
 	public void insert (int index, ItemT value) {
 		array.insert(index, value);
-		itemsChanged();
+		itemRangeInserted(index, 1);
 	}
 
 	public void swap (int first, int second) {
 		array.swap(first, second);
-		itemsChanged();
+		itemRangeChanged(Math.min(first, second), Math.abs(first - second) + 1);
 	}
 
 	public boolean removeValue (ItemT value, boolean identity) {
-		boolean res = array.removeValue(value, identity);
-		if (res) itemRemoved(value);
-		return res;
+		int index = array.indexOf(value, identity);
+		if (index == -1) return false;
+		removeIndex(index);
+		return true;
 	}
 
 	public ItemT removeIndex (int index) {
 		ItemT item = array.removeIndex(index);
-		if (item != null) itemRemoved(item);
+		itemRemoved(item, index);
 		return item;
 	}
 
+	/** Removes items from start index to end index, inclusive. */
 	public void removeRange (int start, int end) {
+		for (int i = start; i <= end; i++) {
+			releaseItem(array.get(i));
+		}
 		array.removeRange(start, end);
-		itemsChanged();
+		itemRangeRemoved(start, end - start + 1);
 	}
 
 	public boolean removeAll (Array<? extends ItemT> array, boolean identity) {
@@ -141,7 +148,7 @@ public abstract class ArrayAdapter<ItemT, ViewT extends Actor> extends AbstractL
 
 	public ItemT pop () {
 		ItemT item = array.pop();
-		itemsChanged();
+		itemRemoved(item, array.size);
 		return item;
 	}
 }
@@ -53,7 +53,7 @@ public abstract class ArrayListAdapter<ItemT, ViewT extends Actor> extends Abstr
 	@Override
 	public void add (ItemT element) {
 		array.add(element);
-		itemAdded(element);
+		itemRangeInserted(array.size() - 1, 1);
 	}
 
 	@Override
@@ -70,25 +70,27 @@ public abstract class ArrayListAdapter<ItemT, ViewT extends Actor> extends Abstr
 
 	public ItemT set (int index, ItemT element) {
 		ItemT res = array.set(index, element);
-		itemsChanged();
+		if (res != element) releaseItem(res);
+		itemRangeChanged(index, 1);
 		return res;
 	}
 
 	public void add (int index, ItemT element) {
 		array.add(index, element);
-		itemAdded(element);
+		itemRangeInserted(index, 1);
 	}
 
 	public ItemT remove (int index) {
 		ItemT res = array.remove(index);
-		if (res != null) itemRemoved(res);
+		itemRemoved(res, index);
 		return res;
 	}
 
 	public boolean remove (ItemT item) {
-		boolean res = array.remove(item);
-		if (res) itemRemoved(item);
-		return res;
+		int index = array.indexOf(item);
+		if (index == -1) return false;
+		remove(index);
+		return true;
 	}
 
 	public void clear () {
@@ -97,14 +99,13 @@ public abstract class ArrayListAdapter<ItemT, ViewT extends Actor> extends Abstr
 	}
 
 	public boolean addAll (Collection<? extends ItemT> c) {
-		boolean res = array.addAll(c);
-		itemsChanged();
-		return res;
+		return addAll(array.size(), c);
 	}
 
 	public boolean addAll (int index, Collection<? extends ItemT> c) {
+		int size = array.size();
 		boolean res = array.addAll(index, c);
-		itemsChanged();
+		itemRangeInserted(index, array.size() - size);
 		return res;
 	}
 
@@ -24,7 +24,8 @@ import com.kotcrab.vis.ui.widget.VisTable;
 /**
  * Adapter used to display items list in {@link ListView}. Classes implementing this interface should store array and
  * provide delegates to methods that change array state, such as add/remove etc. Those delegates should call
- * {@link ListAdapterListener#invalidateDataSet()}. Single instance of ListAdapter can only be used for one ListView.
+ * {@link ListAdapterListener#invalidateDataSet()} or, when indexes of changed items are known, fine-grained notifications
+ * such as {@link ListAdapterListener#itemRangeInserted(int, int)} which allow ListView to update only affected rows. Single instance of ListAdapter can only be used for one ListView.
  * Implementations must support setting item click listener.
  * @author Kotcrab
  * @see ArrayAdapter
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.util.adapter;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.kotcrab.vis.ui.widget.ListView;
+
+/**
+ * {@link ListAdapter} that can be used by virtualized {@link ListView}. Virtualized ListView does not create views for
+ * all items, instead it only requests views of items that are currently visible and returns views of items that were
+ * scrolled out of viewport. Views returned to adapter should be released or reused for other items.
+ * @author Kotcrab
+ * @see ListView#setVirtualized(boolean)
+ * @see AbstractListAdapter
+ * @since 1.4.1
+ */
+public interface VirtualListAdapter<ItemT> extends ListAdapter<ItemT> {
+	/** Called by {@link ListView} before rows are created after data set was invalidated, may be used to sort items. */
+	void prepareItems ();
+
+	/** @return view for given item, called by {@link ListView} when view of item is about to be shown */
+	Actor obtainView (ItemT item);
+
+	/**
+	 * Called by {@link ListView} when view of item is no longer shown. Item may be already removed from adapter
+	 * collection at this point.
+	 */
+	void freeView (ItemT item, Actor view);
+}
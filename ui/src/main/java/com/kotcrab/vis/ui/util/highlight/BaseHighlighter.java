@@ -18,11 +18,16 @@ package com.kotcrab.vis.ui.util.highlight;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.kotcrab.vis.ui.widget.HighlightTextArea;
 
 /**
  * Highlighter aggregates multiple {@link HighlightRule} into single collection. Highlighter is used by {@link HighlightTextArea}
  * to get information about which parts of text should be highlighted. Compared to {@link Highlighter} this class is GWT compatible.
+ * <p>
+ * When all rules implement {@link RegionHighlightRule} they are compiled before first use: all {@link WordHighlightRule}s
+ * are merged into single automaton so text is scanned once for all words instead of once per word, matches are stored
+ * in {@link HighlightBuffer} instead of separate {@link Highlight} objects.
  * @author Kotcrab
  * @see Highlighter
  * @since 1.1.2
@@ -30,9 +35,20 @@ import com.kotcrab.vis.ui.widget.HighlightTextArea;
 public class BaseHighlighter {
 	private Array<HighlightRule> rules = new Array<HighlightRule>();
 
+	/** Colors of compiled rules, color index stored in {@link HighlightBuffer} refers to this array */
+	private final Array<Color> colors = new Array<Color>();
+	/** Compiled rules, null when rules were changed since last compilation */
+	private Array<HighlightMatcher> matchers;
+
 	/** Adds highlighter rule. What is highlighted depends on rule implementation. */
-	public void addRule (HighlightRule rule) {
+	public synchronized void addRule (HighlightRule rule) {
 		rules.add(rule);
+		matchers = null;
+	}
+
+	/** Forces rules compilation before next use, must be called when settings affecting compilation were changed. */
+	synchronized void invalidateCompiledRules () {
+		matchers = null;
 	}
 
 	/**
@@ -60,8 +76,131 @@ public class BaseHighlighter {
 	 * @param highlights current highlights, new highlights can be added to this list however it should not be modified in any other ways
 	 */
 	public void process (HighlightTextArea textArea, Array<Highlight> highlights) {
+		if (isRegionProcessingSupported() == false) {
+			for (HighlightRule rule : rules) {
+				rule.process(textArea, highlights);
+			}
+			return;
+		}
+
+		String text = textArea.getText();
+		HighlightBuffer buffer = new HighlightBuffer();
+		process(text, 0, text.length(), buffer);
+		for (int i = 0; i < buffer.size(); i++) {
+			highlights.add(new Highlight(getColor(buffer.getColorIndex(i)), buffer.getStart(i), buffer.getEnd(i)));
+		}
+	}
+
+	/**
+	 * @return true if all rules of this highlighter implement {@link RegionHighlightRule}, in such case text can be
+	 * highlighted in regions using {@link #process(String, int, int, HighlightBuffer)}
+	 */
+	public boolean isRegionProcessingSupported () {
 		for (HighlightRule rule : rules) {
-			rule.process(textArea, highlights);
+			if (rule instanceof RegionHighlightRule == false) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Process all rules in this highlighter in given text region using compiled rules. Can be only used when
+	 * {@link #isRegionProcessingSupported()} returns true.
+	 * @param highlights buffer that highlights will be added to, after processing buffer is sorted by highlight start.
+	 * Color of highlight can be obtained using {@link #getColor(int)}.
+	 * @see RegionHighlightRule#process(String, int, int, Array)
+	 */
+	public void process (String text, int start, int end, HighlightBuffer highlights) {
+		Array<HighlightMatcher> matchers = compileRules();
+		for (int i = 0; i < matchers.size; i++) {
+			matchers.get(i).match(text, start, end, highlights);
+		}
+		highlights.sort();
+	}
+
+	private synchronized Array<HighlightMatcher> compileRules () {
+		if (matchers != null) return matchers;
+		Array<HighlightRule> rules = new Array<HighlightRule>(this.rules);
+		boolean[] compiled = new boolean[rules.size];
+		Array<HighlightMatcher> matchers = new Array<HighlightMatcher>();
+		compileRules(rules, compiled, matchers);
+		for (int i = 0; i < rules.size; i++) {
+			if (compiled[i] == false) matchers.add(new RuleMatcher((RegionHighlightRule) rules.get(i), i));
+		}
+		this.matchers = matchers;
+		return matchers;
+	}
+
+	/**
+	 * Compiles rules that can be processed together into matchers, compiled rules must be marked in compiled array.
+	 * Remaining rules are processed separately. Index of rule is used as highlight order when adding highlights to
+	 * {@link HighlightBuffer}, so highlights with the same start are ordered the same way as when each rule is processed
+	 * separately.
+	 */
+	void compileRules (Array<HighlightRule> rules, boolean[] compiled, Array<HighlightMatcher> matchers) {
+		Array<String> words = new Array<String>();
+		IntArray wordColors = new IntArray();
+		IntArray wordOrders = new IntArray();
+		for (int i = 0; i < rules.size; i++) {
+			HighlightRule rule = rules.get(i);
+			if (rule.getClass() != WordHighlightRule.class) continue; //subclasses may change matching
+			compiled[i] = true;
+			WordHighlightRule wordRule = (WordHighlightRule) rule;
+			if (wordRule.getWord().length() == 0) continue;
+			words.add(wordRule.getWord());
+			wordColors.add(colorIndex(wordRule.getColor()));
+			wordOrders.add(i);
+		}
+		if (words.size > 0) matchers.add(new WordMatcher(words, wordColors, wordOrders));
+	}
+
+	/** @return index of given color that can be stored in {@link HighlightBuffer} */
+	synchronized int colorIndex (Color color) {
+		for (int i = 0; i < colors.size; i++) {
+			if (colors.get(i) == color) return i;
+		}
+		colors.add(color);
+		return colors.size - 1;
+	}
+
+	/** @return color of highlights stored in {@link HighlightBuffer} with given color index */
+	public synchronized Color getColor (int colorIndex) {
+		return colors.get(colorIndex);
+	}
+
+	/**
+	 * Process all rules in given text region and notifies listener about results. This implementation process rules
+	 * immediately, subclasses may process them on background thread. Rules must not be modified while processing is
+	 * in progress.
+	 * @param listener that will be notified on rendering thread
+	 */
+	public void processRegion (String text, int start, int end, RegionHighlightListener listener) {
+		HighlightBuffer highlights = new HighlightBuffer();
+		process(text, start, end, highlights);
+		listener.regionProcessed(text, start, end, highlights);
+	}
+
+	/** Receives results of {@link #processRegion(String, int, int, RegionHighlightListener)}. */
+	public interface RegionHighlightListener {
+		void regionProcessed (String text, int start, int end, HighlightBuffer highlights);
+	}
+
+	/** Adapts rule that can't be compiled to {@link HighlightMatcher}. */
+	private class RuleMatcher implements HighlightMatcher {
+		private final RegionHighlightRule rule;
+		private final int order;
+
+		public RuleMatcher (RegionHighlightRule rule, int order) {
+			this.rule = rule;
+			this.order = order;
+		}
+
+		@Override
+		public void match (String text, int start, int end, HighlightBuffer buffer) {
+			Array<Highlight> highlights = new Array<Highlight>();
+			rule.process(text, start, end, highlights);
+			for (Highlight highlight : highlights) {
+				buffer.add(highlight.getStart(), highlight.getEnd(), colorIndex(highlight.getColor()), order);
+			}
 		}
 	}
 }
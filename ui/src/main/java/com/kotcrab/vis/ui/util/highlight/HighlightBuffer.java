@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.util.highlight;
+
+import java.util.Arrays;
+
+/**
+ * Stores highlights as primitive (start, end, color index) records. Used by {@link BaseHighlighter} to avoid creating
+ * {@link Highlight} instance for every match. Color index refers to color returned by {@link BaseHighlighter#getColor(int)}.
+ * @author Kotcrab
+ * @since 1.4.1
+ */
+public class HighlightBuffer {
+	private static final int STRIDE = 4;
+
+	private int[] data;
+	private int size;
+	private int maxOrder;
+
+	public HighlightBuffer () {
+		this(16);
+	}
+
+	public HighlightBuffer (int capacity) {
+		data = new int[capacity * STRIDE];
+	}
+
+	public void add (int start, int end, int colorIndex) {
+		add(start, end, colorIndex, 0);
+	}
+
+	/** @param order highlights with the same start are sorted by order, used to keep order of rules that added them */
+	void add (int start, int end, int colorIndex, int order) {
+		if (start >= end) throw new IllegalArgumentException("start can't be >= end: " + start + " >= " + end);
+		int index = size * STRIDE;
+		if (index + STRIDE > data.length) {
+			int[] newData = new int[Math.max(data.length * 2, index + STRIDE)];
+			System.arraycopy(data, 0, newData, 0, index);
+			data = newData;
+		}
+		data[index] = start;
+		data[index + 1] = end;
+		data[index + 2] = colorIndex;
+		data[index + 3] = order;
+		maxOrder = Math.max(maxOrder, order);
+		size++;
+	}
+
+	public int getStart (int index) {
+		return data[index * STRIDE];
+	}
+
+	public int getEnd (int index) {
+		return data[index * STRIDE + 1];
+	}
+
+	public int getColorIndex (int index) {
+		return data[index * STRIDE + 2];
+	}
+
+	public int size () {
+		return size;
+	}
+
+	public void clear () {
+		size = 0;
+		maxOrder = 0;
+	}
+
+	/** Sorts highlights by start, order of highlights with same start is preserved. */
+	public void sort () {
+		if (maxOrder > 0) sortByOrder();
+
+		boolean sorted = true;
+		for (int i = 1; i < size; i++) {
+			if (data[(i - 1) * STRIDE] > data[i * STRIDE]) {
+				sorted = false;
+				break;
+			}
+		}
+		if (sorted) return;
+
+		//sorting start and original index packed into single long keeps sort stable and avoids boxing
+		long[] keys = new long[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = ((long) data[i * STRIDE] << 32) | i;
+		}
+		Arrays.sort(keys);
+
+		int[] newData = new int[data.length];
+		for (int i = 0; i < size; i++) {
+			int from = (int) keys[i] * STRIDE;
+			int to = i * STRIDE;
+			newData[to] = data[from];
+			newData[to + 1] = data[from + 1];
+			newData[to + 2] = data[from + 2];
+			newData[to + 3] = data[from + 3];
+		}
+		data = newData;
+	}
+
+	/** Stable counting sort by highlight order, performed before sorting by start. */
+	private void sortByOrder () {
+		int[] offsets = new int[maxOrder + 2];
+		for (int i = 0; i < size; i++) {
+			offsets[data[i * STRIDE + 3] + 1]++;
+		}
+		for (int i = 1; i < offsets.length; i++) {
+			offsets[i] += offsets[i - 1];
+		}
+
+		int[] newData = new int[data.length];
+		for (int i = 0; i < size; i++) {
+			int from = i * STRIDE;
+			int to = offsets[data[from + 3]]++ * STRIDE;
+			System.arraycopy(data, from, newData, to, STRIDE);
+		}
+		data = newData;
+	}
+}
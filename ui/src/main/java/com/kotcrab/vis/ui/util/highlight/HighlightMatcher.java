@@ -0,0 +1,30 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.util.highlight;
+
+/**
+ * Matcher created by {@link BaseHighlighter} when compiling its rules, single matcher may process many rules at once.
+ * @author Kotcrab
+ */
+interface HighlightMatcher {
+	/**
+	 * Adds matches that start inside given text region to buffer, match can end after region end.
+	 * @param start start of region, inclusive
+	 * @param end end of region, exclusive
+	 */
+	void match (String text, int start, int end, HighlightBuffer buffer);
+}
@@ -16,19 +16,172 @@
 
 package com.kotcrab.vis.ui.util.highlight;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
 import com.kotcrab.vis.ui.widget.HighlightTextArea;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * Highlighter aggregates multiple {@link HighlightRule} into single collection. Highlighter is used by {@link HighlightTextArea}
  * to get information about which parts of text should be highlighted. If you need GWT compatibility, you need to use {@link BaseHighlighter}.
+ * <p>
+ * Large text regions are processed on background thread, see {@link #setAsyncThreshold(int)}.
+ * <p>
+ * In addition to word rules compilation done by {@link BaseHighlighter}, {@link RegexHighlightRule}s can be combined into
+ * single alternation pattern so text is scanned once for all regexes, see {@link #setRegexCombiningEnabled(boolean)}.
  * @author Kotcrab
  * @see BaseHighlighter
  * @since 1.1.2
  */
 public class Highlighter extends BaseHighlighter {
+	private static final int DEFAULT_ASYNC_THRESHOLD = 64 * 1024;
+	/** Matches constructs that depend on group numbering or names and can't be used in combined pattern */
+	private static final Pattern UNCOMBINABLE_REGEX = Pattern.compile("\\\\[1-9]|\\\\k<|\\(\\?<[a-zA-Z]|\\\\Q");
+
+	private int asyncThreshold = DEFAULT_ASYNC_THRESHOLD;
+	private boolean regexCombiningEnabled = false;
+	private ExecutorService executor;
+
 	/** Adds regex based highlighter rule. */
 	public void regex (Color color, String regex) {
 		addRule(new RegexHighlightRule(color, regex));
 	}
+
+	@Override
+	public void processRegion (final String text, final int start, final int end, final RegionHighlightListener listener) {
+		if (end - start < asyncThreshold) {
+			super.processRegion(text, start, end, listener);
+			return;
+		}
+
+		if (executor == null) {
+			executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread (Runnable runnable) {
+					Thread thread = new Thread(runnable, "Highlighter");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+
+		executor.execute(new Runnable() {
+			@Override
+			public void run () {
+				final HighlightBuffer highlights = new HighlightBuffer();
+				RuntimeException exception = null;
+				try {
+					process(text, start, end, highlights);
+				} catch (RuntimeException e) {
+					exception = e;
+				}
+
+				final RuntimeException failure = exception;
+				Gdx.app.postRunnable(new Runnable() {
+					@Override
+					public void run () {
+						if (failure != null) throw new GdxRuntimeException("Highlighter failed to process text", failure);
+						listener.regionProcessed(text, start, end, highlights);
+					}
+				});
+			}
+		});
+	}
+
+	@Override
+	void compileRules (Array<HighlightRule> rules, boolean[] compiled, Array<HighlightMatcher> matchers) {
+		super.compileRules(rules, compiled, matchers);
+		if (regexCombiningEnabled == false) return;
+
+		StringBuilder regex = new StringBuilder();
+		IntArray groups = new IntArray();
+		IntArray colors = new IntArray();
+		IntArray orders = new IntArray();
+		int group = 1;
+		for (int i = 0; i < rules.size; i++) {
+			HighlightRule rule = rules.get(i);
+			if (compiled[i] || rule.getClass() != RegexHighlightRule.class) continue; //subclasses may change matching
+			Pattern pattern = ((RegexHighlightRule) rule).getPattern();
+			if (UNCOMBINABLE_REGEX.matcher(pattern.pattern()).find()) continue;
+			compiled[i] = true;
+
+			if (regex.length() > 0) regex.append('|');
+			regex.append('(').append(pattern.pattern()).append(')');
+			groups.add(group);
+			colors.add(colorIndex(((RegexHighlightRule) rule).getColor()));
+			orders.add(i);
+			group += pattern.matcher("").groupCount() + 1;
+		}
+		if (groups.size > 0) matchers.add(new CombinedRegexMatcher(Pattern.compile(regex.toString()), groups.toArray(), colors.toArray(),
+				orders.toArray()));
+	}
+
+	/**
+	 * @param asyncThreshold minimal length of text region that will be processed on background thread, regions smaller
+	 * than this are processed immediately. Default is 65536 characters.
+	 */
+	public void setAsyncThreshold (int asyncThreshold) {
+		this.asyncThreshold = asyncThreshold;
+	}
+
+	public int getAsyncThreshold () {
+		return asyncThreshold;
+	}
+
+	/**
+	 * @param regexCombiningEnabled if true {@link RegexHighlightRule}s are combined into single alternation pattern so text
+	 * is scanned once for all regexes. Note that this changes highlighting semantics: combined pattern finds leftmost
+	 * match of any rule and text matched by one rule is not searched by other rules, so matches of different rules can't
+	 * overlap. Enable it only if matches of your regex rules never overlap. Rules using back references or named groups
+	 * are always processed separately. Disabled by default, each regex rule scans text separately.
+	 */
+	public void setRegexCombiningEnabled (boolean regexCombiningEnabled) {
+		this.regexCombiningEnabled = regexCombiningEnabled;
+		invalidateCompiledRules();
+	}
+
+	public boolean isRegexCombiningEnabled () {
+		return regexCombiningEnabled;
+	}
+
+	/** Matches many regex rules at once, each rule is single capturing group of pattern alternation. */
+	private static class CombinedRegexMatcher implements HighlightMatcher {
+		private final Pattern pattern;
+		private final int[] groups;
+		private final int[] colors;
+		private final int[] orders;
+
+		public CombinedRegexMatcher (Pattern pattern, int[] groups, int[] colors, int[] orders) {
+			this.pattern = pattern;
+			this.groups = groups;
+			this.colors = colors;
+			this.orders = orders;
+		}
+
+		@Override
+		public void match (String text, int start, int end, HighlightBuffer buffer) {
+			Matcher matcher = pattern.matcher(text);
+			//same as in RegexHighlightRule, match may end after region end
+			matcher.region(start, text.length());
+			matcher.useTransparentBounds(true);
+			matcher.useAnchoringBounds(false);
+			while (matcher.find() && matcher.start() < end) {
+				if (matcher.start() == matcher.end()) continue;
+				for (int i = 0; i < groups.length; i++) {
+					if (matcher.start(groups[i]) != -1) {
+						buffer.add(matcher.start(), matcher.end(), colors[i], orders[i]);
+						break;
+					}
+				}
+			}
+		}
+	}
 }
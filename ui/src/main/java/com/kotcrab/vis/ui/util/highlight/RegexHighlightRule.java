@@ -28,7 +28,7 @@ import java.util.regex.Pattern;
  * @author Kotcrab
  * @since 1.1.2
  */
-public class RegexHighlightRule implements HighlightRule {
+public class RegexHighlightRule implements RegionHighlightRule {
 	private Color color;
 	private Pattern pattern;
 
@@ -44,4 +44,24 @@ public class RegexHighlightRule implements HighlightRule {
 			highlights.add(new Highlight(color, matcher.start(), matcher.end()));
 		}
 	}
+
+	@Override
+	public void process (String text, int start, int end, Array<Highlight> highlights) {
+		Matcher matcher = pattern.matcher(text);
+		//match may end after region end, transparent bounds allow lookarounds to see text outside of region
+		matcher.region(start, text.length());
+		matcher.useTransparentBounds(true);
+		matcher.useAnchoringBounds(false);
+		while (matcher.find() && matcher.start() < end) {
+			highlights.add(new Highlight(color, matcher.start(), matcher.end()));
+		}
+	}
+
+	Color getColor () {
+		return color;
+	}
+
+	Pattern getPattern () {
+		return pattern;
+	}
 }
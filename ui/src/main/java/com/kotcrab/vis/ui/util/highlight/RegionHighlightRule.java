@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.util.highlight;
+
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.ui.widget.HighlightTextArea;
+
+/**
+ * Highlight rule that can process only part of text. Allows {@link HighlightTextArea} to highlight only lines that were
+ * edited instead of whole text. Implementations must not depend on text area state, regions may be processed on
+ * background thread.
+ * @author Kotcrab
+ * @since 1.4.1
+ */
+public interface RegionHighlightRule extends HighlightRule {
+	/**
+	 * Process this rule in given region of text. Only matches that start inside region should be added, match can end
+	 * after region end.
+	 * @param text whole text of text area
+	 * @param start start of region, inclusive
+	 * @param end end of region, exclusive
+	 * @param highlights current highlights, new highlights can be added to this list however it should not be modified in any other ways
+	 */
+	void process (String text, int start, int end, Array<Highlight> highlights);
+}
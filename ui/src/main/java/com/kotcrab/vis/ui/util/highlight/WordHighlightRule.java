@@ -25,7 +25,7 @@ import com.kotcrab.vis.ui.widget.HighlightTextArea;
  * @author Kotcrab
  * @since 1.1.2
  */
-public class WordHighlightRule implements HighlightRule {
+public class WordHighlightRule implements RegionHighlightRule {
 	private Color color;
 	private String word;
 
@@ -37,10 +37,23 @@ public class WordHighlightRule implements HighlightRule {
 	@Override
 	public void process (HighlightTextArea textArea, Array<Highlight> highlights) {
 		String text = textArea.getText();
-		int index = text.indexOf(word);
-		while (index >= 0) {
+		process(text, 0, text.length(), highlights);
+	}
+
+	@Override
+	public void process (String text, int start, int end, Array<Highlight> highlights) {
+		int index = text.indexOf(word, start);
+		while (index >= 0 && index < end) {
 			highlights.add(new Highlight(color, index, index += word.length()));
 			index = text.indexOf(word, index);
 		}
 	}
+
+	Color getColor () {
+		return color;
+	}
+
+	String getWord () {
+		return word;
+	}
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.util.highlight;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+
+import java.util.Arrays;
+
+/**
+ * Aho-Corasick automaton matching all words of {@link WordHighlightRule}s in single pass over text. Produces same matches
+ * as processing every rule separately: all occurrences of every word are found, occurrences of the same word can't
+ * overlap each other.
+ * @author Kotcrab
+ */
+class WordMatcher implements HighlightMatcher {
+	private final int wordCount;
+	private final int[] wordLengths;
+	private final int[] wordColors;
+	private final int[] wordOrders;
+	/** Next word that ends in the same state (duplicated words with different colors), or -1 */
+	private final int[] nextWords;
+	private int maxWordLength;
+
+	/** Maps word characters to alphabet index, ASCII characters are looked up in array */
+	private final int[] asciiAlphabet = new int[128];
+	private final IntIntMap alphabet = new IntIntMap();
+	private int alphabetSize;
+
+	/** Complete transition table, next state is transitions[state * alphabetSize + charIndex] */
+	private int[] transitions;
+	/** First word ending in state, or -1 */
+	private int[] stateWords;
+	/** Closest state on failure chain that ends some word, or -1 */
+	private int[] outputLinks;
+
+	/**
+	 * @param words words to match, must not be empty
+	 * @param colors color index of each word
+	 * @param orders highlight order of each word, see {@link HighlightBuffer#add(int, int, int, int)}
+	 */
+	WordMatcher (Array<String> words, IntArray colors, IntArray orders) {
+		wordCount = words.size;
+		wordLengths = new int[wordCount];
+		wordColors = colors.toArray();
+		wordOrders = orders.toArray();
+		nextWords = new int[wordCount];
+
+		Arrays.fill(asciiAlphabet, -1);
+		int maxStates = 1;
+		for (int i = 0; i < wordCount; i++) {
+			String word = words.get(i);
+			wordLengths[i] = word.length();
+			maxWordLength = Math.max(maxWordLength, word.length());
+			maxStates += word.length();
+			for (int j = 0; j < word.length(); j++) {
+				char c = word.charAt(j);
+				if (charIndex(c) == -1) {
+					if (c < 128)
+						asciiAlphabet[c] = alphabetSize++;
+					else
+						alphabet.put(c, alphabetSize++);
+				}
+			}
+		}
+
+		transitions = new int[maxStates * alphabetSize];
+		Arrays.fill(transitions, -1);
+		stateWords = new int[maxStates];
+		Arrays.fill(stateWords, -1);
+		int states = buildTrie(words);
+		outputLinks = new int[states];
+		buildFailureLinks(states);
+	}
+
+	private int buildTrie (Array<String> words) {
+		int states = 1;
+		for (int i = 0; i < wordCount; i++) {
+			String word = words.get(i);
+			int state = 0;
+			for (int j = 0; j < word.length(); j++) {
+				int transition = state * alphabetSize + charIndex(word.charAt(j));
+				if (transitions[transition] == -1) transitions[transition] = states++;
+				state = transitions[transition];
+			}
+			nextWords[i] = stateWords[state];
+			stateWords[state] = i;
+		}
+		return states;
+	}
+
+	/** Computes failure links using breadth first traversal and turns trie into complete automaton. */
+	private void buildFailureLinks (int states) {
+		int[] failure = new int[states];
+		int[] queue = new int[states];
+		int head = 0;
+		int tail = 0;
+
+		outputLinks[0] = -1;
+		for (int c = 0; c < alphabetSize; c++) {
+			int next = transitions[c];
+			if (next == -1) {
+				transitions[c] = 0;
+			} else {
+				failure[next] = 0;
+				outputLinks[next] = -1;
+				queue[tail++] = next;
+			}
+		}
+
+		while (head < tail) {
+			int state = queue[head++];
+			for (int c = 0; c < alphabetSize; c++) {
+				int transition = state * alphabetSize + c;
+				int next = transitions[transition];
+				int failureNext = transitions[failure[state] * alphabetSize + c];
+				if (next == -1) {
+					transitions[transition] = failureNext;
+				} else {
+					failure[next] = failureNext;
+					outputLinks[next] = stateWords[failureNext] != -1 ? failureNext : outputLinks[failureNext];
+					queue[tail++] = next;
+				}
+			}
+		}
+	}
+
+	private int charIndex (char c) {
+		if (c < 128) return asciiAlphabet[c];
+		return alphabet.get(c, -1);
+	}
+
+	@Override
+	public void match (String text, int start, int end, HighlightBuffer buffer) {
+		int[] lastEnds = new int[wordCount];
+		int limit = (int) Math.min(text.length(), (long) end + maxWordLength - 1);
+		int state = 0;
+
+		for (int i = start; i < limit; i++) {
+			int c = charIndex(text.charAt(i));
+			if (c == -1) {
+				state = 0;
+				continue;
+			}
+
+			state = transitions[state * alphabetSize + c];
+			for (int output = stateWords[state] != -1 ? state : outputLinks[state]; output != -1; output = outputLinks[output]) {
+				for (int word = stateWords[output]; word != -1; word = nextWords[word]) {
+					int wordStart = i + 1 - wordLengths[word];
+					if (wordStart >= end || wordStart < lastEnds[word]) continue;
+					lastEnds[word] = i + 1;
+					buffer.add(wordStart, i + 1, wordColors[word], wordOrders[word]);
+				}
+			}
+		}
+	}
+}
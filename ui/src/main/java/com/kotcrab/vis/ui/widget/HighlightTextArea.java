@@ -19,14 +19,17 @@ package com.kotcrab.vis.ui.widget;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
+import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.Pool;
-import com.badlogic.gdx.utils.Pools;
+import com.badlogic.gdx.utils.IntArray;
 import com.kotcrab.vis.ui.util.highlight.BaseHighlighter;
+import com.kotcrab.vis.ui.util.highlight.BaseHighlighter.RegionHighlightListener;
 import com.kotcrab.vis.ui.util.highlight.Highlight;
+import com.kotcrab.vis.ui.util.highlight.HighlightBuffer;
 import com.kotcrab.vis.ui.util.highlight.Highlighter;
+import com.kotcrab.vis.ui.util.highlight.RegionHighlightRule;
 
 /**
  * Text area implementation supporting highlighting words and scrolling in both X and Y directions.
@@ -36,13 +39,37 @@ import com.kotcrab.vis.ui.util.highlight.Highlighter;
  * Note about overlapping highlights: this text area can handle overlapping highlights, highlights that starts earlier
  * have higher priority. If two highlights have the exactly the same start point, then it is undefined which highlight
  * will be used and depends on how array containing highlights will be sorted.
+ * <p>
+ * When all highlighter rules implement {@link RegionHighlightRule} only lines affected by text change are highlighted
+ * again, otherwise whole text is processed after each change.
  * @author Kotcrab
  * @see Highlighter
  * @since 1.1.2
  */
 public class HighlightTextArea extends ScrollableTextArea {
-	private Array<Highlight> highlights = new Array<Highlight>();
-	private Array<Chunk> renderChunks = new Array<Chunk>();
+	/** Highlights sorted by start, stored in primitive arrays so they can be shifted after text change */
+	private int[] highlightStarts = new int[16];
+	private int[] highlightEnds = new int[16];
+	private Color[] highlightColors = new Color[16];
+	private int highlightCount;
+
+	/** Text that current highlights were created for, except for dirty region that still must be highlighted */
+	private String highlightedText;
+	private int dirtyStart = -1;
+	private int dirtyEnd;
+	private boolean regionProcessing;
+	/** Incremented when highlights are discarded, results of regions requested before that are ignored */
+	private int highlightsGeneration;
+
+	/** Bounds of region removed by last {@link #removeHighlights(int, int)} call */
+	private int removedStart;
+	private int removedEnd;
+
+	/** Render chunks, chunks of line n are stored between indexes lineChunks[n] and lineChunks[n + 1] */
+	private IntArray chunkStarts = new IntArray();
+	private IntArray chunkEnds = new IntArray();
+	private Array<Color> chunkColors = new Array<Color>();
+	private IntArray lineChunks = new IntArray();
 	private boolean chunkUpdateScheduled = true;
 	private Color defaultColor = Color.WHITE;
 
@@ -67,7 +94,187 @@ public class HighlightTextArea extends ScrollableTextArea {
 	@Override
 	void updateDisplayText () {
 		super.updateDisplayText();
-		processHighlighter();
+		if (chunkStarts == null) return; //called from super constructor
+		textChanged();
+	}
+
+	private void textChanged () {
+		String text = getText();
+		if (text.equals(highlightedText)) return;
+
+		if (highlightedText == null || highlighter == null || highlighter.isRegionProcessingSupported() == false) {
+			processHighlighter();
+			return;
+		}
+
+		String oldText = highlightedText;
+		int oldLength = oldText.length();
+		int newLength = text.length();
+		int minLength = Math.min(oldLength, newLength);
+
+		int prefix = 0;
+		while (prefix < minLength && oldText.charAt(prefix) == text.charAt(prefix)) prefix++;
+		int suffix = 0;
+		while (suffix < minLength - prefix && oldText.charAt(oldLength - 1 - suffix) == text.charAt(newLength - 1 - suffix))
+			suffix++;
+
+		int delta = newLength - oldLength;
+		int oldChangeEnd = oldLength - suffix;
+
+		//remove highlights of changed lines, and highlights overlapping them, using old text positions
+		removeHighlights(oldText.lastIndexOf('\n', prefix - 1) + 1, lineEnd(oldText, oldChangeEnd));
+		int regionStart = removedStart;
+		int regionEnd = removedEnd;
+
+		for (int i = 0; i < highlightCount; i++) {
+			if (highlightStarts[i] >= regionEnd) {
+				highlightStarts[i] += delta;
+				highlightEnds[i] += delta;
+			}
+		}
+
+		regionEnd += delta;
+		if (dirtyStart != -1) { //merge with region that was not highlighted yet
+			regionStart = Math.min(regionStart, mapPosition(dirtyStart, prefix, oldChangeEnd, delta));
+			regionEnd = Math.max(regionEnd, mapPosition(dirtyEnd, prefix, oldChangeEnd, delta));
+		}
+
+		highlightedText = text;
+		dirtyStart = regionStart;
+		dirtyEnd = regionEnd;
+		chunkUpdateScheduled = true;
+		processDirtyRegion();
+	}
+
+	/** Maps position in text before change to position in text after change */
+	private int mapPosition (int position, int prefix, int oldChangeEnd, int delta) {
+		if (position <= prefix) return position;
+		if (position >= oldChangeEnd) return position + delta;
+		return prefix;
+	}
+
+	private int lineEnd (String text, int position) {
+		int index = text.indexOf('\n', position);
+		return index == -1 ? text.length() : index + 1;
+	}
+
+	/**
+	 * Removes all highlights overlapping given region. Region is expanded to contain removed highlights, final region
+	 * bounds are stored in {@link #removedStart} and {@link #removedEnd}.
+	 */
+	private void removeHighlights (int start, int end) {
+		boolean expanded = true;
+		while (expanded) {
+			expanded = false;
+			for (int i = 0; i < highlightCount && highlightStarts[i] < end; i++) {
+				if (highlightEnds[i] > start && (highlightStarts[i] < start || highlightEnds[i] > end)) {
+					start = Math.min(start, highlightStarts[i]);
+					end = Math.max(end, highlightEnds[i]);
+					expanded = true;
+				}
+			}
+		}
+
+		int count = 0;
+		for (int i = 0; i < highlightCount; i++) {
+			if (highlightStarts[i] < end && highlightEnds[i] > start) continue;
+			highlightStarts[count] = highlightStarts[i];
+			highlightEnds[count] = highlightEnds[i];
+			highlightColors[count] = highlightColors[i];
+			count++;
+		}
+		for (int i = count; i < highlightCount; i++) {
+			highlightColors[i] = null;
+		}
+		highlightCount = count;
+
+		removedStart = start;
+		removedEnd = end;
+	}
+
+	private void processDirtyRegion () {
+		if (dirtyStart == -1 || regionProcessing) return;
+		regionProcessing = true;
+		final int generation = highlightsGeneration;
+		highlighter.processRegion(highlightedText, dirtyStart, dirtyEnd, new RegionHighlightListener() {
+			@Override
+			public void regionProcessed (String text, int start, int end, HighlightBuffer highlights) {
+				if (generation == highlightsGeneration) HighlightTextArea.this.regionProcessed(text, start, end, highlights);
+			}
+		});
+	}
+
+	private void regionProcessed (String text, int start, int end, HighlightBuffer highlights) {
+		regionProcessing = false;
+		if (text != highlightedText || start != dirtyStart || end != dirtyEnd) {
+			//text or highlighter was changed while region was processed
+			processDirtyRegion();
+			return;
+		}
+
+		int maxEnd = end;
+		for (int i = 0; i < highlights.size(); i++) {
+			maxEnd = Math.max(maxEnd, highlights.getEnd(i));
+		}
+		if (maxEnd > end) {
+			//new highlight extends past processed region (eg. opened multi line comment), following text must be processed again
+			removeHighlights(end, lineEnd(text, maxEnd));
+			dirtyEnd = removedEnd;
+			processDirtyRegion();
+			return;
+		}
+
+		insertHighlights(highlights);
+		dirtyStart = -1;
+		chunkUpdateScheduled = true;
+	}
+
+	/** Inserts sorted highlights that does not overlap any existing highlight. */
+	private void insertHighlights (HighlightBuffer highlights) {
+		int size = highlights.size();
+		if (size == 0) return;
+		ensureHighlightsCapacity(highlightCount + size);
+
+		int first = highlights.getStart(0);
+		int index = 0;
+		int high = highlightCount - 1;
+		while (index <= high) {
+			int mid = (index + high) >>> 1;
+			if (highlightStarts[mid] < first)
+				index = mid + 1;
+			else
+				high = mid - 1;
+		}
+
+		System.arraycopy(highlightStarts, index, highlightStarts, index + size, highlightCount - index);
+		System.arraycopy(highlightEnds, index, highlightEnds, index + size, highlightCount - index);
+		System.arraycopy(highlightColors, index, highlightColors, index + size, highlightCount - index);
+		for (int i = 0; i < size; i++) {
+			highlightStarts[index + i] = highlights.getStart(i);
+			highlightEnds[index + i] = highlights.getEnd(i);
+			highlightColors[index + i] = highlighter.getColor(highlights.getColorIndex(i));
+		}
+		highlightCount += size;
+	}
+
+	private void ensureHighlightsCapacity (int capacity) {
+		if (highlightStarts.length >= capacity) return;
+		int newSize = Math.max(capacity, highlightStarts.length * 2);
+		int[] newStarts = new int[newSize];
+		System.arraycopy(highlightStarts, 0, newStarts, 0, highlightCount);
+		highlightStarts = newStarts;
+		int[] newEnds = new int[newSize];
+		System.arraycopy(highlightEnds, 0, newEnds, 0, highlightCount);
+		highlightEnds = newEnds;
+		Color[] newColors = new Color[newSize];
+		System.arraycopy(highlightColors, 0, newColors, 0, highlightCount);
+		highlightColors = newColors;
+	}
+
+	@Override
+	protected void sizeChanged () {
+		super.sizeChanged();
+		chunkUpdateScheduled = true; //line breaks will be recalculated
 	}
 
 	@Override
@@ -75,95 +282,81 @@ public class HighlightTextArea extends ScrollableTextArea {
 		super.calculateOffsets();
 		if (chunkUpdateScheduled == false) return;
 		chunkUpdateScheduled = false;
-		highlights.sort();
-		renderChunks.clear();
+		chunkStarts.clear();
+		chunkEnds.clear();
+		chunkColors.clear();
+		lineChunks.clear();
 
-		String text = getText();
+		float[] glyphPositions = this.glyphPositions.items;
+		int[] starts = highlightStarts;
+		int[] ends = highlightEnds;
+		int highlightIdx = 0;
+		maxAreaWidth = 0;
 
-		Pool<GlyphLayout> layoutPool = Pools.get(GlyphLayout.class);
-		GlyphLayout layout = layoutPool.obtain();
-		boolean carryHighlight = false;
-		for (int lineIdx = 0, highlightIdx = 0; lineIdx < linesBreak.size; lineIdx += 2) {
+		for (int lineIdx = 0; lineIdx < linesBreak.size; lineIdx += 2) {
 			int lineStart = linesBreak.items[lineIdx];
 			int lineEnd = linesBreak.items[lineIdx + 1];
 			int lineProgress = lineStart;
-			float chunkOffset = 0;
+			lineChunks.add(chunkStarts.size);
 
-			for (; highlightIdx < highlights.size; ) {
-				Highlight highlight = highlights.get(highlightIdx);
-				if (highlight.getStart() > lineEnd) {
-					break;
+			while (lineProgress < lineEnd) {
+				if (highlightIdx < highlightCount && ends[highlightIdx] <= lineProgress) {
+					//highlight was fully rendered, skip highlights that were overlapping it
+					highlightIdx++;
+					while (highlightIdx < highlightCount && starts[highlightIdx] < lineProgress) highlightIdx++;
+					continue;
 				}
 
-				if (highlight.getStart() == lineProgress || carryHighlight) {
-					renderChunks.add(new Chunk(text.substring(lineProgress, Math.min(highlight.getEnd(), lineEnd)), highlight.getColor(), chunkOffset, lineIdx));
-					lineProgress = Math.min(highlight.getEnd(), lineEnd);
-
-					if (highlight.getEnd() > lineEnd) {
-						carryHighlight = true;
-					} else {
-						carryHighlight = false;
-						highlightIdx++;
-					}
+				if (highlightIdx < highlightCount && starts[highlightIdx] <= lineProgress) {
+					int chunkEnd = Math.min(ends[highlightIdx], lineEnd);
+					addChunk(lineProgress, chunkEnd, highlightColors[highlightIdx]);
+					lineProgress = chunkEnd;
 				} else {
-					//protect against overlapping highlights
-					boolean noMatch = false;
-					while (highlight.getStart() <= lineProgress) {
-						highlightIdx++;
-						if (highlightIdx >= highlights.size) {
-							noMatch = true;
-							break;
-						}
-						highlight = highlights.get(highlightIdx);
-						if (highlight.getStart() > lineEnd) {
-							noMatch = true;
-							break;
-						}
-					}
-					if (noMatch) break;
-					renderChunks.add(new Chunk(text.substring(lineProgress, highlight.getStart()), defaultColor, chunkOffset, lineIdx));
-					lineProgress = highlight.getStart();
+					int chunkEnd = highlightIdx < highlightCount ? Math.min(starts[highlightIdx], lineEnd) : lineEnd;
+					addChunk(lineProgress, chunkEnd, defaultColor);
+					lineProgress = chunkEnd;
 				}
-
-				Chunk chunk = renderChunks.peek();
-				layout.setText(style.font, chunk.text);
-				chunkOffset += layout.width;
-				//current highlight needs to be applied to next line meaning that there is no other highlights that can be applied to currently parsed line
-				if (carryHighlight) break;
 			}
 
-			if (lineProgress < lineEnd) {
-				renderChunks.add(new Chunk(text.substring(lineProgress, lineEnd), defaultColor, chunkOffset, lineIdx));
-			}
+			maxAreaWidth = Math.max(maxAreaWidth, glyphPositions[lineEnd] - glyphPositions[lineStart] + 30);
 		}
+		lineChunks.add(chunkStarts.size);
 
-		maxAreaWidth = 0;
-		for (String line : text.split("\\n")) {
-			layout.setText(style.font, line);
-			maxAreaWidth = Math.max(maxAreaWidth, layout.width + 30);
-		}
-
-		layoutPool.free(layout);
 		updateScrollLayout();
 	}
 
+	private void addChunk (int start, int end, Color color) {
+		chunkStarts.add(start);
+		chunkEnds.add(end);
+		chunkColors.add(color);
+	}
+
 	@Override
 	protected void drawText (Batch batch, BitmapFont font, float x, float y) {
-		maxAreaHeight = 0;
-		float offsetY = 0;
-		for (int i = firstLineShowing * 2; i < (firstLineShowing + linesShowing) * 2 && i < linesBreak.size; i += 2) {
-			for (Chunk chunk : renderChunks) {
-				if (chunk.lineIndex == i) {
-					font.setColor(chunk.color);
-					font.draw(batch, chunk.text, x + chunk.offsetX, y + offsetY);
-				}
-			}
+		float lineHeight = font.getLineHeight();
+		int lastLine = Math.min(firstLineShowing + linesShowing, Math.min(linesBreak.size / 2, lineChunks.size - 1));
+		maxAreaHeight = Math.max(0, lastLine - firstLineShowing) * lineHeight + 30;
 
-			offsetY -= font.getLineHeight();
-			maxAreaHeight += font.getLineHeight();
+		int firstLine = firstLineShowing;
+		Rectangle cullingArea = getCullingArea();
+		if (cullingArea != null) { //skip lines outside of scroll pane viewport
+			float textTop = y - getY();
+			firstLine = Math.max(firstLine, firstLineShowing + (int) ((textTop - cullingArea.y - cullingArea.height) / lineHeight) - 1);
+			lastLine = Math.min(lastLine, firstLineShowing + (int) ((textTop - cullingArea.y) / lineHeight) + 2);
 		}
 
-		maxAreaHeight += 30;
+		float[] glyphPositions = this.glyphPositions.items;
+		int[] lineChunks = this.lineChunks.items;
+		float offsetY = -(firstLine - firstLineShowing) * lineHeight;
+		for (int line = firstLine; line < lastLine; line++) {
+			float lineX = glyphPositions[linesBreak.items[line * 2]];
+			for (int i = lineChunks[line], end = lineChunks[line + 1]; i < end; i++) {
+				int chunkStart = chunkStarts.items[i];
+				font.setColor(chunkColors.get(i));
+				font.draw(batch, text, x + glyphPositions[chunkStart] - lineX, y + offsetY, chunkStart, chunkEnds.items[i], 0, Align.left, false);
+			}
+			offsetY -= lineHeight;
+		}
 	}
 
 	/**
@@ -171,10 +364,40 @@ public class HighlightTextArea extends ScrollableTextArea {
 	 * after highlighter rules has changed to update highlights.
 	 */
 	public void processHighlighter () {
-		if (highlights == null) return;
-		highlights.clear();
-		if (highlighter != null) highlighter.process(this, highlights);
+		if (chunkStarts == null) return;
+		for (int i = 0; i < highlightCount; i++) {
+			highlightColors[i] = null;
+		}
+		highlightCount = 0;
+		dirtyStart = -1;
+		highlightsGeneration++;
+		regionProcessing = false;
+		highlightedText = getText();
 		chunkUpdateScheduled = true;
+		if (highlighter == null) return;
+
+		if (highlighter.isRegionProcessingSupported()) {
+			dirtyStart = 0;
+			dirtyEnd = highlightedText.length();
+			processDirtyRegion();
+		} else {
+			Array<Highlight> highlights = new Array<Highlight>();
+			highlighter.process(this, highlights);
+			highlights.sort();
+			insertAllHighlights(highlights);
+		}
+	}
+
+	/** Inserts sorted highlights that may overlap each other, used when highlights were not created for text regions. */
+	private void insertAllHighlights (Array<Highlight> highlights) {
+		ensureHighlightsCapacity(highlights.size);
+		for (int i = 0; i < highlights.size; i++) {
+			Highlight highlight = highlights.get(i);
+			highlightStarts[i] = highlight.getStart();
+			highlightEnds[i] = highlight.getEnd();
+			highlightColors[i] = highlight.getColor();
+		}
+		highlightCount = highlights.size;
 	}
 
 	/**
@@ -206,18 +429,4 @@ public class HighlightTextArea extends ScrollableTextArea {
 		scrollPane.setScrollingDisabled(false, false);
 		return scrollPane;
 	}
-
-	private static class Chunk {
-		String text;
-		Color color;
-		float offsetX;
-		int lineIndex;
-
-		public Chunk (String text, Color color, float offsetX, int lineIndex) {
-			this.text = text;
-			this.color = color;
-			this.offsetX = offsetX;
-			this.lineIndex = lineIndex;
-		}
-	}
 }
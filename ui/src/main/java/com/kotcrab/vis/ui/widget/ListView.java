@@ -19,14 +19,18 @@ package com.kotcrab.vis.ui.widget;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
+import com.badlogic.gdx.scenes.scene2d.utils.Layout;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
 import com.kotcrab.vis.ui.VisUI;
-import com.kotcrab.vis.ui.util.adapter.AbstractListAdapter;
-import com.kotcrab.vis.ui.util.adapter.ArrayAdapter;
-import com.kotcrab.vis.ui.util.adapter.ArrayListAdapter;
-import com.kotcrab.vis.ui.util.adapter.ListAdapter;
+import com.kotcrab.vis.ui.util.adapter.*;
 
 /**
  * ListView displays list of scrollable items. Item views are created by using {@link ListAdapter}s.
+ * <p>
+ * By default views of all items are created and added to list. For large lists ListView can be virtualized (see
+ * {@link #setVirtualized(boolean)}), then only views of items visible in scroll pane viewport are created.
  * @author Kotcrab
  * @see ListAdapter
  * @see ArrayAdapter
@@ -49,6 +53,9 @@ public class ListView<ItemT> {
 	private Actor header;
 	private Actor footer;
 
+	private boolean virtualized;
+	private VirtualItemsGroup virtualItemsGroup;
+
 	public ListView (ListAdapter<ItemT> adapter) {
 		this(adapter, "default");
 	}
@@ -88,13 +95,18 @@ public class ListView<ItemT> {
 			scrollTable.row();
 		}
 
-		if (full) {
-			itemsTable.clearChildren();
-			adapter.fillTable(itemsTable);
+		if (virtualized) {
+			if (full) virtualItemsGroup.rebuild();
+			scrollTable.add(virtualItemsGroup).growX();
+		} else {
+			if (full) {
+				itemsTable.clearChildren();
+				adapter.fillTable(itemsTable);
+			}
+			scrollTable.add(itemsTable).growX();
 		}
-
-		scrollTable.add(itemsTable).growX();
 		scrollTable.row();
+		dataInvalidated = false;
 
 		if (footer != null) {
 			scrollTable.add(footer).growX();
@@ -154,6 +166,72 @@ public class ListView<ItemT> {
 		return updatePolicy;
 	}
 
+	/**
+	 * Enables or disables virtualized mode. In virtualized mode only views of items visible in scroll pane viewport (and
+	 * few items around it, see {@link #setOverscan(int)}) are created. Views of items that are scrolled out of viewport
+	 * are returned to adapter so they can be reused. Inserting and removing single items does not require rebuilding
+	 * whole list. Adapter must implement {@link VirtualListAdapter}.
+	 */
+	@SuppressWarnings("unchecked")
+	public void setVirtualized (boolean virtualized) {
+		if (this.virtualized == virtualized) return;
+		if (virtualized) {
+			if (adapter instanceof VirtualListAdapter == false)
+				throw new IllegalStateException("Virtualized ListView requires adapter implementing VirtualListAdapter");
+			if (virtualItemsGroup == null) virtualItemsGroup = new VirtualItemsGroup((VirtualListAdapter<ItemT>) adapter);
+			itemsTable.clearChildren();
+		} else {
+			virtualItemsGroup.freeAllRows();
+		}
+		this.virtualized = virtualized;
+		rebuildView(true);
+	}
+
+	public boolean isVirtualized () {
+		return virtualized;
+	}
+
+	/**
+	 * Sets height of all items in virtualized mode. Using fixed height avoids measuring views and allows to immediately
+	 * calculate position of any item.
+	 * @param fixedItemHeight height of single item or 0 if item views should be measured
+	 */
+	public void setFixedItemHeight (float fixedItemHeight) {
+		if (fixedItemHeight < 0) throw new IllegalArgumentException("fixedItemHeight can't be negative");
+		getVirtualItemsGroup().fixedItemHeight = fixedItemHeight;
+		getVirtualItemsGroup().resetMeasurements();
+	}
+
+	public float getFixedItemHeight () {
+		return virtualItemsGroup == null ? 0 : virtualItemsGroup.fixedItemHeight;
+	}
+
+	/**
+	 * Sets height used for items that were not measured yet in virtualized mode. By default height of first measured item
+	 * is used. Has no effect when fixed item height is set.
+	 */
+	public void setEstimatedItemHeight (float estimatedItemHeight) {
+		if (estimatedItemHeight <= 0) throw new IllegalArgumentException("estimatedItemHeight must be greater than 0");
+		getVirtualItemsGroup().estimatedItemHeight = estimatedItemHeight;
+		getVirtualItemsGroup().invalidateOffsets(0);
+	}
+
+	/** @param overscan amount of items that are created above and below viewport in virtualized mode, default is 4 */
+	public void setOverscan (int overscan) {
+		if (overscan < 0) throw new IllegalArgumentException("overscan can't be negative");
+		getVirtualItemsGroup().overscan = overscan;
+	}
+
+	public int getOverscan () {
+		return virtualItemsGroup == null ? VirtualItemsGroup.DEFAULT_OVERSCAN : virtualItemsGroup.overscan;
+	}
+
+	private VirtualItemsGroup getVirtualItemsGroup () {
+		if (virtualItemsGroup == null)
+			throw new IllegalStateException("ListView is not virtualized, call setVirtualized(true) first");
+		return virtualItemsGroup;
+	}
+
 	public interface ItemClickListener<ItemT> {
 		void clicked (ItemT item);
 	}
@@ -163,13 +241,56 @@ public class ListView<ItemT> {
 			if (updatePolicy == UpdatePolicy.IMMEDIATELY) rebuildView(true);
 			if (updatePolicy == UpdatePolicy.ON_DRAW) dataInvalidated = true;
 		}
+
+		/** Notifies ListView that items were inserted into adapter collection. */
+		public void itemRangeInserted (int index, int count) {
+			if (canPatch()) virtualItemsGroup.itemRangeInserted(index, count);
+		}
+
+		/**
+		 * Notifies ListView that items were removed from adapter collection, index is index of first removed item before
+		 * removal.
+		 */
+		public void itemRangeRemoved (int index, int count) {
+			if (canPatch()) virtualItemsGroup.itemRangeRemoved(index, count);
+		}
+
+		/** Notifies ListView that item was moved in adapter collection. */
+		public void itemMoved (int fromIndex, int toIndex) {
+			if (canPatch()) virtualItemsGroup.itemMoved(fromIndex, toIndex);
+		}
+
+		/** Notifies ListView that items were changed or replaced by other items. */
+		public void itemRangeChanged (int index, int count) {
+			if (canPatch()) virtualItemsGroup.itemRangeChanged(index, count);
+		}
+
+		/**
+		 * @return true if virtualized rows can be patched. When ListView is not virtualized it will be rebuilt once before
+		 * drawing, regardless of amount of changes done in single frame. Views of inserted items are created by adapter
+		 * immediately so they can be selected before that.
+		 */
+		private boolean canPatch () {
+			if (updatePolicy == UpdatePolicy.MANUAL || dataInvalidated) return false;
+			if (virtualized) return true;
+			dataInvalidated = true;
+			return false;
+		}
 	}
 
 	/** Controls when list view's views are updated after underlying data was invalidated. */
 	public enum UpdatePolicy {
-		/** If list data was was invalidated then views are updated before drawing list. */
+		/**
+		 * If list data was was invalidated then views are updated before drawing list. Many changes done in single frame
+		 * cause single update.
+		 */
 		ON_DRAW,
-		/** If list data was was invalidated then views are updated immediately after data invalidation. */
+		/**
+		 * If list data was was invalidated then views are updated immediately after data invalidation. Fine-grained
+		 * notifications such as {@link ListAdapterListener#itemRangeInserted(int, int)} are batched: virtualized ListView
+		 * only patches affected rows, views of those rows are bound before drawing, non virtualized ListView is rebuilt
+		 * once before drawing.
+		 */
 		IMMEDIATELY,
 		/**
 		 * In manual mode ListView must be rebuild manually by calling {@link #rebuildView()}. Notification from adapter
@@ -190,7 +311,7 @@ public class ListView<ItemT> {
 
 		@Override
 		public void draw (Batch batch, float parentAlpha) {
-			if (listView.updatePolicy == UpdatePolicy.ON_DRAW && listView.dataInvalidated) listView.rebuildView(true);
+			if (listView.updatePolicy != UpdatePolicy.MANUAL && listView.dataInvalidated) listView.rebuildView(true);
 			super.draw(batch, parentAlpha);
 		}
 
@@ -199,4 +320,360 @@ public class ListView<ItemT> {
 		}
 	}
 
+	/**
+	 * Contains views of visible items when ListView is virtualized. Rows positions are calculated from item heights, rows
+	 * that were not yet measured use estimated height. Rows are created and freed when drawing, after scroll pane
+	 * position is known.
+	 */
+	private class VirtualItemsGroup extends WidgetGroup {
+		static final int DEFAULT_OVERSCAN = 4;
+		/** Height used for rows that were not measured before first row is measured */
+		private static final float FALLBACK_ITEM_HEIGHT = 24;
+
+		private final VirtualListAdapter<ItemT> adapter;
+
+		private float fixedItemHeight;
+		private float estimatedItemHeight;
+		private int overscan = DEFAULT_OVERSCAN;
+
+		private int rowCount;
+		/** Measured heights of rows, negative value means that row was not measured yet */
+		private float[] heights = new float[0];
+		/** Offset of row top from top of group, offsets[rowCount] is total height */
+		private float[] offsets = new float[1];
+		/** Offsets up to and including this index are valid */
+		private int validOffsets;
+
+		/** Rows that currently have views, ordered by index, first row has index {@link #firstRowIndex} */
+		private final Array<Row> rows = new Array<Row>();
+		private int firstRowIndex;
+		private final Pool<Row> rowPool = new Pool<Row>() {
+			@Override
+			protected Row newObject () {
+				return new Row();
+			}
+		};
+
+		private float maxRowWidth;
+		private float lastScrollY = -1;
+		private float lastScrollHeight = -1;
+		private float lastWidth = -1;
+
+		public VirtualItemsGroup (VirtualListAdapter<ItemT> adapter) {
+			this.adapter = adapter;
+		}
+
+		void rebuild () {
+			freeAllRows();
+			adapter.prepareItems();
+			rowCount = adapter.size();
+			ensureCapacity(rowCount);
+			resetMeasurements();
+		}
+
+		void resetMeasurements () {
+			for (int i = 0; i < rowCount; i++) {
+				heights[i] = -1;
+			}
+			invalidateOffsets(0);
+		}
+
+		void itemRangeInserted (int index, int count) {
+			if (index < 0 || index > rowCount) throw new IndexOutOfBoundsException("index: " + index + ", size: " + rowCount);
+			ensureCapacity(rowCount + count);
+			System.arraycopy(heights, index, heights, index + count, rowCount - index);
+			for (int i = index; i < index + count; i++) {
+				heights[i] = -1;
+			}
+			rowCount += count;
+
+			int rowsEnd = firstRowIndex + rows.size;
+			if (index <= firstRowIndex)
+				firstRowIndex += count;
+			else if (index < rowsEnd)
+				freeRows(index - firstRowIndex); //rows after insertion point will be recreated at new positions
+
+			invalidateOffsets(index);
+		}
+
+		void itemRangeRemoved (int index, int count) {
+			int end = index + count;
+			if (index < 0 || end > rowCount) throw new IndexOutOfBoundsException("index: " + index + ", size: " + rowCount);
+			System.arraycopy(heights, end, heights, index, rowCount - end);
+			rowCount -= count;
+
+			int rowsEnd = firstRowIndex + rows.size;
+			if (end <= firstRowIndex) {
+				firstRowIndex -= count;
+			} else if (index < rowsEnd) {
+				freeRows(Math.max(index, firstRowIndex) - firstRowIndex);
+				if (index < firstRowIndex) firstRowIndex = index;
+			}
+
+			invalidateOffsets(index);
+		}
+
+		void itemMoved (int fromIndex, int toIndex) {
+			if (fromIndex < 0 || fromIndex >= rowCount || toIndex < 0 || toIndex >= rowCount)
+				throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: " + rowCount);
+			float height = heights[fromIndex];
+			if (fromIndex < toIndex)
+				System.arraycopy(heights, fromIndex + 1, heights, fromIndex, toIndex - fromIndex);
+			else
+				System.arraycopy(heights, toIndex, heights, toIndex + 1, fromIndex - toIndex);
+			heights[toIndex] = height;
+
+			//all rows between both indexes now show different items
+			int start = Math.min(fromIndex, toIndex);
+			markRowsDirty(start, Math.max(fromIndex, toIndex));
+			invalidateOffsets(start);
+		}
+
+		void itemRangeChanged (int index, int count) {
+			int end = Math.min(index + count, rowCount);
+			for (int i = index; i < end; i++) {
+				heights[i] = -1;
+			}
+			markRowsDirty(index, end - 1);
+			invalidateOffsets(index);
+		}
+
+		/** Marks existing rows between given indexes (inclusive) so their views will be updated before drawing */
+		private void markRowsDirty (int start, int end) {
+			int from = Math.max(start, firstRowIndex);
+			int to = Math.min(end, firstRowIndex + rows.size - 1);
+			for (int i = from; i <= to; i++) {
+				rows.get(i - firstRowIndex).dirty = true;
+			}
+			lastScrollY = -1;
+		}
+
+		void invalidateOffsets (int index) {
+			validOffsets = Math.min(validOffsets, index);
+			invalidateHierarchy();
+		}
+
+		private void validateOffsets () {
+			if (validOffsets >= rowCount) return;
+			for (int i = validOffsets; i < rowCount; i++) {
+				offsets[i + 1] = offsets[i] + getRowHeight(i);
+			}
+			validOffsets = rowCount;
+		}
+
+		private float getRowHeight (int index) {
+			if (fixedItemHeight > 0) return fixedItemHeight;
+			float height = heights[index];
+			if (height >= 0) return height;
+			return estimatedItemHeight > 0 ? estimatedItemHeight : FALLBACK_ITEM_HEIGHT;
+		}
+
+		/** @return index of row containing given offset measured from top of group */
+		private int getRowAt (float offset) {
+			if (fixedItemHeight > 0) return (int) (offset / fixedItemHeight);
+			int low = 0;
+			int high = rowCount - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				if (offsets[mid + 1] <= offset)
+					low = mid + 1;
+				else if (offsets[mid] > offset)
+					high = mid - 1;
+				else
+					return mid;
+			}
+			return low;
+		}
+
+		private void ensureCapacity (int size) {
+			if (heights.length >= size) return;
+			int newSize = Math.max(size, heights.length * 3 / 2 + 16);
+			float[] newHeights = new float[newSize];
+			System.arraycopy(heights, 0, newHeights, 0, heights.length);
+			heights = newHeights;
+			float[] newOffsets = new float[newSize + 1];
+			System.arraycopy(offsets, 0, newOffsets, 0, offsets.length);
+			offsets = newOffsets;
+		}
+
+		@Override
+		public void draw (Batch batch, float parentAlpha) {
+			validate();
+			updateRows();
+			super.draw(batch, parentAlpha);
+		}
+
+		@Override
+		public void layout () {
+			if (fixedItemHeight <= 0 && getWidth() != lastWidth && lastWidth != -1) {
+				freeAllRows(); //rows must be measured again with new width
+				resetMeasurements();
+			}
+			lastWidth = getWidth();
+			lastScrollY = -1; //forces update of visible rows
+		}
+
+		private void updateRows () {
+			float scrollY = scrollPane.getVisualScrollY();
+			float scrollHeight = scrollPane.getScrollHeight();
+			if (scrollY == lastScrollY && scrollHeight == lastScrollHeight) return;
+			lastScrollY = scrollY;
+			lastScrollHeight = scrollHeight;
+
+			validateOffsets();
+			int count = Math.min(rowCount, adapter.size());
+			if (count == 0 || scrollHeight <= 0) {
+				freeAllRows();
+				return;
+			}
+
+			float groupTop = getParent().getHeight() - getY() - getHeight();
+			float visibleTop = Math.max(0, scrollY - groupTop);
+			float visibleBottom = scrollY - groupTop + scrollHeight;
+			if (visibleBottom < 0) {
+				freeAllRows();
+				return;
+			}
+
+			int first = Math.max(0, getRowAt(visibleTop) - overscan);
+			int last = Math.min(count - 1, getRowAt(visibleBottom) + overscan);
+
+			//free rows outside of new range
+			while (rows.size > 0 && (firstRowIndex < first || firstRowIndex > last)) {
+				freeRow(rows.removeIndex(0));
+				firstRowIndex++;
+			}
+			while (rows.size > 0 && firstRowIndex + rows.size - 1 > last) {
+				freeRow(rows.pop());
+			}
+			if (rows.size == 0) firstRowIndex = first;
+
+			//create missing rows, remembering first row that changed height
+			int firstChanged = Integer.MAX_VALUE;
+			for (int i = firstRowIndex - 1; i >= first; i--) {
+				rows.insert(0, obtainRow(i));
+				firstRowIndex = i;
+				if (measureRow(i, rows.first())) firstChanged = Math.min(firstChanged, i);
+			}
+			for (int i = firstRowIndex + rows.size; i <= last; i++) {
+				rows.add(obtainRow(i));
+				if (measureRow(i, rows.peek())) firstChanged = Math.min(firstChanged, i);
+			}
+
+			//dirty rows are rebound in two passes because moved item view may still be used by other dirty row
+			for (int i = 0; i < rows.size; i++) {
+				Row row = rows.get(i);
+				if (row.dirty && adapter.get(firstRowIndex + i) != row.item) {
+					row.view.remove();
+					adapter.freeView(row.item, row.view);
+					row.view = null;
+				}
+			}
+			for (int i = 0; i < rows.size; i++) {
+				Row row = rows.get(i);
+				if (row.dirty == false) continue;
+				int index = firstRowIndex + i;
+				rebindRow(index, row);
+				if (measureRow(index, row)) firstChanged = Math.min(firstChanged, index);
+			}
+
+			//total height changed, group will be laid out again in next frame
+			if (firstChanged != Integer.MAX_VALUE) invalidateOffsets(firstChanged);
+			validateOffsets();
+
+			float height = getHeight();
+			float width = getWidth();
+			for (int i = 0; i < rows.size; i++) {
+				int index = firstRowIndex + i;
+				float rowHeight = getRowHeight(index);
+				rows.get(i).view.setBounds(0, height - offsets[index] - rowHeight, width, rowHeight);
+			}
+		}
+
+		private Row obtainRow (int index) {
+			Row row = rowPool.obtain();
+			row.item = adapter.get(index);
+			row.view = adapter.obtainView(row.item);
+			addActor(row.view);
+			return row;
+		}
+
+		private void rebindRow (int index, Row row) {
+			row.dirty = false;
+			row.item = adapter.get(index);
+			Actor view = adapter.obtainView(row.item);
+			if (row.view != null && row.view != view) row.view.remove();
+			row.view = view;
+			if (view.getParent() != this) addActor(view);
+		}
+
+		/** @return true if row height was changed */
+		private boolean measureRow (int index, Row row) {
+			Actor view = row.view;
+			float width;
+			if (view instanceof Layout) {
+				Layout layout = (Layout) view;
+				layout.invalidate();
+				width = layout.getPrefWidth();
+			} else {
+				width = view.getWidth();
+			}
+			if (width > maxRowWidth) {
+				maxRowWidth = width;
+				invalidateHierarchy();
+			}
+
+			if (fixedItemHeight > 0 || heights[index] >= 0) return false;
+			float height = view instanceof Layout ? ((Layout) view).getPrefHeight() : view.getHeight();
+			heights[index] = height;
+			if (estimatedItemHeight <= 0) {
+				estimatedItemHeight = height;
+				invalidateOffsets(0);
+			}
+			return height != estimatedItemHeight;
+		}
+
+		private void freeRow (Row row) {
+			row.view.remove();
+			adapter.freeView(row.item, row.view);
+			rowPool.free(row);
+		}
+
+		/** Frees rows starting from given position in rows array */
+		private void freeRows (int from) {
+			while (rows.size > from) {
+				freeRow(rows.pop());
+			}
+			lastScrollY = -1;
+		}
+
+		void freeAllRows () {
+			freeRows(0);
+		}
+
+		@Override
+		public float getPrefWidth () {
+			return maxRowWidth;
+		}
+
+		@Override
+		public float getPrefHeight () {
+			validateOffsets();
+			return offsets[rowCount];
+		}
+	}
+
+	private class Row implements Pool.Poolable {
+		ItemT item;
+		Actor view;
+		boolean dirty;
+
+		@Override
+		public void reset () {
+			item = null;
+			view = null;
+			dirty = false;
+		}
+	}
+
 }
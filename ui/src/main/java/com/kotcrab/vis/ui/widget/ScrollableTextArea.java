@@ -80,6 +80,10 @@ public class ScrollableTextArea extends VisTextArea implements Cullable {
 		this.cullingArea = cullingArea;
 	}
 
+	Rectangle getCullingArea () {
+		return cullingArea;
+	}
+
 	/**
 	 * Creates scroll pane for this scrolling text area with best possible default settings. Note that text area
 	 * can belong to only one scroll pane, calling this multiple times will break previously created scroll pane.
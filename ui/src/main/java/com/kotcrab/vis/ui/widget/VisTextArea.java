@@ -300,8 +300,9 @@ public class VisTextArea extends VisTextField {
 					lineStart = i + 1;
 				} else {
 					lastSpace = (continueCursor(i, 0) ? lastSpace : i);
+					if (softwrap == false) continue; //measuring line is only needed for soft wraps
 					layout.setText(font, text.subSequence(lineStart, i + 1));
-					if (layout.width > maxWidthLine && softwrap) {
+					if (layout.width > maxWidthLine) {
 						if (lineStart >= lastSpace) {
 							lastSpace = i - 1;
 						}
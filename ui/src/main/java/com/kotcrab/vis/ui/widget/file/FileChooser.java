@@ -75,6 +75,8 @@ import static com.kotcrab.vis.ui.widget.file.internal.FileChooserText.*;
  */
 public class FileChooser extends VisWindow implements FileHistoryCallback {
 	private static final long FILE_WATCHER_CHECK_DELAY_MILLIS = 2000;
+	/** When more files were changed at once then whole file list is rebuilt instead of updating changed files */
+	private static final int FILE_WATCHER_MAX_PATCHED_FILES = 500;
 	private static final ShortcutsComparator SHORTCUTS_COMPARATOR = new ShortcutsComparator();
 	private static final Vector2 tmpVector = new Vector2();
 
@@ -126,6 +128,7 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 	private Thread fileWatcherThread;
 	private boolean shortcutsListRebuildScheduled;
 	private boolean filesListRebuildScheduled;
+	private boolean filesListRebuildInProgress;
 
 	private FileHistoryManager historyManager;
 
@@ -875,6 +878,7 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 
 	private void rebuildFileList (final boolean stageChanged) {
 		filesListRebuildScheduled = false;
+		filesListRebuildInProgress = true;
 		final FileHandle[] selectedFiles = new FileHandle[selectedItems.size];
 		for (int i = 0; i < selectedFiles.length; i++) {
 			selectedFiles[i] = selectedItems.get(i).getFile();
@@ -920,6 +924,7 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 	}
 
 	private void buildFileList (Array<FileHandle> files, IdentityMap<FileHandle, FileHandleMetadata> metadata, FileHandle[] selectedFiles, boolean stageChanged) {
+		filesListRebuildInProgress = false;
 		currentFiles.clear();
 		currentFilesMetadata.clear();
 		showBusyBarTask.cancel();
@@ -1219,6 +1224,13 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 		return newFiltered;
 	}
 
+	/** @return true if file exists and would be listed by {@link #listFilteredCurrentDirectory()} */
+	private boolean isFileListed (FileHandle file) {
+		if (file.exists() == false || fileFilter.accept(file.file()) == false) return false;
+		if (fileTypeFilter == null || activeFileTypeRule == null) return true;
+		return file.isDirectory() || activeFileTypeRule.accept(file);
+	}
+
 	public FileFilter getFileFilter () {
 		return fileFilter;
 	}
@@ -1386,7 +1398,8 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 	}
 
 	/**
-	 * If false file chooser won't pool directories for changes, adding new files or connecting new drive won't refresh file list.
+	 * If false file chooser won't watch directories for changes, adding new files or connecting new drive won't refresh file list.
+	 * Current directory is watched using NIO WatchService when supported by platform, otherwise it is periodically polled.
 	 * This must be called when file chooser is not added to Stage
 	 */
 	public void setWatchingFilesEnabled (boolean watchingFilesEnabled) {
@@ -1444,40 +1457,77 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 			FileHandle lastCurrentDirectory;
 			FileHandle[] lastCurrentFiles;
 
+			/** Null when current platform does not support watching directories, current directory is polled then */
+			DirectoryWatcher directoryWatcher;
+			boolean directoryWatched;
+			Array<FileHandle> changedFiles = new Array<FileHandle>();
+
 			@Override
 			public void run () {
 				lastRoots = File.listRoots();
+				directoryWatcher = DirectoryWatcher.create();
 
-				lastCurrentDirectory = currentDirectory;
-				lastCurrentFiles = currentDirectory.list();
+				try {
+					while (fileWatcherThread != null) {
+						File[] roots = File.listRoots();
 
-				while (fileWatcherThread != null) {
-					File[] roots = File.listRoots();
+						if (roots.length != lastRoots.length || Arrays.equals(lastRoots, roots) == false)
+							shortcutsListRebuildScheduled = true;
 
-					if (roots.length != lastRoots.length || Arrays.equals(lastRoots, roots) == false)
-						shortcutsListRebuildScheduled = true;
+						lastRoots = roots;
 
-					lastRoots = roots;
+						FileHandle directory = currentDirectory;
+						if (directory.equals(lastCurrentDirectory) == false) {
+							// current directory changed, start watching new one or refresh outdated lastCurrentFiles list
+							lastCurrentDirectory = directory;
+							directoryWatched = directoryWatcher != null && directoryWatcher.watch(directory);
+							lastCurrentFiles = directoryWatched ? null : directory.list();
+						} else if (directoryWatched == false) {
+							FileHandle[] currentFiles = directory.list();
 
-					// if current directory changed during pools then our lastCurrentDirectoryFiles list is outdated and we shouldn't
-					// schedule files list rebuild
-					if (lastCurrentDirectory.equals(currentDirectory) == true) {
-						FileHandle[] currentFiles = currentDirectory.list();
+							if (lastCurrentFiles.length != currentFiles.length || Arrays.equals(lastCurrentFiles, currentFiles) == false)
+								filesListRebuildScheduled = true;
 
-						if (lastCurrentFiles.length != currentFiles.length || Arrays.equals(lastCurrentFiles, currentFiles) == false)
-							filesListRebuildScheduled = true;
+							lastCurrentFiles = currentFiles;
+						}
 
-						lastCurrentFiles = currentFiles;
-					} else
-						lastCurrentFiles = currentDirectory.list(); // if list is outdated, refresh it
+						try {
+							if (directoryWatched)
+								pollDirectoryWatcher(directory);
+							else
+								Thread.sleep(FILE_WATCHER_CHECK_DELAY_MILLIS);
+						} catch (InterruptedException ignored) {
+						}
+					}
+				} finally {
+					if (directoryWatcher != null) directoryWatcher.dispose();
+				}
+			}
 
-					lastCurrentDirectory = currentDirectory;
+			private void pollDirectoryWatcher (final FileHandle directory) throws InterruptedException {
+				changedFiles.clear();
+				boolean rebuildRequired = directoryWatcher.poll(FILE_WATCHER_CHECK_DELAY_MILLIS, changedFiles);
 
-					try {
-						Thread.sleep(FILE_WATCHER_CHECK_DELAY_MILLIS);
-					} catch (InterruptedException ignored) {
-					}
+				if (rebuildRequired || changedFiles.size > FILE_WATCHER_MAX_PATCHED_FILES) {
+					filesListRebuildScheduled = true;
+					if (rebuildRequired) lastCurrentDirectory = null; //watch directory again during next check
+					return;
 				}
+
+				if (changedFiles.size == 0) return;
+
+				final FileHandle[] files = changedFiles.toArray(FileHandle.class);
+				final FileHandleMetadata[] metadata = new FileHandleMetadata[files.length];
+				for (int i = 0; i < files.length; i++) {
+					if (isFileListed(files[i])) metadata[i] = FileHandleMetadata.of(files[i]);
+				}
+
+				Gdx.app.postRunnable(new Runnable() {
+					@Override
+					public void run () {
+						updateFileList(directory, files, metadata);
+					}
+				});
 			}
 		}, "FileWatcherThread");
 
@@ -1485,6 +1535,70 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 		fileWatcherThread.start();
 	}
 
+	/**
+	 * Updates changed files of current file list without listing whole directory again.
+	 * @param metadata metadata of changed files, null if file was deleted or is not listed
+	 */
+	private void updateFileList (FileHandle directory, FileHandle[] files, FileHandleMetadata[] metadata) {
+		if (directory.equals(currentDirectory) == false) return;
+		if (filesListRebuildInProgress) { //list that is being built may not contain those changes
+			filesListRebuildScheduled = true;
+			return;
+		}
+
+		boolean selectionChanged = false;
+		for (int i = 0; i < files.length; i++) {
+			FileHandle file = files[i];
+			boolean selected = false;
+
+			int index = currentFiles.indexOf(file, false);
+			if (index != -1) {
+				FileHandle oldFile = currentFiles.get(index);
+				FileItem oldItem = fileListAdapter.getViews().get(oldFile);
+				if (oldItem != null && selectedItems.removeValue(oldItem, true)) selected = true;
+				fileListAdapter.removeIndex(index);
+				currentFilesMetadata.remove(oldFile);
+			}
+
+			if (metadata[i] != null) {
+				currentFilesMetadata.put(file, metadata[i]);
+				fileListAdapter.insert(findFileInsertIndex(file, metadata[i]), file);
+				if (selected) fileListAdapter.getView(file).select(false);
+			} else if (selected) {
+				selectionChanged = true;
+			}
+		}
+
+		if (selectionChanged) updateSelectedFileFieldText();
+	}
+
+	/** @return index at which file must be inserted into current file list to keep it sorted */
+	private int findFileInsertIndex (FileHandle file, FileHandleMetadata metadata) {
+		Comparator<FileHandle> comparator = sorting.get().comparator;
+		boolean descending = !sortingOrderAscending.get();
+
+		int low = 0;
+		int high = currentFiles.size - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			FileHandle midFile = currentFiles.get(mid);
+			boolean midDirectory = currentFilesMetadata.get(midFile).isDirectory();
+
+			int result;
+			if (midDirectory != metadata.isDirectory()) //directories are always listed before files
+				result = midDirectory ? -1 : 1;
+			else
+				result = descending ? comparator.compare(file, midFile) : comparator.compare(midFile, file);
+
+			if (result < 0)
+				low = mid + 1;
+			else
+				high = mid - 1;
+		}
+
+		return low;
+	}
+
 	private void stopFileWatcher () {
 		if (fileWatcherThread == null) return;
 		fileWatcherThread.interrupt();
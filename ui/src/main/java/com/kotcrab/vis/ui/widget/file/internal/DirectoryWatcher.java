@@ -0,0 +1,158 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.widget.file.internal;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches single directory for changes using NIO {@link WatchService}. Used by file chooser instead of periodically
+ * listing current directory, when watching is supported by current platform.
+ * @author Kotcrab
+ */
+public class DirectoryWatcher {
+	private final WatchService watchService;
+	private WatchKey watchKey;
+	private FileHandle directory;
+
+	private final ObjectSet<String> changedNames = new ObjectSet<String>();
+
+	/**
+	 * @return new watcher or null if native directory watching is not supported on current platform, in such case
+	 * directory must be polled for changes
+	 */
+	public static DirectoryWatcher create () {
+		try {
+			Class.forName("java.nio.file.WatchService");
+		} catch (ClassNotFoundException ignored) { //NIO not available on current JVM
+			return null;
+		}
+
+		WatchService watchService;
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+		} catch (IOException e) {
+			return null;
+		} catch (UnsupportedOperationException e) {
+			return null;
+		}
+
+		//JDK fallback implementation lists watched directory periodically, polling done by chooser is more responsive
+		if (watchService.getClass().getName().equals("sun.nio.fs.PollingWatchService")) {
+			close(watchService);
+			return null;
+		}
+
+		return new DirectoryWatcher(watchService);
+	}
+
+	private DirectoryWatcher (WatchService watchService) {
+		this.watchService = watchService;
+	}
+
+	/**
+	 * Starts watching given directory, previously watched directory is no longer watched.
+	 * @return true if directory is watched, false if it can't be watched and must be polled for changes
+	 */
+	public boolean watch (FileHandle directory) {
+		cancel();
+		try {
+			Path path = directory.file().toPath();
+			watchKey = path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+			this.directory = directory;
+			return true;
+		} catch (IOException e) {
+			return false;
+		} catch (UnsupportedOperationException e) {
+			return false;
+		} catch (ClosedWatchServiceException e) {
+			return false;
+		}
+	}
+
+	/** Stops watching current directory. */
+	public void cancel () {
+		if (watchKey != null) watchKey.cancel();
+		watchKey = null;
+		directory = null;
+	}
+
+	/**
+	 * Waits for changes in watched directory.
+	 * @param changedFiles files that were created, deleted or modified will be added to this array, each file is added
+	 * only once. Files may not exist or may be changed again when they are processed.
+	 * @return true if not all changes could be reported, and whole directory must be listed again. This happens when
+	 * too many changes were made at once or when watched directory is no longer accessible.
+	 */
+	public boolean poll (long timeoutMillis, Array<FileHandle> changedFiles) throws InterruptedException {
+		WatchKey key;
+		try {
+			key = watchService.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (ClosedWatchServiceException e) {
+			return false;
+		}
+		if (key == null) return false;
+
+		if (key != watchKey) { //events of directory that is no longer watched
+			key.pollEvents();
+			return false;
+		}
+
+		boolean overflow = false;
+		changedNames.clear();
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				overflow = true;
+				continue;
+			}
+
+			String name = ((Path) event.context()).toString();
+			if (changedNames.add(name)) changedFiles.add(directory.child(name));
+		}
+
+		if (key.reset() == false) { //directory was deleted or is not accessible
+			watchKey = null;
+			return true;
+		}
+
+		return overflow;
+	}
+
+	public void dispose () {
+		cancel();
+		close(watchService);
+	}
+
+	private static void close (WatchService watchService) {
+		try {
+			watchService.close();
+		} catch (IOException ignored) {
+		}
+	}
+}
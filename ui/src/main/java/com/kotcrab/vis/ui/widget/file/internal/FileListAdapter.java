@@ -43,8 +43,7 @@ public class FileListAdapter extends ArrayAdapter<FileHandle, FileChooser.FileIt
 
 	@Override
 	public void fillTable (VisTable itemsTable) {
-		getViews().clear(); //clear cache
-		orderedViews.clear();
+		orderedViews.clear(); //views cache is cleared by adapter when items are changed, views of unchanged items are reused
 		gridGroup.clear();
 
 		if (getItemsSorter() != null) sort(getItemsSorter());
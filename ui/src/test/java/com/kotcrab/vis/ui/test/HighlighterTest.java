@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.test;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.ui.util.highlight.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HighlighterTest {
+	private static final String TEXT = "foobar 123 foo 12 foofoo barfoo 1foo";
+
+	private final Highlighter highlighter = new Highlighter();
+	private final Array<RegionHighlightRule> rules = new Array<RegionHighlightRule>();
+
+	@Test
+	public void testCompiledRulesMatchRulePerPass () {
+		regex(new Color(1, 0, 0, 1), "foo\\w*");
+		word(new Color(0, 0, 1, 1), "foo");
+		regex(new Color(0, 1, 0, 1), "[0-9]+");
+		word(new Color(1, 1, 0, 1), "foobar");
+		word(new Color(1, 1, 1, 1), "12");
+		word(new Color(0, 1, 1, 1), "foo");
+		regex(new Color(1, 0, 1, 1), "(a|b)\\1"); //not combined because of back reference
+		word(new Color(0.5f, 0.5f, 0.5f, 1), "o");
+
+		assertEquals(processRulePerPass(0, TEXT.length()), processCompiled(0, TEXT.length()));
+		assertEquals(processRulePerPass(5, 20), processCompiled(5, 20));
+	}
+
+	@Test
+	public void testCombinedNonOverlappingRegexRulesMatchRulePerPass () {
+		highlighter.setRegexCombiningEnabled(true);
+		regex(new Color(1, 0, 0, 1), "foo\\w*");
+		word(new Color(0, 0, 1, 1), "foo");
+		regex(new Color(0, 1, 0, 1), "[0-9]+");
+		regex(new Color(1, 0, 1, 1), "(a|b)\\1");
+
+		assertEquals(processRulePerPass(0, TEXT.length()), processCompiled(0, TEXT.length()));
+		assertEquals(processRulePerPass(5, 20), processCompiled(5, 20));
+	}
+
+	@Test
+	public void testOverlappingRegexRulesMatchRulePerPass () {
+		regex(new Color(1, 0, 0, 1), "foo\\w*");
+		regex(new Color(0, 1, 0, 1), "bar");
+		regex(new Color(0, 0, 1, 1), "o+");
+		regex(new Color(1, 1, 0, 1), "\\d\\w+");
+
+		assertEquals(processRulePerPass(0, TEXT.length()), processCompiled(0, TEXT.length()));
+		assertEquals(processRulePerPass(5, 20), processCompiled(5, 20));
+	}
+
+	@Test
+	public void testCombinedRegexRulesDontOverlap () {
+		Color barColor = new Color(0, 1, 0, 1);
+		regex(new Color(1, 0, 0, 1), "foo\\w*");
+		regex(barColor, "bar");
+		assertTrue(processCompiled(0, TEXT.length()).contains("3-6 " + barColor));
+
+		highlighter.setRegexCombiningEnabled(true);
+		//"bar" inside of "foobar" was already matched by first rule
+		assertFalse(processCompiled(0, TEXT.length()).contains("3-6 " + barColor));
+	}
+
+	@Test
+	public void testSameStartFollowsRuleOrder () {
+		word(new Color(0, 0, 1, 1), "12");
+		regex(new Color(0, 1, 0, 1), "[0-9]+");
+		word(new Color(1, 0, 0, 1), "1");
+
+		assertEquals(processRulePerPass(0, TEXT.length()), processCompiled(0, TEXT.length()));
+	}
+
+	private void word (Color color, String word) {
+		WordHighlightRule rule = new WordHighlightRule(color, word);
+		highlighter.addRule(rule);
+		rules.add(rule);
+	}
+
+	private void regex (Color color, String regex) {
+		RegexHighlightRule rule = new RegexHighlightRule(color, regex);
+		highlighter.addRule(rule);
+		rules.add(rule);
+	}
+
+	private String processRulePerPass (int start, int end) {
+		Array<Highlight> highlights = new Array<Highlight>();
+		for (RegionHighlightRule rule : rules) {
+			rule.process(TEXT, start, end, highlights);
+		}
+		Highlight[] sorted = highlights.toArray(Highlight.class);
+		Arrays.sort(sorted); //stable, keeps rule order for highlights with same start
+
+		StringBuilder builder = new StringBuilder();
+		for (Highlight highlight : sorted) {
+			append(builder, highlight.getStart(), highlight.getEnd(), highlight.getColor());
+		}
+		return builder.toString();
+	}
+
+	private String processCompiled (int start, int end) {
+		HighlightBuffer highlights = new HighlightBuffer();
+		highlighter.process(TEXT, start, end, highlights);
+
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < highlights.size(); i++) {
+			append(builder, highlights.getStart(i), highlights.getEnd(i), highlighter.getColor(highlights.getColorIndex(i)));
+		}
+		return builder.toString();
+	}
+
+	private void append (StringBuilder builder, int start, int end, Color color) {
+		builder.append(start).append('-').append(end).append(' ').append(color).append('\n');
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.test.manual;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.ui.util.highlight.Highlight;
+import com.kotcrab.vis.ui.util.highlight.HighlightBuffer;
+import com.kotcrab.vis.ui.util.highlight.Highlighter;
+import com.kotcrab.vis.ui.util.highlight.RegexHighlightRule;
+import com.kotcrab.vis.ui.util.highlight.RegionHighlightRule;
+import com.kotcrab.vis.ui.util.highlight.WordHighlightRule;
+
+/**
+ * Compares processing each highlighter rule separately with compiled rules of {@link Highlighter}, using GLSL like
+ * highlighter with many keywords. Can be run without starting application.
+ * @author Kotcrab
+ */
+public class HighlighterBenchmark {
+	private static final String[] KEYWORDS = {"attribute", "const", "uniform", "varying", "buffer", "shared", "coherent",
+			"volatile", "restrict", "readonly", "writeonly", "atomic_uint", "layout", "centroid", "flat", "smooth",
+			"noperspective", "patch", "sample", "break", "continue", "do", "for", "while", "switch", "case", "default", "if",
+			"else", "subroutine", "in", "out", "inout", "float", "double", "int", "void", "bool", "true", "false", "invariant",
+			"precise", "discard", "return", "mat2", "mat3", "mat4", "dmat2", "dmat3", "dmat4", "mat2x2", "mat2x3", "mat2x4",
+			"dmat2x2", "dmat2x3", "dmat2x4", "mat3x2", "mat3x3", "mat3x4", "dmat3x2", "dmat3x3", "dmat3x4", "mat4x2", "mat4x3",
+			"mat4x4", "dmat4x2", "dmat4x3", "dmat4x4", "vec2", "vec3", "vec4", "ivec2", "ivec3", "ivec4", "bvec2", "bvec3",
+			"bvec4", "dvec2", "dvec3", "dvec4", "uint", "uvec2", "uvec3", "uvec4", "lowp", "mediump", "highp", "precision",
+			"sampler1D", "sampler2D", "sampler3D", "samplerCube", "sampler1DShadow", "sampler2DShadow", "samplerCubeShadow",
+			"sampler1DArray", "sampler2DArray", "sampler1DArrayShadow", "sampler2DArrayShadow", "isampler1D", "isampler2D",
+			"isampler3D", "isamplerCube", "isampler1DArray", "isampler2DArray", "usampler1D", "usampler2D", "usampler3D",
+			"usamplerCube", "usampler1DArray", "usampler2DArray", "sampler2DRect", "sampler2DRectShadow", "isampler2DRect",
+			"usampler2DRect", "samplerBuffer", "isamplerBuffer", "usamplerBuffer", "sampler2DMS", "isampler2DMS",
+			"usampler2DMS", "sampler2DMSArray", "isampler2DMSArray", "usampler2DMSArray", "samplerCubeArray",
+			"samplerCubeArrayShadow", "isamplerCubeArray", "usamplerCubeArray", "image1D", "iimage1D", "uimage1D", "image2D",
+			"iimage2D", "uimage2D", "image3D", "iimage3D", "uimage3D", "image2DRect", "iimage2DRect", "uimage2DRect",
+			"imageCube", "iimageCube", "uimageCube", "imageBuffer", "iimageBuffer", "uimageBuffer", "struct", "texture2D",
+			"gl_Position", "gl_FragColor", "gl_FragCoord"};
+
+	private static final String SHADER = "#ifdef GL_ES\n" +
+			"precision mediump float;\n" +
+			"#endif\n" +
+			"/* simple texture shader */\n" +
+			"varying vec4 v_color;\n" +
+			"varying vec2 v_texCoords;\n" +
+			"uniform sampler2D u_texture;\n" +
+			"uniform mat4 u_projTrans;\n" +
+			"void main () {\n" +
+			"  vec4 color = v_color * texture2D(u_texture, v_texCoords); // sample texture\n" +
+			"  if (color.a < 0.5) discard;\n" +
+			"  for (int i = 0; i < 4; i++) color.rgb *= 1.05;\n" +
+			"  gl_FragColor = color;\n" +
+			"}\n";
+
+	private static final int WARMUP_ITERATIONS = 20;
+	private static final int ITERATIONS = 50;
+
+	public static void main (String[] args) {
+		StringBuilder builder = new StringBuilder();
+		while (builder.length() < 256 * 1024) builder.append(SHADER);
+		String text = builder.toString();
+
+		Array<RegionHighlightRule> rules = new Array<RegionHighlightRule>();
+		Color keywordColor = Color.valueOf("66CCB3");
+		for (String keyword : KEYWORDS) {
+			rules.add(new WordHighlightRule(keywordColor, keyword));
+		}
+		rules.add(new RegexHighlightRule(Color.valueOf("EFC090"), "\\b[0-9]+(\\.[0-9]+)?\\b"));
+		rules.add(new RegexHighlightRule(Color.valueOf("BED6FF"), "#\\w+"));
+		rules.add(new RegexHighlightRule(Color.valueOf("75715E"), "//.*"));
+		rules.add(new RegexHighlightRule(Color.valueOf("75715E"), "/\\*(?:.|[\\n\\r])*?\\*/"));
+
+		Highlighter highlighter = new Highlighter();
+		for (RegionHighlightRule rule : rules) {
+			highlighter.addRule(rule);
+		}
+
+		System.out.println("Text length: " + text.length() + ", rules: " + rules.size);
+		System.out.println("Rule per pass: " + benchmarkRulePerPass(rules, text) + " ms");
+		System.out.println("Compiled: " + benchmarkCompiled(highlighter, text) + " ms");
+	}
+
+	private static float benchmarkRulePerPass (Array<RegionHighlightRule> rules, String text) {
+		Array<Highlight> highlights = new Array<Highlight>();
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			processRulePerPass(rules, text, highlights);
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			processRulePerPass(rules, text, highlights);
+		}
+		System.out.println("Rule per pass highlights: " + highlights.size);
+		return (System.nanoTime() - start) / 1000000f / ITERATIONS;
+	}
+
+	private static void processRulePerPass (Array<RegionHighlightRule> rules, String text, Array<Highlight> highlights) {
+		highlights.clear();
+		for (RegionHighlightRule rule : rules) {
+			rule.process(text, 0, text.length(), highlights);
+		}
+		highlights.sort();
+	}
+
+	private static float benchmarkCompiled (Highlighter highlighter, String text) {
+		HighlightBuffer highlights = new HighlightBuffer();
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			highlights.clear();
+			highlighter.process(text, 0, text.length(), highlights);
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			highlights.clear();
+			highlighter.process(text, 0, text.length(), highlights);
+		}
+		System.out.println("Compiled highlights: " + highlights.size());
+		return (System.nanoTime() - start) / 1000000f / ITERATIONS;
+	}
+}